@@ -0,0 +1,211 @@
+package io.github.nucleuspowered.nucleus.annotationprocessor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a {@code DataModuleCodec} for each data module that has {@code DataKey} fields, so that the fields can be
+ * read and written without reflection.
+ *
+ * <p>The fields stay private to the module. The codec reaches them through {@code MethodHandle}s that are looked up
+ * once, when the codec is loaded, and are held in constants so that they can be inlined. Modules that can't have a
+ * codec are skipped, and will use reflection at runtime.</p>
+ */
+class DataModuleCodecGenerator {
+
+    static final String DATA_KEY = "io.github.nucleuspowered.nucleus.dataservices.modular.DataKey";
+    private static final String CODEC = "io.github.nucleuspowered.nucleus.dataservices.modular.DataModuleCodec";
+    private static final String CODECS = "io.github.nucleuspowered.nucleus.dataservices.modular.DataModuleCodecs";
+    private static final String TYPE_TOKEN = "com.google.common.reflect.TypeToken";
+    private static final String METHOD_HANDLE = "java.lang.invoke.MethodHandle";
+    private static final String SUFFIX = "_DataModuleCodec";
+
+    private final ProcessingEnvironment processingEnv;
+    private final Set<String> generated = new HashSet<>();
+
+    DataModuleCodecGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    void process(RoundEnvironment roundEnv) {
+        TypeElement dataKey = this.processingEnv.getElementUtils().getTypeElement(DATA_KEY);
+        if (dataKey == null) {
+            return;
+        }
+
+        // Keep the fields in declaration order.
+        Map<TypeElement, List<VariableElement>> modules = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(dataKey)) {
+            if (element.getKind() == ElementKind.FIELD && element.getEnclosingElement() instanceof TypeElement) {
+                modules.computeIfAbsent((TypeElement) element.getEnclosingElement(), x -> new ArrayList<>()).add((VariableElement) element);
+            }
+        }
+
+        modules.forEach((module, fields) -> {
+            String name = this.processingEnv.getElementUtils().getBinaryName(module).toString().replace('$', '_') + SUFFIX;
+            if (this.generated.add(name) && canGenerate(module, fields)) {
+                try {
+                    write(name, module, fields);
+                } catch (IOException e) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Could not write " + name + ": " + e.getMessage(), module);
+                }
+            }
+        });
+    }
+
+    private boolean canGenerate(TypeElement module, List<VariableElement> fields) {
+        if (!module.getTypeParameters().isEmpty()) {
+            note(module, "it has type parameters");
+            return false;
+        }
+
+        for (Element e = module; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                note(module, "it is private");
+                return false;
+            }
+        }
+
+        for (VariableElement field : fields) {
+            if (field.getModifiers().contains(Modifier.FINAL) || field.getModifiers().contains(Modifier.STATIC)) {
+                note(module, "the field " + field.getSimpleName() + " is final or static");
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void note(TypeElement module, String reason) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "Not generating a data codec for " + module.getQualifiedName() + " because " + reason + ". Reflection will be used instead.", module);
+    }
+
+    private void write(String name, TypeElement module, List<VariableElement> fields) throws IOException {
+        PackageElement pe = this.processingEnv.getElementUtils().getPackageOf(module);
+        String packageName = pe.getQualifiedName().toString();
+        String simpleName = name.substring(packageName.length() + 1);
+        String moduleName = module.getQualifiedName().toString();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(packageName).append(";\n\n");
+        sb.append("// Generated by ").append(StoreProcessor.class.getName()).append(", do not edit.\n");
+        sb.append("public final class ").append(simpleName).append(" implements ").append(CODEC).append("<").append(moduleName).append("> {\n\n");
+
+        sb.append("    private static final String[] NAMES = { ")
+                .append(fields.stream().map(x -> quote(x.getSimpleName().toString())).collect(Collectors.joining(", ")))
+                .append(" };\n\n");
+
+        sb.append("    private static final String[][] PATHS = {\n");
+        for (VariableElement field : fields) {
+            sb.append("        { ").append(getPath(field).stream().map(DataModuleCodecGenerator::quote).collect(Collectors.joining(", "))).append(" },\n");
+        }
+
+        sb.append("    };\n\n");
+
+        sb.append("    private static final ").append(TYPE_TOKEN).append("<?>[] TYPES = {\n");
+        for (VariableElement field : fields) {
+            sb.append("        ").append(getTypeToken(field.asType())).append(",\n");
+        }
+
+        sb.append("    };\n\n");
+
+        for (int i = 0; i < fields.size(); i++) {
+            String fieldName = quote(fields.get(i).getSimpleName().toString());
+            sb.append("    private static final ").append(METHOD_HANDLE).append(" GET_").append(i).append(" = ").append(CODECS)
+                    .append(".getter(").append(moduleName).append(".class, ").append(fieldName).append(");\n");
+            sb.append("    private static final ").append(METHOD_HANDLE).append(" SET_").append(i).append(" = ").append(CODECS)
+                    .append(".setter(").append(moduleName).append(".class, ").append(fieldName).append(");\n");
+        }
+
+        sb.append("\n");
+        sb.append("    @Override public String[] getNames() {\n        return NAMES;\n    }\n\n");
+        sb.append("    @Override public String[][] getPaths() {\n        return PATHS;\n    }\n\n");
+        sb.append("    @Override public ").append(TYPE_TOKEN).append("<?>[] getTypes() {\n        return TYPES;\n    }\n\n");
+
+        sb.append("    @Override public Object get(").append(moduleName).append(" module, int field) {\n");
+        sb.append("        try {\n");
+        sb.append("            switch (field) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            sb.append("                case ").append(i).append(":\n");
+            sb.append("                    return (Object) GET_").append(i).append(".invokeExact(module);\n");
+        }
+
+        sb.append("                default:\n                    throw new IndexOutOfBoundsException(String.valueOf(field));\n            }\n");
+        sb.append("        } catch (RuntimeException | Error e) {\n            throw e;\n");
+        sb.append("        } catch (Throwable e) {\n            throw new IllegalStateException(e);\n        }\n    }\n\n");
+
+        sb.append("    @Override public void set(").append(moduleName).append(" module, int field, Object value) {\n");
+        sb.append("        try {\n");
+        sb.append("            switch (field) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            sb.append("                case ").append(i).append(":\n");
+            sb.append("                    SET_").append(i).append(".invokeExact(module, value);\n");
+            sb.append("                    return;\n");
+        }
+
+        sb.append("                default:\n                    throw new IndexOutOfBoundsException(String.valueOf(field));\n            }\n");
+        sb.append("        } catch (RuntimeException | Error e) {\n            throw e;\n");
+        sb.append("        } catch (Throwable e) {\n            throw new IllegalStateException(e);\n        }\n    }\n}\n");
+
+        JavaFileObject jfo = this.processingEnv.getFiler().createSourceFile(name, module);
+        try (Writer writer = jfo.openWriter()) {
+            writer.write(sb.toString());
+        }
+    }
+
+    private List<String> getPath(VariableElement field) {
+        List<String> path = new ArrayList<>();
+        for (AnnotationMirror am : field.getAnnotationMirrors()) {
+            if (((TypeElement) am.getAnnotationType().asElement()).getQualifiedName().contentEquals(DATA_KEY)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : am.getElementValues().entrySet()) {
+                    Object value = entry.getValue().getValue();
+                    if (value instanceof List) {
+                        for (Object o : (List<?>) value) {
+                            path.add(String.valueOf(((AnnotationValue) o).getValue()));
+                        }
+                    } else {
+                        path.add(String.valueOf(value));
+                    }
+                }
+            }
+        }
+
+        return path;
+    }
+
+    private String getTypeToken(TypeMirror type) {
+        if (type.getKind().isPrimitive() || type.getKind() == TypeKind.ARRAY || !type.toString().contains("<")) {
+            return TYPE_TOKEN + ".of(" + this.processingEnv.getTypeUtils().erasure(type).toString() + ".class)";
+        }
+
+        return "new " + TYPE_TOKEN + "<" + type.toString() + ">() {}";
+    }
+
+    private static String quote(String s) {
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -15,6 +15,7 @@ import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.Processor;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
@@ -33,11 +34,21 @@ import javax.tools.StandardLocation;
 
 @AutoService(Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
-@SupportedAnnotationTypes("io.github.nucleuspowered.nucleus.annotationprocessor.Store")
+@SupportedAnnotationTypes({"io.github.nucleuspowered.nucleus.annotationprocessor.Store", DataModuleCodecGenerator.DATA_KEY})
 public class StoreProcessor extends AbstractProcessor {
 
+    private DataModuleCodecGenerator codecGenerator;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.codecGenerator = new DataModuleCodecGenerator(processingEnv);
+    }
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        this.codecGenerator.process(roundEnv);
+
         Map<Element, String> classes = new HashMap<>();
 
         Set<? extends Element> elements = roundEnv.getElementsAnnotatedWith(Store.class);
@@ -0,0 +1,202 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
+import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
+import io.github.nucleuspowered.nucleus.internal.messages.ResourceMessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionCache;
+import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
+import io.github.nucleuspowered.nucleus.modules.core.CoreModule;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.text.LiteralText;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.serializer.FormattingCodeTextSerializer;
+import org.spongepowered.api.text.serializer.SafeTextSerializer;
+import org.spongepowered.api.text.serializer.TextSerializers;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Stands in for the parts of Sponge that the benchmarks need, as the TestBase does for the tests.
+ *
+ * <p>All mocks are stub only, as a mock that records its invocations would fill the heap over a benchmark run and
+ * make the results depend on the garbage collector.</p>
+ */
+public final class BenchmarkEnvironment {
+
+    private static final Text PREFIX = Text.of("[Member]");
+
+    private static NucleusPlugin plugin;
+
+    private BenchmarkEnvironment() {}
+
+    /**
+     * Sets up the {@link Nucleus} instance, text colours and text serializers, if that has not already been done.
+     *
+     * <p>The formatting code serializer does not parse formatting codes, so formatted messages are measured as the
+     * same amount of text. The {@code displayname} token is the name of the source and {@code prefix} is a group
+     * prefix. Other tokens are not set. No modules are loaded and no internal services are registered, and the core
+     * config has its defaults.</p>
+     *
+     * @return The {@link NucleusPlugin}.
+     */
+    public static synchronized NucleusPlugin setup() throws Exception {
+        if (plugin != null) {
+            return plugin;
+        }
+
+        // Colours are provided by the implementation, and their names are used in permissions.
+        for (Field field : TextColors.class.getFields()) {
+            TextColor colour = mock(TextColor.class);
+            Mockito.when(colour.getName()).thenReturn(field.getName());
+            setFinalStatic(field, colour);
+        }
+
+        Answer<String> plain = x -> toPlain((Text) x.getArguments()[0]);
+        FormattingCodeTextSerializer formattingCode = mock(FormattingCodeTextSerializer.class);
+        Mockito.when(formattingCode.deserialize(Mockito.anyString())).thenAnswer(x -> Text.of((String) x.getArguments()[0]));
+        Mockito.when(formattingCode.serialize(Mockito.any(Text.class))).thenAnswer(plain);
+        Mockito.when(formattingCode.stripCodes(Mockito.anyString())).thenAnswer(x -> x.getArguments()[0]);
+        setFinalStatic(TextSerializers.class.getField("FORMATTING_CODE"), formattingCode);
+
+        SafeTextSerializer plainSerializer = mock(SafeTextSerializer.class);
+        Mockito.when(plainSerializer.serialize(Mockito.any(Text.class))).thenAnswer(plain);
+        setFinalStatic(TextSerializers.class.getField("PLAIN"), plainSerializer);
+
+        NucleusMessageTokenService tokenService = mock(NucleusMessageTokenService.class);
+        Mockito.when(tokenService.parseToken(Mockito.anyString(), Mockito.any(CommandSource.class), Mockito.any()))
+                .thenAnswer(x -> {
+                    switch ((String) x.getArguments()[0]) {
+                        case "displayname":
+                            return Optional.of(Text.of(((CommandSource) x.getArguments()[1]).getName()));
+                        case "prefix":
+                            return Optional.of(PREFIX);
+                        default:
+                            return Optional.empty();
+                    }
+                });
+
+        PluginContainer pluginContainer = mock(PluginContainer.class);
+        Mockito.when(pluginContainer.getId()).thenReturn("nucleus");
+
+        CoreConfigAdapter coreConfigAdapter = mock(CoreConfigAdapter.class);
+        Mockito.when(coreConfigAdapter.getNodeOrDefault()).thenReturn(mock(CoreConfig.class));
+
+        NucleusPlugin nucleusPlugin = mock(NucleusPlugin.class);
+        Mockito.when(nucleusPlugin.getPluginContainer()).thenReturn(pluginContainer);
+        Mockito.doReturn(Optional.of(coreConfigAdapter)).when(nucleusPlugin).getConfigAdapter(CoreModule.ID, CoreConfigAdapter.class);
+        Mockito.when(nucleusPlugin.getInternalServiceManager()).thenReturn(new InternalServiceManager(nucleusPlugin));
+        Mockito.when(nucleusPlugin.getMessageProvider()).thenReturn(new ResourceMessageProvider(ResourceMessageProvider.messagesBundle));
+        // The name util listens to the permission cache, so the cache has to be there first.
+        Mockito.when(nucleusPlugin.getPermissionCache()).thenReturn(new PermissionCache());
+        Mockito.when(nucleusPlugin.getNameUtil()).thenReturn(new NameUtil(nucleusPlugin));
+        Mockito.when(nucleusPlugin.getPlayerNameIndex()).thenReturn(new PlayerNameIndex());
+        Mockito.when(nucleusPlugin.getTextParsingUtils()).thenReturn(new TextParsingUtils(nucleusPlugin));
+        Mockito.when(nucleusPlugin.getMessageTokenService()).thenReturn(tokenService);
+        Nucleus.setNucleus(nucleusPlugin);
+
+        plugin = nucleusPlugin;
+        return plugin;
+    }
+
+    /**
+     * Creates an online {@link Player} whose permission checks and options are answered from the given collections, as
+     * a permission plugin with a warm cache would. They have no data set on them.
+     *
+     * @param name The name of the player.
+     * @param permissions The permissions the player has.
+     * @param options The options set on the player.
+     * @param parents The groups the player is in.
+     * @return The {@link Player}.
+     */
+    public static Player createPlayer(String name, Set<String> permissions, Map<String, String> options, List<Subject> parents) {
+        Player player = mock(Player.class);
+        UUID uuid = UUID.randomUUID();
+        Mockito.when(player.getName()).thenReturn(name);
+        Mockito.when(player.getUniqueId()).thenReturn(uuid);
+        Mockito.when(player.getIdentifier()).thenReturn(uuid.toString());
+        Mockito.when(player.hasPermission(Mockito.anyString())).thenAnswer(x -> permissions.contains((String) x.getArguments()[0]));
+        Mockito.when(player.hasPermission(Mockito.anySetOf(Context.class), Mockito.anyString()))
+                .thenAnswer(x -> permissions.contains((String) x.getArguments()[1]));
+        Mockito.when(player.getActiveContexts()).thenReturn(ImmutableSet.of());
+        Mockito.when(player.getOption(Mockito.anySetOf(Context.class), Mockito.anyString()))
+                .thenAnswer(x -> Optional.ofNullable(options.get((String) x.getArguments()[1])));
+        Mockito.when(player.getOption(Mockito.anyString())).thenAnswer(x -> Optional.ofNullable(options.get((String) x.getArguments()[0])));
+        Mockito.when(player.getParents()).thenReturn(parents);
+        Mockito.when(player.getParents(Mockito.anySetOf(Context.class))).thenReturn(parents);
+        Mockito.when(player.isOnline()).thenReturn(true);
+        Mockito.when(player.getPlayer()).thenReturn(Optional.of(player));
+        Mockito.doReturn(Optional.empty()).when(player).get(Mockito.any(Key.class));
+        return player;
+    }
+
+    /**
+     * Creates a chain of groups, each inheriting from the next, as a permission plugin with deep inheritance would
+     * report them.
+     *
+     * @param depth The number of groups.
+     * @return The groups, from the one a player would be in to the root.
+     */
+    public static List<Subject> createGroups(int depth) {
+        List<Subject> parents = ImmutableList.of();
+        for (int i = depth - 1; i >= 0; i--) {
+            Subject group = mock(Subject.class);
+            Mockito.when(group.getIdentifier()).thenReturn("group" + i);
+            List<Subject> groupParents = parents.isEmpty() ? ImmutableList.of() : ImmutableList.of(parents.get(0));
+            Mockito.when(group.getParents()).thenReturn(groupParents);
+            Mockito.when(group.getParents(Mockito.anySetOf(Context.class))).thenReturn(groupParents);
+            parents = ImmutableList.<Subject>builder().add(group).addAll(parents).build();
+        }
+
+        return parents;
+    }
+
+    public static <T> T mock(Class<T> clazz) {
+        return Mockito.mock(clazz, Mockito.withSettings().stubOnly());
+    }
+
+    private static String toPlain(Text text) {
+        StringBuilder sb = new StringBuilder();
+        appendPlain(text, sb);
+        return sb.toString();
+    }
+
+    private static void appendPlain(Text text, StringBuilder sb) {
+        if (text instanceof LiteralText) {
+            sb.append(((LiteralText) text).getContent());
+        }
+
+        text.getChildren().forEach(x -> appendPlain(x, sb));
+    }
+
+    private static void setFinalStatic(Field field, Object value) throws Exception {
+        Field modifiers = Field.class.getDeclaredField("modifiers");
+        modifiers.setAccessible(true);
+        modifiers.setInt(field, field.getModifiers() & ~Modifier.FINAL);
+        field.setAccessible(true);
+        field.set(null, value);
+    }
+}
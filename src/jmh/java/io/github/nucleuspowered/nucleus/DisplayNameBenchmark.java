@@ -0,0 +1,59 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTokenServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.Text;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@code {{displayname}}} token for an online player that has a name colour option and no name style
+ * option. {@code uncached} forgets the player's display name before each use, so it is built as it was before
+ * {@link NameUtil} cached it, and {@code cached} uses the cached name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DisplayNameBenchmark {
+
+    private final Map<String, Object> variables = ImmutableMap.of();
+    private NameUtil nameUtil;
+    private NucleusTokenServiceImpl tokenService;
+    private Player player;
+
+    @Setup
+    public void setup() throws Exception {
+        NucleusPlugin plugin = BenchmarkEnvironment.setup();
+        this.nameUtil = plugin.getNameUtil();
+        this.tokenService = new NucleusTokenServiceImpl(plugin);
+        this.player = BenchmarkEnvironment.createPlayer("SomePlayerName", ImmutableSet.of(), ImmutableMap.of("namecolour", "a"),
+                ImmutableList.of());
+    }
+
+    @Benchmark
+    public Optional<Text> uncached() {
+        this.nameUtil.invalidate(this.player.getUniqueId());
+        return this.tokenService.parseToken("displayname", this.player, this.variables);
+    }
+
+    @Benchmark
+    public Optional<Text> cached() {
+        return this.tokenService.parseToken("displayname", this.player, this.variables);
+    }
+}
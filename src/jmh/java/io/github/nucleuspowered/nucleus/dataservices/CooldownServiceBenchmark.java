@@ -0,0 +1,105 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices;
+
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.BenchmarkEnvironment;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cooldown work done for each command invocation, checking whether the player is cooling down and then
+ * starting a new cooldown, while other players have long cooldowns outstanding.
+ *
+ * <ul>
+ *     <li>{@code sweepingMap} is how it used to be done, with a map for the command that has every expired cooldown
+ *     removed on each invocation.</li>
+ *     <li>{@code cooldownService} uses the {@link CooldownService}, from one thread and from four threads at once, as
+ *     async commands would.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CooldownServiceBenchmark {
+
+    private static final String COMMAND = "home";
+    private static final int ACTIVE_PLAYERS = 100;
+
+    @Param({"100", "10000"})
+    public int outstanding;
+
+    private final Map<UUID, Instant> cooldownStore = Maps.newHashMap();
+    private CooldownService cooldownService;
+    private UUID[] active;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkEnvironment.setup();
+        this.cooldownService = new CooldownService(BenchmarkEnvironment.mock(DataProvider.class));
+        Instant end = Instant.now().plus(1, ChronoUnit.HOURS);
+        for (int i = 0; i < this.outstanding; i++) {
+            UUID uuid = UUID.randomUUID();
+            this.cooldownStore.put(uuid, end);
+            this.cooldownService.setCooldown(uuid, COMMAND, end);
+        }
+
+        this.active = new UUID[ACTIVE_PLAYERS];
+        for (int i = 0; i < ACTIVE_PLAYERS; i++) {
+            this.active[i] = UUID.randomUUID();
+        }
+    }
+
+    @Benchmark
+    public boolean sweepingMap() {
+        UUID uuid = this.active[ThreadLocalRandom.current().nextInt(ACTIVE_PLAYERS)];
+        this.cooldownStore.entrySet().removeIf(k -> k.getValue().isBefore(Instant.now()));
+        if (this.cooldownStore.containsKey(uuid)) {
+            return false;
+        }
+
+        this.cooldownStore.put(uuid, Instant.now().plus(10, ChronoUnit.MILLIS));
+        return true;
+    }
+
+    @Benchmark
+    public boolean cooldownService() {
+        return invoke();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean cooldownServiceContended() {
+        return invoke();
+    }
+
+    private boolean invoke() {
+        UUID uuid = this.active[ThreadLocalRandom.current().nextInt(ACTIVE_PLAYERS)];
+        Optional<Instant> end = this.cooldownService.getCooldownEnd(uuid, COMMAND);
+        if (end.isPresent()) {
+            return false;
+        }
+
+        this.cooldownService.setCooldown(uuid, COMMAND, Instant.now().plus(10, ChronoUnit.MILLIS));
+        return true;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Measures the latency of loading and saving a single user's data when there are many users on disk, for each
+ * {@link DataStorageType}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataStorageBenchmark {
+
+    @Param({"JSON", "SINGLE_FILE"})
+    public DataStorageType storage;
+
+    @Param({"100000"})
+    public int users;
+
+    private Path directory;
+    private DataProviders dataProviders;
+    private UUID[] keys;
+    private ConfigurationNode node;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() throws Exception {
+        this.directory = Files.createTempDirectory("nucleus-storage-benchmark");
+        NucleusPlugin plugin = Mockito.mock(NucleusPlugin.class);
+        Mockito.when(plugin.getDataPath()).thenReturn(this.directory);
+        Mockito.when(plugin.getLogger()).thenReturn(LoggerFactory.getLogger(DataStorageBenchmark.class));
+        CoreConfig config = Mockito.mock(CoreConfig.class);
+        Mockito.when(config.getDataStorageType()).thenReturn(this.storage);
+        Mockito.when(config.getDataFileBackups()).thenReturn(1);
+        Mockito.doAnswer(x -> Optional.ofNullable(((Function<CoreConfig, ?>) x.getArguments()[2]).apply(config)))
+                .when(plugin).getConfigValue(Matchers.anyString(), Matchers.any(), Matchers.any());
+        this.dataProviders = new DataProviders(plugin);
+
+        this.node = createUserNode();
+        this.keys = new UUID[this.users];
+        for (int i = 0; i < this.users; i++) {
+            this.keys[i] = UUID.randomUUID();
+            this.dataProviders.getUserFileDataProviders(this.keys[i], true).save(this.node);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.dataProviders.closeStores();
+        try (Stream<Path> stream = Files.walk(this.directory)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(x -> x.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public ConfigurationNode load() throws Exception {
+        return this.dataProviders.getUserFileDataProviders(randomKey(), false).load();
+    }
+
+    @Benchmark
+    public void save() throws Exception {
+        this.dataProviders.getUserFileDataProviders(randomKey(), false).save(this.node);
+    }
+
+    private UUID randomKey() {
+        return this.keys[ThreadLocalRandom.current().nextInt(this.keys.length)];
+    }
+
+    // Roughly the size and shape of a typical user file.
+    private static ConfigurationNode createUserNode() {
+        ConfigurationNode node = SimpleConfigurationNode.root();
+        node.getNode("lastKnownName").setValue("SomePlayerName");
+        node.getNode("firstJoin").setValue(System.currentTimeMillis());
+        node.getNode("lastLogin").setValue(System.currentTimeMillis());
+        node.getNode("lastLogout").setValue(System.currentTimeMillis());
+        node.getNode("lastIP").setValue("127.0.0.1");
+        node.getNode("nickname").setValue("&aNickname");
+        for (int i = 0; i < 5; i++) {
+            ConfigurationNode home = node.getNode("homes", "home" + i);
+            home.getNode("world").setValue(UUID.randomUUID().toString());
+            home.getNode("x").setValue(i * 100.5);
+            home.getNode("y").setValue(64.0);
+            home.getNode("z").setValue(i * -100.5);
+            home.getNode("rotx").setValue(0.0);
+            home.getNode("roty").setValue(90.0);
+            home.getNode("rotz").setValue(0.0);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            node.getNode("mail").getAppendedNode().getNode("message").setValue("Mail message number " + i);
+        }
+
+        return node;
+    }
+}
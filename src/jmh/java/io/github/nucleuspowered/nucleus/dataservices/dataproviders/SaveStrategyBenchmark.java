@@ -0,0 +1,106 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+import ninja.leaping.configurate.loader.ConfigurationLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Measures repeatedly saving the same user file, as happens when a busy player's data is saved many times. The
+ * {@code copy} benchmark is how files used to be saved, copying the file to a backup and then writing over it, and
+ * {@code atomic} is the current temporary file and rename approach, with the given number of backup generations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SaveStrategyBenchmark {
+
+    @Param({"0", "1", "3"})
+    public int backups;
+
+    private Path directory;
+    private Path copyFile;
+    private Path copyBackup;
+    private ConfigurationLoader<?> copyLoader;
+    private JsonFileDataProvider provider;
+    private ConfigurationNode node;
+
+    @Setup
+    public void setup() throws Exception {
+        this.directory = Files.createTempDirectory("nucleus-save-benchmark");
+        Function<Path, ConfigurationLoader<?>> loaderProvider = path -> GsonConfigurationLoader.builder().setPath(path).build();
+        this.node = createUserNode();
+
+        this.copyFile = this.directory.resolve("copy.json");
+        this.copyBackup = Paths.get(this.copyFile.toAbsolutePath().toString() + ".bak");
+        this.copyLoader = loaderProvider.apply(this.copyFile);
+        this.copyLoader.save(this.node);
+
+        this.provider = new JsonFileDataProvider(loaderProvider, this.directory.resolve("atomic.json"), true, () -> this.backups,
+                LoggerFactory.getLogger(SaveStrategyBenchmark.class));
+        this.provider.save(this.node);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> stream = Files.walk(this.directory)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(x -> x.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void copy() throws Exception {
+        Files.copy(this.copyFile, this.copyBackup, StandardCopyOption.REPLACE_EXISTING);
+        this.copyLoader.save(this.node);
+    }
+
+    @Benchmark
+    public void atomic() throws Exception {
+        this.provider.save(this.node);
+    }
+
+    private static ConfigurationNode createUserNode() {
+        ConfigurationNode node = SimpleConfigurationNode.root();
+        node.getNode("lastKnownName").setValue("SomePlayerName");
+        node.getNode("lastLogin").setValue(System.currentTimeMillis());
+        node.getNode("lastIP").setValue("127.0.0.1");
+        for (int i = 0; i < 5; i++) {
+            ConfigurationNode home = node.getNode("homes", "home" + i);
+            home.getNode("world").setValue(UUID.randomUUID().toString());
+            home.getNode("x").setValue(i * 100.5);
+            home.getNode("y").setValue(64.0);
+            home.getNode("z").setValue(i * -100.5);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            node.getNode("mail").getAppendedNode().getNode("message").setValue("Mail message number " + i);
+        }
+
+        return node;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.loaders;
+
+import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.dataservices.Service;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures contended {@link DataManager#get(Object)} throughput.
+ *
+ * <p>{@code globalLock = true} wraps every call in a single shared lock, which is how {@link DataManager} behaved
+ * before loads were made per-key, so the two modes can be compared in one run.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class DataManagerBenchmark {
+
+    @Param({"true", "false"})
+    public boolean globalLock;
+
+    /**
+     * How long a simulated disk read takes.
+     */
+    @Param({"50000"})
+    public long loadNanos;
+
+    private final Object lock = new Object();
+    private final UUID[] keys = new UUID[1024];
+    private BenchmarkDataManager manager;
+
+    @Setup
+    public void setup() {
+        this.manager = new BenchmarkDataManager(Mockito.mock(NucleusPlugin.class), this.loadNanos);
+        for (int i = 0; i < this.keys.length; i++) {
+            this.keys[i] = UUID.randomUUID();
+            this.manager.get(this.keys[i]);
+        }
+    }
+
+    @Benchmark
+    public Optional<BenchmarkService> cachedGet() {
+        return get(this.keys[ThreadLocalRandom.current().nextInt(this.keys.length)]);
+    }
+
+    @Benchmark
+    public Optional<BenchmarkService> getWithColdLoads() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID key = this.keys[random.nextInt(this.keys.length)];
+
+        // One lookup in a hundred has to go to "disk".
+        if (random.nextInt(100) == 0) {
+            this.manager.dataStore.remove(key);
+        }
+
+        return get(key);
+    }
+
+    private Optional<BenchmarkService> get(UUID key) {
+        if (this.globalLock) {
+            synchronized (this.lock) {
+                return this.manager.get(key);
+            }
+        }
+
+        return this.manager.get(key);
+    }
+
+    public static class BenchmarkService implements Service {
+
+        @Override public boolean load() {
+            return true;
+        }
+
+        @Override public void loadInternal() throws Exception {
+        }
+
+        @Override public boolean save() {
+            return true;
+        }
+
+        @Override public boolean delete() {
+            return true;
+        }
+    }
+
+    private static class BenchmarkDataManager extends DataManager<UUID, Object, BenchmarkService> {
+
+        private BenchmarkDataManager(NucleusPlugin plugin, long loadNanos) {
+            super(plugin, (uuid, create) -> new SlowDataProvider(loadNanos), uuid -> true);
+        }
+
+        @Override
+        public Optional<BenchmarkService> getNew(UUID data, DataProvider<Object> dataProvider) throws Exception {
+            dataProvider.load();
+            return Optional.of(new BenchmarkService());
+        }
+    }
+
+    private static class SlowDataProvider implements DataProvider<Object> {
+
+        private final long loadNanos;
+
+        private SlowDataProvider(long loadNanos) {
+            this.loadNanos = loadNanos;
+        }
+
+        @Override public boolean has() {
+            return true;
+        }
+
+        @Override public Object load() throws Exception {
+            LockSupport.parkNanos(this.loadNanos);
+            return new Object();
+        }
+
+        @Override public void save(Object info) throws Exception {
+        }
+
+        @Override public void delete() throws Exception {
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.modular;
+
+import io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper;
+import io.github.nucleuspowered.nucleus.modules.core.datamodules.CoreUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.home.datamodules.HomeUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.kit.datamodules.KitUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.mail.datamodules.MailUserDataModule;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading and saving a user file containing the Core, Home, Mail and Kit modules, with
+ * {@link DataModuleCodec}s turned on ({@code codecs = true}) or off, in which case reflection is used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataModuleBenchmark {
+
+    @Param({"true", "false"})
+    public boolean codecs;
+
+    private ModularUserService service;
+    private ConfigurationNode userFile;
+    private CoreUserDataModule core;
+    private HomeUserDataModule home;
+    private MailUserDataModule mail;
+    private KitUserDataModule kit;
+
+    @Setup
+    public void setup() {
+        DataModuleCodecs.setEnabled(this.codecs);
+        this.service = Mockito.mock(ModularUserService.class);
+        this.userFile = createUserFile();
+        this.core = new CoreUserDataModule();
+        this.home = new HomeUserDataModule(this.service);
+        this.mail = new MailUserDataModule(this.service);
+        this.kit = new KitUserDataModule();
+        load();
+    }
+
+    @TearDown
+    public void tearDown() {
+        DataModuleCodecs.setEnabled(true);
+    }
+
+    @Benchmark
+    public Object load() {
+        CoreUserDataModule core = new CoreUserDataModule();
+        HomeUserDataModule home = new HomeUserDataModule(this.service);
+        MailUserDataModule mail = new MailUserDataModule(this.service);
+        KitUserDataModule kit = new KitUserDataModule();
+        core.loadFrom(this.userFile);
+        home.loadFrom(this.userFile);
+        mail.loadFrom(this.userFile);
+        kit.loadFrom(this.userFile);
+        this.core = core;
+        this.home = home;
+        this.mail = mail;
+        this.kit = kit;
+        return kit;
+    }
+
+    @Benchmark
+    public ConfigurationNode save() {
+        ConfigurationNode node = ConfigurateHelper.getNewNode();
+        this.core.saveTo(node);
+        this.home.saveTo(node);
+        this.mail.saveTo(node);
+        this.kit.saveTo(node);
+        return node;
+    }
+
+    private static ConfigurationNode createUserFile() {
+        ConfigurationNode node = ConfigurateHelper.getNewNode();
+        node.getNode("lastKnownName").setValue("SomePlayerName");
+        node.getNode("lastLogin").setValue(System.currentTimeMillis());
+        node.getNode("lastLogout").setValue(System.currentTimeMillis());
+        node.getNode("lastIP").setValue("127.0.0.1");
+        node.getNode("firstJoin").setValue(System.currentTimeMillis());
+        node.getNode("startedFirstJoin").setValue(true);
+        setLocation(node.getNode("lastLocation"), 0);
+
+        for (int i = 0; i < 10; i++) {
+            setLocation(node.getNode("homes", "home" + i), i);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            ConfigurationNode mail = node.getNode("mail").getAppendedNode();
+            mail.getNode("uuid").setValue(UUID.randomUUID().toString());
+            mail.getNode("date").setValue(System.currentTimeMillis());
+            mail.getNode("message").setValue("This is mail message number " + i);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            node.getNode("kitLastUsedTime", "kit" + i).setValue(System.currentTimeMillis());
+        }
+
+        return node;
+    }
+
+    private static void setLocation(ConfigurationNode node, int i) {
+        node.getNode("world").setValue(UUID.randomUUID().toString());
+        node.getNode("x").setValue(i * 100.5);
+        node.getNode("y").setValue(64.0);
+        node.getNode("z").setValue(i * -100.5);
+        node.getNode("rotx").setValue(0.0);
+        node.getNode("roty").setValue(90.0);
+        node.getNode("rotz").setValue(0.0);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal;
+
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures finding the users whose names start with what has been typed, with 500,000 known users.
+ *
+ * <ul>
+ *     <li>{@code scanAll} is how it used to be done, going through every known name, as
+ *     {@code UserStorageService#getAll()} would return them.</li>
+ *     <li>{@code index} uses the {@link PlayerNameIndex}.</li>
+ *     <li>{@code rename} measures keeping the index up to date as a player logs in with a new name.</li>
+ * </ul>
+ *
+ * <p>Longer prefixes match fewer names, so the index gets faster as more is typed, where the scan does not.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlayerNameIndexBenchmark {
+
+    private static final int NAMES = 500000;
+    private static final String CHARACTERS = "abcdefghijklmnopqrstuvwxyz0123456789_";
+
+    @Param({"1", "3", "5"})
+    public int prefixLength;
+
+    private final List<Profile> profiles = Lists.newArrayList();
+    private final PlayerNameIndex playerNameIndex = new PlayerNameIndex();
+    private String[] prefixes;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        for (int i = 0; i < NAMES; i++) {
+            Profile profile = new Profile(new UUID(random.nextLong(), random.nextLong()), randomName(random));
+            this.profiles.add(profile);
+            this.playerNameIndex.setName(profile.uuid, profile.name);
+        }
+
+        // Prefixes of known names, as would be typed.
+        this.prefixes = new String[100];
+        for (int i = 0; i < this.prefixes.length; i++) {
+            String name = this.profiles.get(random.nextInt(NAMES)).name;
+            this.prefixes[i] = name.substring(0, Math.min(this.prefixLength, name.length())).toLowerCase();
+        }
+    }
+
+    @Benchmark
+    public List<String> scanAll() {
+        String prefix = nextPrefix();
+        return this.profiles.stream()
+                .filter(x -> x.name.toLowerCase().startsWith(prefix))
+                .map(x -> x.name)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> index() {
+        return this.playerNameIndex.getNameMatches(nextPrefix()).stream()
+                .map(x -> this.playerNameIndex.getName(x).orElse(""))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void rename() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Profile profile = this.profiles.get(random.nextInt(NAMES));
+        this.playerNameIndex.setName(profile.uuid, random.nextBoolean() ? profile.name : profile.name + "_");
+    }
+
+    private String nextPrefix() {
+        return this.prefixes[ThreadLocalRandom.current().nextInt(this.prefixes.length)];
+    }
+
+    private static String randomName(Random random) {
+        int length = 3 + random.nextInt(14);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = CHARACTERS.charAt(random.nextInt(CHARACTERS.length()));
+            sb.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+        }
+
+        return sb.toString();
+    }
+
+    private static final class Profile {
+
+        private final UUID uuid;
+        private final String name;
+
+        private Profile(UUID uuid, String name) {
+            this.uuid = uuid;
+            this.name = name;
+        }
+    }
+}
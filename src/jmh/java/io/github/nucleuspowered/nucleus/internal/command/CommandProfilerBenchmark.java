@@ -0,0 +1,87 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.command;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the {@link CommandProfiler} adds to a command, by running four phases of token work the way that
+ * {@link StandardAbstractCommand} does.
+ *
+ * <ul>
+ *     <li>{@code unprofiled} runs the phases with no profiler calls, for comparison.</li>
+ *     <li>{@code profiled} makes the same calls to the profiler as a command does. With {@code enabled} set to
+ *     <code>false</code>, this should be within noise of {@code unprofiled}.</li>
+ *     <li>{@code profiledContended} does the same from four threads at once, for the same command.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandProfilerBenchmark {
+
+    private static final String COMMAND = "home";
+    private static final long WORK = 50;
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    @Setup
+    public void setup() {
+        CommandProfiler.reset();
+        CommandProfiler.setEnabled(this.enabled);
+    }
+
+    @TearDown
+    public void tearDown() {
+        CommandProfiler.setEnabled(false);
+        CommandProfiler.reset();
+    }
+
+    @Benchmark
+    public void unprofiled() {
+        Blackhole.consumeCPU(WORK);
+        Blackhole.consumeCPU(WORK);
+        Blackhole.consumeCPU(WORK);
+        Blackhole.consumeCPU(WORK);
+    }
+
+    @Benchmark
+    public long profiled() {
+        return runProfiled();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long profiledContended() {
+        return runProfiled();
+    }
+
+    private long runProfiled() {
+        long time = CommandProfiler.start();
+        Blackhole.consumeCPU(WORK);
+        time = CommandProfiler.lap(COMMAND, CommandProfiler.Phase.PERMISSIONS, time);
+        Blackhole.consumeCPU(WORK);
+        time = CommandProfiler.lap(COMMAND, CommandProfiler.Phase.ARGUMENTS, time);
+        Blackhole.consumeCPU(WORK);
+        CommandProfiler.lap(COMMAND, CommandProfiler.Phase.MODIFIERS, time);
+
+        long executeTime = CommandProfiler.start();
+        Blackhole.consumeCPU(WORK);
+        return CommandProfiler.lap(COMMAND, CommandProfiler.Phase.EXECUTE, executeTime);
+    }
+}
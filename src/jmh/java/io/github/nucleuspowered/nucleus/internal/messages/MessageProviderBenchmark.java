@@ -0,0 +1,69 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.messages;
+
+import io.github.nucleuspowered.nucleus.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.spongepowered.api.text.Text;
+
+import java.text.MessageFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures getting a message with three substitutions from a {@link ResourceMessageProvider}.
+ *
+ * <ul>
+ *     <li>{@code messageFormatPerCall} parses the message with {@link MessageFormat#format(String, Object...)} on
+ *     every call, as {@link MessageProvider#getMessageWithFormat(String, String...)} used to.</li>
+ *     <li>{@code messageWithFormat} uses the message that the provider has already parsed.</li>
+ *     <li>{@code textMessageWithFormat} gets the message as {@link Text}, from one thread and from four threads at
+ *     once, as async commands would.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageProviderBenchmark {
+
+    private static final String KEY = "startup.welcome";
+
+    private ResourceMessageProvider messageProvider;
+    private String message;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkEnvironment.setup();
+        this.messageProvider = new ResourceMessageProvider(ResourceMessageProvider.messagesBundle);
+        this.message = this.messageProvider.getMessageFromKey(KEY).get();
+    }
+
+    @Benchmark
+    public String messageFormatPerCall() {
+        return MessageFormat.format(this.message, "Nucleus", "1.0", "5.1.0");
+    }
+
+    @Benchmark
+    public String messageWithFormat() {
+        return this.messageProvider.getMessageWithFormat(KEY, "Nucleus", "1.0", "5.1.0");
+    }
+
+    @Benchmark
+    public Text textMessageWithFormat() {
+        return this.messageProvider.getTextMessageWithFormat(KEY, "Nucleus", "1.0", "5.1.0");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Text textMessageWithFormatContended() {
+        return this.messageProvider.getTextMessageWithFormat(KEY, "Nucleus", "1.0", "5.1.0");
+    }
+}
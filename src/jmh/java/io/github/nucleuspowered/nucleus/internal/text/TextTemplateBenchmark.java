@@ -0,0 +1,74 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.text;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.TextTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures rendering a typical chat prefix, {@code [{{prefix}}] {{displayname}}: }, for one player. {@code template}
+ * renders it the way {@link NucleusTextTemplateImpl} used to, building a map of arguments and applying the
+ * {@link TextTemplate}, and {@code compiled} uses a {@link CompiledTextTemplate}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TextTemplateBenchmark {
+
+    private TextTemplate textTemplate;
+    private CompiledTextTemplate compiled;
+    private Map<String, Function<CommandSource, Optional<Text>>> tokens;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        this.textTemplate = TextTemplate.of(
+                Text.of("["),
+                TextTemplate.arg("prefix").optional().build(),
+                Text.of("] "),
+                TextTemplate.arg("displayname").optional().build(),
+                Text.of(": "));
+        this.compiled = new CompiledTextTemplate(this.textTemplate, ImmutableMap.of());
+        this.player = Mockito.mock(Player.class);
+        this.tokens = ImmutableMap.of(
+                "prefix", x -> Optional.of(Text.of("Admin")),
+                "displayname", x -> Optional.of(Text.of("SomePlayerName")));
+    }
+
+    @Benchmark
+    public Text template() {
+        Map<String, Text> args = Maps.newHashMap();
+        this.textTemplate.getArguments().forEach((k, v) -> {
+            Function<CommandSource, Optional<Text>> token = this.tokens.get(k.toLowerCase());
+            if (token != null) {
+                token.apply(this.player).ifPresent(t -> args.put(k, t));
+            }
+        });
+
+        return this.textTemplate.apply(args).build();
+    }
+
+    @Benchmark
+    public Text compiled() {
+        return this.compiled.render(this.player, this.tokens, null);
+    }
+}
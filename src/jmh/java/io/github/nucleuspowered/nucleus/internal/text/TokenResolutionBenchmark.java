@@ -0,0 +1,125 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.text;
+
+import io.github.nucleuspowered.nucleus.BenchmarkEnvironment;
+import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.text.Text;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures resolving the tokens in a template of ten tokens against the {@link NucleusTokenServiceImpl}.
+ * {@code strings} parses each token from its string every time, the way the service used to, and {@code keys} uses
+ * {@link TokenKey}s parsed once, as a compiled template does. The parsers return constant text, so only the lookup
+ * is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenResolutionBenchmark {
+
+    private static final Pattern suffixPattern = Pattern.compile(":([sp]+)$", Pattern.CASE_INSENSITIVE);
+    private static final Optional<Text> CONSTANT = Optional.of(Text.of("value"));
+
+    private static final String[] TOKENS = {
+            "t0", "t1:s", "t2|arg", "pl:bench:x", "pl:bench:y:sp", "t3", "t4:p", "p:bench:z", "t5|other:s", "t6"
+    };
+
+    private NucleusTokenServiceImpl service;
+    private TokenKey[] keys;
+    private Player player;
+
+    @Setup
+    public void setup() throws Exception {
+        PluginContainer nucleusContainer = BenchmarkEnvironment.mock(PluginContainer.class);
+        Mockito.when(nucleusContainer.getId()).thenReturn("nucleus");
+        NucleusPlugin plugin = BenchmarkEnvironment.mock(NucleusPlugin.class);
+        Mockito.when(plugin.getPluginContainer()).thenReturn(nucleusContainer);
+
+        PluginContainer benchContainer = BenchmarkEnvironment.mock(PluginContainer.class);
+        Mockito.when(benchContainer.getId()).thenReturn("bench");
+
+        this.service = new NucleusTokenServiceImpl(plugin);
+        this.service.register(benchContainer, (token, source, variables) -> CONSTANT);
+        for (int i = 0; i < 7; i++) {
+            this.service.registerPrimaryToken("t" + i, benchContainer, "t" + i);
+        }
+
+        this.keys = new TokenKey[TOKENS.length];
+        for (int i = 0; i < TOKENS.length; i++) {
+            this.keys[i] = TokenKey.parse(TOKENS[i]);
+        }
+
+        this.player = BenchmarkEnvironment.mock(Player.class);
+    }
+
+    @Benchmark
+    public void strings(Blackhole blackhole) {
+        for (String token : TOKENS) {
+            blackhole.consume(parseString(this.service, token));
+        }
+    }
+
+    @Benchmark
+    public void keys(Blackhole blackhole) {
+        for (TokenKey key : this.keys) {
+            blackhole.consume(this.service.parseToken(key, this.player, null));
+        }
+    }
+
+    // How NucleusTokenServiceImpl#parseToken(String, CommandSource, Map) used to resolve a token.
+    private Optional<Text> parseString(NucleusMessageTokenService tokenService, String token) {
+        token = token.toLowerCase().trim().replace("{{", "").replace("}}", "");
+        Matcher m = suffixPattern.matcher(token);
+        boolean addSpace = false;
+        boolean prependSpace = false;
+        if (m.find(0)) {
+            String match = m.group(1).toLowerCase();
+            addSpace = match.contains("s");
+            prependSpace = match.contains("p");
+
+            token = token.replaceAll(":[sp]+$", "");
+        }
+
+        Optional<Text> toReturn;
+        if (token.startsWith("pl:") || token.startsWith("p:")) {
+            String[] tokSplit = token.split(":", 3);
+            if (tokSplit.length < 3) {
+                return Optional.empty();
+            }
+
+            toReturn = tokenService.applyToken(tokSplit[1], tokSplit[2], this.player, null);
+        } else {
+            toReturn = tokenService.applyPrimaryToken(token, this.player, null);
+        }
+
+        if (addSpace) {
+            toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(x, Util.SPACE));
+        }
+
+        if (prependSpace) {
+            toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(Util.SPACE, x));
+        }
+
+        return toReturn;
+    }
+}
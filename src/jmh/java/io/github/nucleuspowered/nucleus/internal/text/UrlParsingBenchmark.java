@@ -0,0 +1,100 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.text;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextStyle;
+import org.spongepowered.api.text.format.TextStyles;
+import org.spongepowered.api.text.serializer.TextSerializers;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures finding the URLs in a chat message containing the given number of URLs. {@code split} is how
+ * {@link TextParsingUtils#addUrls(String)} used to work, splitting what was left of the message on the URL pattern
+ * each time a URL was found, and {@code singlePass} is the current implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UrlParsingBenchmark {
+
+    @Param({"0", "1", "10"})
+    public int urls;
+
+    private Pattern urlParser;
+    private String message;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkEnvironment.setup();
+
+        Field parser = TextParsingUtils.class.getDeclaredField("urlParser");
+        parser.setAccessible(true);
+        this.urlParser = (Pattern) parser.get(null);
+
+        StringBuilder sb = new StringBuilder("Hey everyone, &ahave a look at this");
+        for (int i = 0; i < this.urls; i++) {
+            sb.append(" &chttps://nucleuspowered.org/docs/page").append(i).append(" and this");
+        }
+
+        this.message = sb.append(" - thanks!").toString();
+    }
+
+    @Benchmark
+    public Text split() {
+        Matcher m = this.urlParser.matcher(this.message);
+        if (!m.find()) {
+            return TextSerializers.FORMATTING_CODE.deserialize(this.message);
+        }
+
+        List<Text> texts = Lists.newArrayList();
+        String remaining = this.message;
+        TextParsingUtils.StyleTuple st = TextParsingUtils.EMPTY;
+        do {
+            String[] textArray = remaining.split(this.urlParser.pattern(), 2);
+            Text first = Text.builder().color(st.colour).style(st.style)
+                    .append(TextSerializers.FORMATTING_CODE.deserialize(textArray[0])).build();
+            texts.add(first);
+            remaining = textArray.length == 2 ? textArray[1] : null;
+
+            String colourMatch = m.group("colour");
+            if (colourMatch != null && !colourMatch.isEmpty()) {
+                TextStyle reset = m.group("reset") != null ? TextStyles.RESET : TextStyles.NONE;
+                first = Text.of(reset, TextSerializers.FORMATTING_CODE.deserialize(m.group("colour") + " "));
+            }
+
+            st = TextParsingUtils.getLastColourAndStyle(first, st);
+            String url = m.group("url");
+            texts.add(TextParsingUtils.getTextForUrl(url, url, m.group("first"), st, m.group("options")));
+        } while (remaining != null && m.find());
+
+        if (remaining != null) {
+            texts.add(Text.builder().color(st.colour).style(st.style)
+                    .append(TextSerializers.FORMATTING_CODE.deserialize(remaining)).build());
+        }
+
+        return Text.join(texts);
+    }
+
+    @Benchmark
+    public Text singlePass() {
+        return TextParsingUtils.addUrls(this.message);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.listeners;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.BenchmarkEnvironment;
+import io.github.nucleuspowered.nucleus.NameUtil;
+import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateFactory;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
+import io.github.nucleuspowered.nucleus.modules.chat.config.WeightedChatTemplateConfig;
+import io.github.nucleuspowered.nucleus.modules.chat.util.ChatCapabilityCache;
+import io.github.nucleuspowered.nucleus.modules.chat.util.TemplateUtil;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.message.MessageChannelEvent;
+import org.spongepowered.api.event.message.MessageEvent;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.TextRepresentable;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link ChatListener} formatting one chat message, from the event being received to the formatted
+ * message being set on it. The group template is selected from a player in the given number of groups.
+ *
+ * <ul>
+ *     <li>{@code permissions}: {@code none} may not use any formatting, {@code colours} may use colours, and
+ *     {@code all} may use all formatting and URLs.</li>
+ *     <li>{@code message}: {@code short} is a few plain words, {@code formatted} contains colours, styles and a URL,
+ *     and {@code long} is close to the longest message a client can send.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatEventBenchmark {
+
+    private static final String PREFIX = "nucleus.chat.";
+
+    private static final Map<String, String> MESSAGES = ImmutableMap.of(
+            "short", "hi everyone",
+            "formatted", "&aanyone want to trade &ldiamonds&r? &6see &chttps://nucleuspowered.org/docs &rfor more",
+            "long", Strings.repeat("&athis is a long message with &lsome &rformatting ", 4) + "https://nucleuspowered.org");
+
+    @Param({"none", "colours", "all"})
+    public String permissions;
+
+    @Param({"short", "formatted", "long"})
+    public String message;
+
+    @Param({"1", "10"})
+    public int groups;
+
+    private ChatListener listener;
+    private MessageChannelEvent.Chat event;
+    private MessageEvent.MessageFormatter formatter;
+    private Player player;
+    private Text header;
+    private Text body;
+
+    @Setup
+    public void setup() throws Exception {
+        NucleusPlugin plugin = BenchmarkEnvironment.setup();
+
+        NucleusTextTemplateImpl prefix = NucleusTextTemplateFactory.createFromAmpersandString("{{prefix}} {{displayname}}{{suffix}}&f: ");
+        ChatTemplateConfig defaultTemplate = createTemplate(ChatTemplateConfig.class, prefix);
+        WeightedChatTemplateConfig groupTemplate = createTemplate(WeightedChatTemplateConfig.class, prefix);
+        Mockito.when(groupTemplate.getWeight()).thenReturn(1);
+
+        // The template is for the group that is furthest from the player.
+        List<Subject> parents = BenchmarkEnvironment.createGroups(this.groups);
+        ChatConfig chatConfig = BenchmarkEnvironment.mock(ChatConfig.class);
+        Mockito.when(chatConfig.isUseGroupTemplates()).thenReturn(true);
+        Mockito.when(chatConfig.isModifyMainMessage()).thenReturn(true);
+        Mockito.when(chatConfig.isRemoveBlueUnderline()).thenReturn(true);
+        Mockito.when(chatConfig.getDefaultTemplate()).thenReturn(defaultTemplate);
+        Mockito.when(chatConfig.getGroupTemplates()).thenReturn(ImmutableMap.of("group" + (this.groups - 1), groupTemplate));
+        ChatConfigAdapter chatConfigAdapter = BenchmarkEnvironment.mock(ChatConfigAdapter.class);
+        Mockito.when(chatConfigAdapter.getNodeOrDefault()).thenReturn(chatConfig);
+
+        this.listener = new ChatListener(chatConfigAdapter, new TemplateUtil(plugin, chatConfigAdapter), new ChatCapabilityCache(plugin));
+        Field pluginField = ListenerBase.class.getDeclaredField("plugin");
+        pluginField.setAccessible(true);
+        pluginField.set(this.listener, plugin);
+        this.listener.onReload();
+
+        this.player = BenchmarkEnvironment.createPlayer("SomePlayerName", getPermissions(), ImmutableMap.of(), parents);
+        this.header = Text.of("<SomePlayerName> ");
+        this.body = Text.of(MESSAGES.get(this.message));
+
+        this.event = BenchmarkEnvironment.mock(MessageChannelEvent.Chat.class);
+        Mockito.when(this.event.getChannel()).thenReturn(Optional.empty());
+        Mockito.when(this.event.getFormatter()).thenAnswer(x -> this.formatter);
+        Mockito.doAnswer(x -> {
+            this.formatter.setHeader((TextRepresentable) x.getArguments()[0]);
+            this.formatter.setBody((TextRepresentable) x.getArguments()[1]);
+            this.formatter.setFooter((TextRepresentable) x.getArguments()[2]);
+            return null;
+        }).when(this.event).setMessage(Mockito.any(TextRepresentable.class), Mockito.any(TextRepresentable.class),
+                Mockito.any(TextRepresentable.class));
+    }
+
+    @Benchmark
+    public Text chat() {
+        this.formatter = new MessageEvent.MessageFormatter(this.header, this.body);
+        this.listener.onPlayerChat(this.event, this.player);
+        return this.formatter.format();
+    }
+
+    private Set<String> getPermissions() {
+        Set<String> granted = Sets.newHashSet();
+        if (this.permissions.equals("none")) {
+            return granted;
+        }
+
+        NameUtil.getColours().values().forEach(x -> granted.add(PREFIX + "colour." + x.getName()));
+        if (this.permissions.equals("all")) {
+            NameUtil.getStyles().keySet().forEach(x -> granted.add(PREFIX + "style." + x.getSecond().toLowerCase()));
+            granted.add(PREFIX + "magic");
+            granted.add(PREFIX + "url");
+        }
+
+        return granted;
+    }
+
+    private static <T extends ChatTemplateConfig> T createTemplate(Class<T> clazz, NucleusTextTemplateImpl prefix) {
+        T template = BenchmarkEnvironment.mock(clazz);
+        Mockito.when(template.getPrefix()).thenReturn(prefix);
+        Mockito.when(template.getSuffix()).thenReturn(NucleusTextTemplateImpl.Empty.INSTANCE);
+        Mockito.when(template.getChatcolour()).thenReturn("");
+        Mockito.when(template.getChatstyle()).thenReturn("");
+        return template;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.BenchmarkEnvironment;
+import io.github.nucleuspowered.nucleus.NameUtil;
+import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.api.entity.living.player.Player;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the work that the chat listener does to decide what formatting each message may keep, for one second of
+ * chat at 200 messages a second from 20 players. {@code permissionChecks} is how it used to be done, checking the
+ * permission for each code in the message and removing it with a regular expression, then looking up the URL
+ * permission and the chat colour and style options. {@code capabilities} uses each player's cached
+ * {@link ChatCapabilities}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(ChatCapabilitiesBenchmark.MESSAGES)
+public class ChatCapabilitiesBenchmark {
+
+    static final int MESSAGES = 200;
+    private static final int PLAYERS = 20;
+    private static final String PREFIX = "nucleus.chat.";
+
+    private final Map<String, Function<String, String>> replacements = Maps.newHashMap();
+    private final Map<String, String[]> permissions = Maps.newHashMap();
+    private final Map<UUID, ChatCapabilities> capabilityCache = Maps.newHashMap();
+    private Player[] senders;
+    private String[] messages;
+
+    @Setup
+    public void setup() throws Exception {
+        NucleusPlugin plugin = BenchmarkEnvironment.setup();
+
+        NameUtil.getColours().forEach((key, value) -> {
+            this.replacements.put("&" + key, s -> s.replaceAll("[&]+[" + key + Character.toUpperCase(key) + "]", ""));
+            this.permissions.put("&" + key, new String[] { PREFIX + "colour." + value.getName(), PREFIX + "color." + value.getName() });
+        });
+
+        NameUtil.getStyles().keySet().stream().filter(x -> x.getFirst() != 'k').forEach(x -> {
+            this.replacements.put("&" + x.getFirst(), s -> s.replaceAll("[&]+[" + x.getFirst() + Character.toUpperCase(x.getFirst()) + "]", ""));
+            this.permissions.put("&" + x.getFirst(), new String[] { PREFIX + "style." + x.getSecond().toLowerCase() });
+        });
+
+        this.replacements.put("&k", s -> s.replaceAll("[&]+[kK]", ""));
+        this.permissions.put("&k", new String[] { PREFIX + "magic" });
+
+        // Half of the players can use colours, and a few can use everything.
+        Random random = new Random(42);
+        NameUtil nameUtil = plugin.getNameUtil();
+        this.senders = new Player[MESSAGES];
+        Player[] players = new Player[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            Set<String> granted = Sets.newHashSet();
+            if (i % 2 == 0) {
+                NameUtil.getColours().values().forEach(x -> granted.add(PREFIX + "colour." + x.getName()));
+            }
+
+            if (i % 5 == 0) {
+                this.permissions.values().forEach(x -> granted.add(x[0]));
+                granted.add(PREFIX + "url");
+            }
+
+            players[i] = BenchmarkEnvironment.createPlayer("Player" + i, granted, ImmutableMap.of(), ImmutableList.of());
+            this.capabilityCache.put(players[i].getUniqueId(), ChatCapabilities.of(players[i], nameUtil));
+        }
+
+        String[] samples = {
+                "hello everyone",
+                "&aanyone want to trade &ldiamonds&r?",
+                "check out &chttps://nucleuspowered.org &kfor &nthe docs",
+                "&6&lBIG&r &enews - the server is getting &ban update &9tomorrow",
+                "ok"
+        };
+
+        this.messages = new String[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            this.senders[i] = players[random.nextInt(PLAYERS)];
+            this.messages[i] = samples[random.nextInt(samples.length)];
+        }
+    }
+
+    @Benchmark
+    public void permissionChecks(Blackhole blackhole) {
+        for (int i = 0; i < MESSAGES; i++) {
+            Player player = this.senders[i];
+            String message = this.messages[i];
+            if (message.contains("&")) {
+                String m = message.toLowerCase();
+                for (Map.Entry<String, Function<String, String>> r : this.replacements.entrySet()) {
+                    if (m.contains(r.getKey()) && Arrays.stream(this.permissions.get(r.getKey())).noneMatch(player::hasPermission)) {
+                        message = r.getValue().apply(message);
+                    }
+                }
+            }
+
+            blackhole.consume(message);
+            blackhole.consume(player.hasPermission(PREFIX + "url"));
+            blackhole.consume(getOption(player, "chatcolour", "chatcolor"));
+            blackhole.consume(getOption(player, "chatstyle"));
+        }
+    }
+
+    @Benchmark
+    public void capabilities(Blackhole blackhole) {
+        for (int i = 0; i < MESSAGES; i++) {
+            ChatCapabilities capabilities = this.capabilityCache.get(this.senders[i].getUniqueId());
+            blackhole.consume(capabilities.strip(this.messages[i]));
+            blackhole.consume(capabilities.canUseUrls());
+            blackhole.consume(capabilities.getChatColour());
+            blackhole.consume(capabilities.getChatStyle());
+        }
+    }
+
+    // How options were looked up before they were cached: in the active contexts, then without contexts, each time.
+    private static Optional<String> getOption(Player player, String... options) {
+        for (String option : options) {
+            String o = option.toLowerCase();
+            Optional<String> os = player.getOption(player.getActiveContexts(), o);
+            if (os.isPresent()) {
+                return os.map(r -> r.isEmpty() ? null : r);
+            }
+
+            os = player.getOption(o);
+            if (os.isPresent()) {
+                return os.map(r -> r.isEmpty() ? null : r);
+            }
+        }
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.mail.data;
+
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.JsonFileDataProvider;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+import ninja.leaping.configurate.loader.ConfigurationLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Measures sending mail to 10,000 offline users. {@code userFile} is how mail used to be sent, loading each
+ * recipient's user file, adding the mail and saving it again, and {@code journal} appends it to the recipient's
+ * {@link MailJournal}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(MailJournalBenchmark.RECIPIENTS)
+public class MailJournalBenchmark {
+
+    static final int RECIPIENTS = 10000;
+
+    private final Function<Path, ConfigurationLoader<?>> loaderProvider = path -> GsonConfigurationLoader.builder().setPath(path).build();
+
+    private Path directory;
+    private UUID sender;
+    private UUID[] recipients;
+    private JsonFileDataProvider[] userFiles;
+    private MailJournal journal;
+
+    @Setup
+    public void setup() throws Exception {
+        this.directory = Files.createTempDirectory("nucleus-mail-benchmark");
+        Path userdata = Files.createDirectories(this.directory.resolve("userdata"));
+        this.journal = new MailJournal(() -> this.directory.resolve("mail"));
+        this.sender = UUID.randomUUID();
+        this.recipients = new UUID[RECIPIENTS];
+        this.userFiles = new JsonFileDataProvider[RECIPIENTS];
+
+        ConfigurationNode node = createUserNode();
+        for (int i = 0; i < RECIPIENTS; i++) {
+            this.recipients[i] = UUID.randomUUID();
+            this.userFiles[i] = new JsonFileDataProvider(this.loaderProvider, userdata.resolve(this.recipients[i].toString() + ".json"), true,
+                    () -> 1, LoggerFactory.getLogger(MailJournalBenchmark.class));
+            this.userFiles[i].save(node);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> stream = Files.walk(this.directory)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(x -> x.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void userFile() throws Exception {
+        for (JsonFileDataProvider userFile : this.userFiles) {
+            ConfigurationNode node = userFile.load();
+
+            // Keep the files the same size between iterations.
+            node.removeChild("mail");
+            ConfigurationNode mail = node.getNode("mail").getAppendedNode();
+            mail.getNode("uuid").setValue(this.sender.toString());
+            mail.getNode("date").setValue(System.currentTimeMillis());
+            mail.getNode("message").setValue("A message from the console");
+            userFile.save(node);
+        }
+    }
+
+    @Benchmark
+    public void journal() throws Exception {
+        for (UUID recipient : this.recipients) {
+            this.journal.append(recipient, new MailData(this.sender, Instant.now(), "A message from the console"));
+        }
+    }
+
+    private static ConfigurationNode createUserNode() {
+        ConfigurationNode node = SimpleConfigurationNode.root();
+        node.getNode("lastKnownName").setValue("SomePlayerName");
+        node.getNode("lastLogin").setValue(System.currentTimeMillis());
+        node.getNode("lastIP").setValue("127.0.0.1");
+        for (int i = 0; i < 5; i++) {
+            ConfigurationNode home = node.getNode("homes", "home" + i);
+            home.getNode("world").setValue(UUID.randomUUID().toString());
+            home.getNode("x").setValue(i * 100.5);
+            home.getNode("y").setValue(64.0);
+            home.getNode("z").setValue(i * -100.5);
+        }
+
+        return node;
+    }
+}
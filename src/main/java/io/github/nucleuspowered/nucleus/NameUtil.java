@@ -8,6 +8,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionCache;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.util.TemplateUtil;
 import io.github.nucleuspowered.nucleus.modules.nickname.NicknameModule;
@@ -30,18 +31,32 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
+/**
+ * Provides the display names of players, and utilities for the colours and styles that they can use.
+ *
+ * <p>The display name of each online player is cached, as it is needed many times for each chat message and building
+ * it means reading their nickname and checking their options. It is built again when their nickname changes, when
+ * the {@link PermissionCache} drops their permissions and options, on reload, and otherwise once it has been cached
+ * for {@link PermissionCache#EXPIRY_SECONDS} seconds.</p>
+ */
 public class NameUtil {
 
     NameUtil(NucleusPlugin plugin) {
         this.plugin = plugin;
+        plugin.registerReloadable(this.names::clear);
+        plugin.getPermissionCache().addInvalidationListener(this::invalidate);
     }
 
     private final NucleusPlugin plugin;
+    private final Map<UUID, CachedName> names = Maps.newConcurrentMap();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
 
     private final static Map<Character, TextColor> colourMap = Maps.newHashMap();
     private final static Map<Character, TextStyle> styleMap;
@@ -99,7 +114,45 @@ public class NameUtil {
      */
     public Text getName(User player) {
         Preconditions.checkNotNull(player);
+        if (!player.isOnline()) {
+            return createName(player);
+        }
+
+        UUID uuid = player.getUniqueId();
+        CachedName cachedName = names.get(uuid);
+        if (cachedName != null && System.nanoTime() - cachedName.created < PermissionCache.EXPIRY_NANOS) {
+            hits.incrementAndGet();
+            return cachedName.name;
+        }
+
+        misses.incrementAndGet();
+        Text name = createName(player);
+        names.put(uuid, new CachedName(name));
+        return name;
+    }
 
+    /**
+     * Forgets the display name of a player, so that it is built again the next time it is needed.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void invalidate(UUID uuid) {
+        names.remove(uuid);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int getCachedCount() {
+        return names.size();
+    }
+
+    private Text createName(User player) {
         TextColor tc = getNameColour(player);
         TextStyle ts = getNameStyle(player);
         Optional<Text> dname;
@@ -208,4 +261,14 @@ public class NameUtil {
         return optionalTemplateUtil.map(templateUtil -> fromTemplate.apply(templateUtil.getTemplate(player))).orElse(def);
 
     }
+
+    private static final class CachedName {
+
+        private final Text name;
+        private final long created = System.nanoTime();
+
+        private CachedName(Text name) {
+            this.name = name;
+        }
+    }
 }
@@ -7,10 +7,12 @@ package io.github.nucleuspowered.nucleus;
 import com.google.inject.Injector;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.config.CommandsConfig;
+import io.github.nucleuspowered.nucleus.dataservices.CooldownService;
 import io.github.nucleuspowered.nucleus.dataservices.ItemDataService;
 import io.github.nucleuspowered.nucleus.dataservices.KitService;
 import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
 import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.WorldDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
@@ -18,9 +20,11 @@ import io.github.nucleuspowered.nucleus.internal.EconHelper;
 import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
 import io.github.nucleuspowered.nucleus.internal.MixinConfigProxy;
 import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
 import io.github.nucleuspowered.nucleus.internal.TextFileController;
 import io.github.nucleuspowered.nucleus.internal.docgen.DocGenCache;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionCache;
 import io.github.nucleuspowered.nucleus.internal.qsml.NucleusConfigAdapter;
 import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import io.github.nucleuspowered.nucleus.internal.teleport.NucleusTeleportHandler;
@@ -65,6 +69,8 @@ public abstract class Nucleus {
 
     public abstract Supplier<Path> getDataPathSupplier();
 
+    public abstract DataProviders getDataProviders();
+
     public abstract UserDataManager getUserDataManager();
 
     public abstract WorldDataManager getWorldDataManager();
@@ -110,6 +116,10 @@ public abstract class Nucleus {
 
     public abstract NameUtil getNameUtil();
 
+    public abstract PermissionCache getPermissionCache();
+
+    public abstract PlayerNameIndex getPlayerNameIndex();
+
     public abstract TextParsingUtils getTextParsingUtils();
 
     public abstract MessageProvider getMessageProvider();
@@ -138,6 +148,8 @@ public abstract class Nucleus {
 
     public abstract NameBanService getNameBanService();
 
+    public abstract CooldownService getCooldownService();
+
     public abstract CommandsConfig getCommandsConfig();
 
     public abstract PluginContainer getPluginContainer();
@@ -24,6 +24,7 @@ import io.github.nucleuspowered.nucleus.api.service.NucleusModuleService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusWarmupManagerService;
 import io.github.nucleuspowered.nucleus.config.CommandsConfig;
 import io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper;
+import io.github.nucleuspowered.nucleus.dataservices.CooldownService;
 import io.github.nucleuspowered.nucleus.dataservices.ItemDataService;
 import io.github.nucleuspowered.nucleus.dataservices.KitService;
 import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
@@ -37,15 +38,18 @@ import io.github.nucleuspowered.nucleus.internal.EconHelper;
 import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
 import io.github.nucleuspowered.nucleus.internal.MixinConfigProxy;
 import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
 import io.github.nucleuspowered.nucleus.internal.PreloadTasks;
 import io.github.nucleuspowered.nucleus.internal.TextFileController;
 import io.github.nucleuspowered.nucleus.internal.client.ClientMessageReciever;
+import io.github.nucleuspowered.nucleus.internal.command.AsyncCommandExecutor;
 import io.github.nucleuspowered.nucleus.internal.docgen.DocGenCache;
 import io.github.nucleuspowered.nucleus.internal.guice.QuickStartInjectorModule;
 import io.github.nucleuspowered.nucleus.internal.guice.SubInjectorModule;
 import io.github.nucleuspowered.nucleus.internal.messages.ConfigMessageProvider;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.messages.ResourceMessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionCache;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.internal.qsml.ModuleRegistrationProxyService;
@@ -87,6 +91,7 @@ import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.service.permission.PermissionDescription;
 import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.text.format.TextColors;
@@ -133,12 +138,16 @@ public class NucleusPlugin extends Nucleus {
     private ModularGeneralService generalService;
     private ItemDataService itemDataService;
     private UserCacheService userCacheService;
+    private DataProviders dataProviders;
     private UserDataManager userDataManager;
     private WorldDataManager worldDataManager;
     private NameBanService nameBanService;
+    private CooldownService cooldownService;
     private KitService kitService;
     private TextParsingUtils textParsingUtils;
     private NameUtil nameUtil;
+    private final PermissionCache permissionCache = new PermissionCache();
+    private final PlayerNameIndex playerNameIndex = new PlayerNameIndex();
     private Injector injector;
     private SubInjectorModule subInjectorModule = new SubInjectorModule();
     private final List<ThrowableAction<? extends Exception>> reloadableList = Lists.newArrayList();
@@ -147,8 +156,9 @@ public class NucleusPlugin extends Nucleus {
     private NucleusTokenServiceImpl nucleusChatService;
 
     private final InternalServiceManager serviceManager = new InternalServiceManager(this);
-    private MessageProvider messageProvider = new ResourceMessageProvider(ResourceMessageProvider.messagesBundle);
-    private MessageProvider commandMessageProvider = new ResourceMessageProvider(ResourceMessageProvider.commandMessagesBundle);
+    // Replaced when the messages are reloaded, and read from async commands.
+    private volatile MessageProvider messageProvider = new ResourceMessageProvider(ResourceMessageProvider.messagesBundle);
+    private volatile MessageProvider commandMessageProvider = new ResourceMessageProvider(ResourceMessageProvider.commandMessagesBundle);
 
     private WarmupManager warmupManager;
     private final EconHelper econHelper = new EconHelper(this);
@@ -232,6 +242,7 @@ public class NucleusPlugin extends Nucleus {
             this.commandsConfig = new CommandsConfig(Paths.get(configDir.toString(), "commands.conf"));
 
             DataProviders d = new DataProviders(this);
+            this.dataProviders = d;
             this.generalService = new ModularGeneralService(d.getGeneralDataProvider());
             this.itemDataService = new ItemDataService(d.getItemDataProvider());
             this.itemDataService.loadInternal();
@@ -239,6 +250,7 @@ public class NucleusPlugin extends Nucleus {
             this.worldDataManager = new WorldDataManager(this, d::getWorldFileDataProvider, d::doesWorldFileExist);
             this.kitService = new KitService(d.getKitsDataProvider());
             this.nameBanService = new NameBanService(d.getNameBanDataProvider());
+            this.cooldownService = new CooldownService(d.getCooldownDataProvider());
             this.userCacheService = new UserCacheService(d.getUserCacheDataProvider());
             this.warmupManager = new WarmupManager();
             this.textParsingUtils = new TextParsingUtils(this);
@@ -388,6 +400,7 @@ public class NucleusPlugin extends Nucleus {
         // Register a reloadable.
         CommandPermissionHandler.onReload();
         registerReloadable(CommandPermissionHandler::onReload);
+        registerReloadable(this.permissionCache::invalidateAll);
         getDocGenCache().ifPresent(x -> x.addTokenDocs(nucleusChatService.getNucleusTokenParser().getTokenNames()));
 
         logger.info(messageProvider.getMessageWithFormat("startup.moduleloaded", PluginInfo.NAME));
@@ -417,9 +430,11 @@ public class NucleusPlugin extends Nucleus {
         this.kitService.changeFile();
         this.nameBanService.changeFile();
         this.userCacheService.changeFile();
+        this.cooldownService.changeFile();
 
         this.userCacheService.load();
         this.nameBanService.load();
+        this.cooldownService.load();
         if (load) {
             this.generalService.load();
             this.kitService.load();
@@ -446,6 +461,10 @@ public class NucleusPlugin extends Nucleus {
 
             // Start the user cache walk if required, the user storage service is loaded at this point.
             Task.builder().async().execute(() -> userCacheService.startFilewalkIfNeeded()).submit(this);
+
+            // Index the names of every known profile, so that they can be completed without going through them all each time.
+            Task.builder().async().execute(() ->
+                this.playerNameIndex.addAll(Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll())).submit(this);
             logger.info(messageProvider.getMessageWithFormat("startup.started", PluginInfo.NAME));
         }
     }
@@ -478,6 +497,12 @@ public class NucleusPlugin extends Nucleus {
             this.gameStartedTime = null;
             logger.info(messageProvider.getMessageWithFormat("startup.stopped", PluginInfo.NAME));
             saveData();
+            this.serviceManager.getService(AsyncCommandExecutor.class).ifPresent(AsyncCommandExecutor::shutdown);
+
+            // Don't let anything in the write-behind queue get lost.
+            userDataManager.flushPendingWrites();
+            worldDataManager.flushPendingWrites();
+            dataProviders.closeStores();
         }
     }
 
@@ -491,6 +516,7 @@ public class NucleusPlugin extends Nucleus {
                 generalService.save();
                 nameBanService.save();
                 userCacheService.save();
+                cooldownService.save();
             } catch (Exception e) {
                 e.printStackTrace();
             }
@@ -531,6 +557,11 @@ public class NucleusPlugin extends Nucleus {
         return this.modulesLoaded;
     }
 
+    @Override
+    public DataProviders getDataProviders() {
+        return dataProviders;
+    }
+
     @Override
     public UserDataManager getUserDataManager() {
         return userDataManager;
@@ -697,6 +728,8 @@ public class NucleusPlugin extends Nucleus {
 
     @Override public NameBanService getNameBanService() { return nameBanService; }
 
+    @Override public CooldownService getCooldownService() { return cooldownService; }
+
     @Override
     public CommandsConfig getCommandsConfig() {
         return commandsConfig;
@@ -707,6 +740,16 @@ public class NucleusPlugin extends Nucleus {
         return nameUtil;
     }
 
+    @Override
+    public PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
+    @Override
+    public PlayerNameIndex getPlayerNameIndex() {
+        return playerNameIndex;
+    }
+
     public TextParsingUtils getTextParsingUtils() {
         return textParsingUtils;
     }
@@ -292,6 +292,16 @@ public class Util {
         for (String option : options) {
             String o = option.toLowerCase();
 
+            if (player instanceof Player) {
+                // Online players are cached. getOption(String) uses the active contexts, so only one lookup is needed.
+                Optional<String> os = Nucleus.getNucleus().getPermissionCache().getOption(player, o);
+                if (os.isPresent()) {
+                    return os.map(r -> r.isEmpty() ? null : r);
+                }
+
+                continue;
+            }
+
             // Option for context.
             Optional<String> os = player.getOption(player.getActiveContexts(), o);
             if (os.isPresent()) {
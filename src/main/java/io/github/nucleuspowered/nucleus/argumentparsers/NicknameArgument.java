@@ -5,13 +5,10 @@
 package io.github.nucleuspowered.nucleus.argumentparsers;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.Nucleus;
-import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
-import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
 import io.github.nucleuspowered.nucleus.internal.command.StandardAbstractCommand;
 import io.github.nucleuspowered.nucleus.modules.nickname.NicknameModule;
-import io.github.nucleuspowered.nucleus.modules.nickname.datamodules.NicknameUserDataModule;
 import io.github.nucleuspowered.nucleus.util.QuadFunction;
 import io.github.nucleuspowered.nucleus.util.ThrownTriFunction;
 import org.spongepowered.api.Sponge;
@@ -24,12 +21,9 @@ import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.text.Text;
-import org.spongepowered.api.text.serializer.TextSerializers;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiPredicate;
 import java.util.function.Supplier;
@@ -40,7 +34,7 @@ import javax.annotation.Nullable;
 @NonnullByDefault
 public class NicknameArgument<T extends User> extends CommandElement {
 
-    private final UserDataManager userDataManager;
+    private final PlayerNameIndex playerNameIndex;
     private final ThrownTriFunction<String, CommandSource, CommandArgs, List<?>, ArgumentParseException> parser;
     private final QuadFunction<String, CommandSource, CommandArgs, CommandContext, List<String>> completer;
     private final boolean onlyOne;
@@ -61,7 +55,7 @@ public class NicknameArgument<T extends User> extends CommandElement {
         super(key);
 
         this.onlyOne = onlyOne;
-        this.userDataManager = Nucleus.getNucleus().getUserDataManager();
+        this.playerNameIndex = Nucleus.getNucleus().getPlayerNameIndex();
         this.type = type;
         this.filter = filter;
 
@@ -84,15 +78,15 @@ public class NicknameArgument<T extends User> extends CommandElement {
 
                 if (!s.isEmpty()) {
                     UserStorageService uss = Sponge.getServiceManager().provideUnchecked(UserStorageService.class);
-                    List<String> offline = Sponge.getServiceManager().provideUnchecked(UserStorageService.class)
-                            .getAll()
+                    List<String> offline = this.playerNameIndex.getNameMatches(s)
                             .stream()
-                            .filter(x -> x.getName().isPresent())
-                            .filter(x -> !Sponge.getServer().getPlayer(x.getName().get()).isPresent())
-                            .filter(x -> x.getName().get().toLowerCase().startsWith(s))
-                            .filter(x -> uss.get(x).map(y -> filter.test(cs, (T) y)).orElse(false))
+                            .filter(x -> !Sponge.getServer().getPlayer(x).isPresent())
+                            .map(uss::get)
+                            .filter(Optional::isPresent)
+                            .map(Optional::get)
+                            .filter(x -> filter.test(cs, (T) x))
                             .filter(x -> PlayerConsoleArgument.shouldShow(x.getUniqueId(), cs))
-                            .map(x -> x.getName().get())
+                            .map(User::getName)
                             .collect(Collectors.toList());
 
                     toReturn.addAll(offline);
@@ -138,30 +132,30 @@ public class NicknameArgument<T extends User> extends CommandElement {
             throw args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.user.nouser", fName));
         }
 
-        // Now check user names
+        // Now check nicknames. Only online players can be found by their nickname.
         // TODO: Display name
-        Map<String, ModularUserService> allPlayers;
+        List<Player> players;
         if (Nucleus.getNucleus().isModuleLoaded(NicknameModule.ID)) {
-            allPlayers = userDataManager.getOnlineUsersInternal().stream()
-                    .filter(x -> x.getUser().isOnline() && x.get(NicknameUserDataModule.class).getNicknameAsString().isPresent())
-                    .collect(Collectors.toMap(s -> TextSerializers.FORMATTING_CODE.stripCodes(s.get(NicknameUserDataModule.class)
-                    .getNicknameAsString().get().toLowerCase()), s -> s));
-        } else {
-            allPlayers = Maps.newHashMap();
-        }
+            Optional<Player> exact = this.playerNameIndex.getExactNicknameMatches(fName).stream()
+                .map(x -> Sponge.getServer().getPlayer(x))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findFirst();
+            if (exact.isPresent()) {
+                return Lists.newArrayList(exact.get());
+            }
 
-        if (allPlayers.containsKey(fName.toLowerCase())) {
-            return Lists.newArrayList(allPlayers.get(fName.toLowerCase()).getUser().getPlayer().get());
+            // These are in nickname order.
+            players = this.playerNameIndex.getNicknameMatches(fName).stream()
+                .map(x -> Sponge.getServer().getPlayer(x))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .filter(x -> filter.test(src, (T)x))
+                .collect(Collectors.toList());
+        } else {
+            players = Lists.newArrayList();
         }
 
-        List<Player> players = allPlayers.entrySet().stream()
-            .filter(x -> x.getKey().toLowerCase().startsWith(fName))
-            .sorted(Comparator.comparing(Map.Entry::getKey))
-            .filter(x -> x.getValue().getUser().getPlayer().isPresent())
-            .map(x -> x.getValue().getUser().getPlayer().get())
-            .filter(x -> filter.test(src, (T)x))
-            .collect(Collectors.toList());
-
         if (players.isEmpty()) {
             throw args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat(type == UnderlyingType.PLAYER_CONSOLE ? "args.playerconsole.nouser" : "args.user.nouser", fName));
         } else if (players.size() > 1 && this.onlyOne) {
@@ -193,11 +187,11 @@ public class NicknameArgument<T extends User> extends CommandElement {
         if (playerOnly) {
             return original.stream().map(x -> "p:" + x).collect(Collectors.toList());
         } else if (Nucleus.getNucleus().isModuleLoaded(NicknameModule.ID)) {
-            List<String> toAdd = userDataManager.getOnlineUsersInternal().stream()
-                    .filter(x -> x.getUser().isOnline() && x.get(NicknameUserDataModule.class).getNicknameAsString().isPresent() &&
-                            TextSerializers.FORMATTING_CODE.stripCodes(x.get(NicknameUserDataModule.class).getNicknameAsString().get())
-                                    .toLowerCase().startsWith(fName))
-                    .map(x -> TextSerializers.FORMATTING_CODE.stripCodes(x.get(NicknameUserDataModule.class).getNicknameAsString().get()))
+            List<String> toAdd = this.playerNameIndex.getNicknameMatches(fName).stream()
+                    .filter(x -> Sponge.getServer().getPlayer(x).isPresent())
+                    .map(this.playerNameIndex::getNickname)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
                     .collect(Collectors.toList());
             toAdd.removeIf(original::contains);
             original.addAll(toAdd);
@@ -216,6 +210,7 @@ public class NicknameArgument<T extends User> extends CommandElement {
 
         private final boolean onlyOne;
         private final Supplier<UserStorageService> userStorageServiceSupplier;
+        private final Supplier<PlayerNameIndex> playerNameIndexSupplier;
         private final BiPredicate<CommandSource, User> filter;
 
         public UserParser(boolean onlyOne, Supplier<UserStorageService> userStorageServiceSupplier) {
@@ -223,8 +218,19 @@ public class NicknameArgument<T extends User> extends CommandElement {
         }
 
         public UserParser(boolean onlyOne, Supplier<UserStorageService> userStorageServiceSupplier, BiPredicate<CommandSource, User> filter) {
+            this(onlyOne, userStorageServiceSupplier, () -> Nucleus.getNucleus().getPlayerNameIndex(), filter);
+        }
+
+        public UserParser(boolean onlyOne, Supplier<UserStorageService> userStorageServiceSupplier,
+                Supplier<PlayerNameIndex> playerNameIndexSupplier) {
+            this(onlyOne, userStorageServiceSupplier, playerNameIndexSupplier, (c, s) -> true);
+        }
+
+        public UserParser(boolean onlyOne, Supplier<UserStorageService> userStorageServiceSupplier,
+                Supplier<PlayerNameIndex> playerNameIndexSupplier, BiPredicate<CommandSource, User> filter) {
             this.onlyOne = onlyOne;
             this.userStorageServiceSupplier = userStorageServiceSupplier;
+            this.playerNameIndexSupplier = playerNameIndexSupplier;
             this.filter = filter;
         }
 
@@ -237,9 +243,8 @@ public class NicknameArgument<T extends User> extends CommandElement {
                         .orElseThrow(() -> a.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.user.toomany", s))));
                 }
 
-                List<User> users = uss.getAll().stream()
+                List<User> users = playerNameIndexSupplier.get().getNameMatches(s).stream()
                         // Get the players who start with the string.
-                        .filter(x -> x.getName().filter(y -> y.toLowerCase().startsWith(s.toLowerCase())).isPresent())
                         .map(uss::get)
                         // Remove players who have no user
                         .filter(Optional::isPresent)
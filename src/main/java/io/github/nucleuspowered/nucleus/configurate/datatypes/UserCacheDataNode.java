@@ -4,11 +4,13 @@
  */
 package io.github.nucleuspowered.nucleus.configurate.datatypes;
 
+import com.google.common.collect.ImmutableList;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.CoreUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.jail.data.JailData;
 import io.github.nucleuspowered.nucleus.modules.jail.datamodules.JailUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.mute.datamodules.MuteUserDataModule;
+import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
@@ -19,6 +21,11 @@ import javax.annotation.Nullable;
 @ConfigSerializable
 public class UserCacheDataNode {
 
+    /**
+     * The top level keys of a user file that the cache is built from.
+     */
+    public static final ImmutableList<String> KEYS = ImmutableList.of("lastIP", "jailData", "muteData");
+
     @Setting
     @Nullable
     private String ipAddress;
@@ -38,6 +45,21 @@ public class UserCacheDataNode {
         set(x);
     }
 
+    /**
+     * Creates the entry directly from a user file, without loading the data modules.
+     *
+     * @param userData The user file, which only needs to contain the {@link #KEYS}.
+     */
+    public UserCacheDataNode(ConfigurationNode userData) {
+        ipAddress = userData.getNode("lastIP").getString();
+        if (ipAddress != null) {
+            ipAddress = ipAddress.replace("/", "");
+        }
+
+        jail = userData.getNode("jailData", "jailName").getString();
+        isMuted = !userData.getNode("muteData").isVirtual();
+    }
+
     public void set(ModularUserService x) {
         ipAddress = x.get(CoreUserDataModule.class).getLastIp().map(y -> y.replace("/", "")).orElse(null);
         jail = x.get(JailUserDataModule.class).getJailData().map(JailData::getJailName).orElse(null);
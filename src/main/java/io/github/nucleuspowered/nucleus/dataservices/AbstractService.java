@@ -23,6 +23,10 @@ public abstract class AbstractService<T> implements Service {
         }
     }
 
+    protected final DataProvider<T> getDataProvider() {
+        return this.dataProvider;
+    }
+
     public final boolean isLoaded() {
         return this.data != null;
     }
@@ -0,0 +1,208 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the command cooldowns of players, which may be read and set from both the main thread and the threads that
+ * run async commands.
+ *
+ * <p>Expired cooldowns are ignored when they are read, and are removed in the order that they expire when new
+ * cooldowns are set, so no call has to look at every cooldown.</p>
+ *
+ * <p>Cooldowns that have not expired are saved as the end time, in milliseconds since the epoch, for each command
+ * that each player is cooling down from. When they are loaded, the cooldowns of a player are only added back when
+ * their cooldowns are first used.</p>
+ */
+public class CooldownService extends AbstractService<Map<String, Map<String, Long>>> {
+
+    private final Map<UUID, Map<String, Instant>> cooldowns = Maps.newConcurrentMap();
+
+    // Loaded cooldowns of players that have not used a cooldown since.
+    private final Map<UUID, Map<String, Long>> saved = Maps.newConcurrentMap();
+
+    private final Queue<Expiry> expiries = new PriorityBlockingQueue<>();
+    private final Lock expiryLock = new ReentrantLock();
+
+    public CooldownService(DataProvider<Map<String, Map<String, Long>>> dataProvider) throws Exception {
+        super(dataProvider);
+    }
+
+    @Override protected String serviceName() {
+        return "Cooldowns";
+    }
+
+    @Override public void loadInternal() throws Exception {
+        super.loadInternal();
+        this.saved.clear();
+        this.data.forEach((k, v) -> {
+            try {
+                this.saved.put(UUID.fromString(k), Maps.newHashMap(v));
+            } catch (IllegalArgumentException e) {
+                // ignored
+            }
+        });
+    }
+
+    @Override public boolean save() {
+        Map<String, Map<String, Long>> toSave = Maps.newHashMap();
+        long now = System.currentTimeMillis();
+        this.saved.forEach((uuid, v) -> v.forEach((command, end) -> {
+            if (end > now) {
+                toSave.computeIfAbsent(uuid.toString(), k -> Maps.newHashMap()).put(command, end);
+            }
+        }));
+
+        this.cooldowns.forEach((uuid, v) -> v.forEach((command, end) -> {
+            if (end.toEpochMilli() > now) {
+                toSave.computeIfAbsent(uuid.toString(), k -> Maps.newHashMap()).put(command, end.toEpochMilli());
+            }
+        }));
+
+        this.data = toSave;
+        return super.save();
+    }
+
+    /**
+     * Gets the time that a player's cooldown for a command ends, if they are cooling down.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param command The command, as its config section.
+     * @return The {@link Instant} the cooldown ends, if it has not yet passed.
+     */
+    public Optional<Instant> getCooldownEnd(UUID uuid, String command) {
+        restore(uuid);
+        Map<String, Instant> playerCooldowns = this.cooldowns.get(uuid);
+        if (playerCooldowns != null) {
+            Instant end = playerCooldowns.get(command);
+            if (end != null && end.isAfter(Instant.now())) {
+                return Optional.of(end);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Starts a cooldown for a player, replacing any that they have for the command.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param command The command, as its config section.
+     * @param end When the cooldown ends.
+     */
+    public void setCooldown(UUID uuid, String command, Instant end) {
+        Preconditions.checkNotNull(end);
+        removeExpired();
+        restore(uuid);
+        put(uuid, command, end);
+    }
+
+    /**
+     * Removes a player's cooldown for a command.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param command The command, as its config section.
+     */
+    public void removeCooldown(UUID uuid, String command) {
+        restore(uuid);
+        this.cooldowns.computeIfPresent(uuid, (k, v) -> {
+            v.remove(command);
+            return v.isEmpty() ? null : v;
+        });
+    }
+
+    /**
+     * Gets the number of cooldowns that are held, including those that have expired but have not been removed and
+     * those that were loaded but have not been used.
+     *
+     * @return The number of cooldowns.
+     */
+    public int getCooldownCount() {
+        return this.cooldowns.values().stream().mapToInt(Map::size).sum() + this.saved.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private void put(UUID uuid, String command, Instant end) {
+        this.cooldowns.compute(uuid, (k, v) -> {
+            Map<String, Instant> playerCooldowns = v == null ? Maps.newConcurrentMap() : v;
+            playerCooldowns.put(command, end);
+            return playerCooldowns;
+        });
+
+        this.expiries.add(new Expiry(uuid, command, end));
+    }
+
+    private void restore(UUID uuid) {
+        if (!this.saved.isEmpty()) {
+            Map<String, Long> playerCooldowns = this.saved.remove(uuid);
+            if (playerCooldowns != null) {
+                Instant now = Instant.now();
+                playerCooldowns.forEach((command, end) -> {
+                    // Don't replace a cooldown that was set while the saved ones were being restored.
+                    Instant i = Instant.ofEpochMilli(end);
+                    Map<String, Instant> current = this.cooldowns.get(uuid);
+                    if (i.isAfter(now) && (current == null || !current.containsKey(command))) {
+                        put(uuid, command, i);
+                    }
+                });
+            }
+        }
+    }
+
+    private void removeExpired() {
+        Expiry next = this.expiries.peek();
+        if (next == null || next.end.isAfter(Instant.now()) || !this.expiryLock.tryLock()) {
+            // Nothing to do, or another thread is already removing them.
+            return;
+        }
+
+        try {
+            Instant now = Instant.now();
+            while ((next = this.expiries.poll()) != null) {
+                if (next.end.isAfter(now)) {
+                    this.expiries.add(next);
+                    return;
+                }
+
+                // Only remove the cooldown if it hasn't been replaced since.
+                Expiry expiry = next;
+                this.cooldowns.computeIfPresent(expiry.uuid, (k, v) -> {
+                    v.remove(expiry.command, expiry.end);
+                    return v.isEmpty() ? null : v;
+                });
+            }
+        } finally {
+            this.expiryLock.unlock();
+        }
+    }
+
+    private static final class Expiry implements Comparable<Expiry> {
+
+        private final UUID uuid;
+        private final String command;
+        private final Instant end;
+
+        private Expiry(UUID uuid, String command, Instant end) {
+            this.uuid = uuid;
+            this.command = command;
+            this.end = end;
+        }
+
+        @Override public int compareTo(Expiry o) {
+            return this.end.compareTo(o.end);
+        }
+    }
+}
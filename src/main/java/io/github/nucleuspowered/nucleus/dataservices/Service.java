@@ -12,5 +12,14 @@ public interface Service {
 
     boolean save();
 
+    /**
+     * Gets whether this service holds changes that have not yet been written.
+     *
+     * @return <code>true</code> if a call to {@link #save()} would write anything.
+     */
+    default boolean isDirty() {
+        return true;
+    }
+
     boolean delete();
 }
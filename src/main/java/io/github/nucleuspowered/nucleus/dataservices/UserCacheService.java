@@ -4,58 +4,100 @@
  */
 package io.github.nucleuspowered.nucleus.dataservices;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheVersionNode;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
-import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.LazyJsonObject;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
-import org.spongepowered.api.Sponge;
-import org.spongepowered.api.service.user.UserStorageService;
-import org.spongepowered.api.util.Identifiable;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.SimpleConfigurationNode;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
+/**
+ * Caches the IP address, jail and mute status of every known user, so that they can be searched without loading every
+ * user file.
+ *
+ * <p>Each of these is also indexed, so that queries only touch the users they return. All changes to the cache go
+ * through {@link #update(UUID, UserCacheDataNode)} so that the indexes stay in step with it.</p>
+ */
 public class UserCacheService extends AbstractService<UserCacheVersionNode> {
 
     private static final int expectedVersion = new UserCacheVersionNode().getVersion();
-    private boolean isWalking = false;
+    private volatile boolean isWalking = false;
+
+    private static final int MAX_WALK_THREADS = 4;
 
     private final Object lockingObject = new Object();
+    @Nullable private volatile FileWalk currentWalk = null;
+    @Nullable private volatile FileWalk cancelledWalk = null;
+
+    // Runs rebuilds that are started from commands, so that they don't hold up the thread that started them.
+    private final ThreadPoolExecutor rebuildExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new ThreadFactoryBuilder().setNameFormat("Nucleus User Cache Rebuild Coordinator").setDaemon(true).build());
+
+    // Guards the cache and the indexes below.
+    private final Object indexLock = new Object();
+    private final Map<String, Set<UUID>> ipIndex = Maps.newHashMap();
+    private final Map<String, Set<UUID>> jailIndex = Maps.newHashMap();
+    private final Set<UUID> mutedIndex = Sets.newHashSet();
 
     public UserCacheService(DataProvider<UserCacheVersionNode> dataProvider) throws Exception {
         super(dataProvider);
+        this.rebuildExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override public void loadInternal() throws Exception {
+        super.loadInternal();
+        synchronized (this.indexLock) {
+            rebuildIndexes();
+        }
     }
 
     public List<UUID> getForIp(String ip) {
-        updateCacheForOnlinePlayers();
-        String ipToCheck = ip.replace("/", "");
-        return data.getNode().entrySet().stream().filter(x -> x.getValue()
-                .getIpAddress().map(y -> y.equals(ipToCheck)).orElse(false))
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        return get(this.ipIndex, ip.replace("/", ""));
     }
 
     public List<UUID> getJailed() {
-        updateCacheForOnlinePlayers();
-        return data.getNode().entrySet().stream().filter(x -> x.getValue().isJailed())
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return this.jailIndex.values().stream().flatMap(Collection::stream).collect(Collectors.toList());
+        }
     }
 
     public List<UUID> getJailedIn(String name) {
-        updateCacheForOnlinePlayers();
-        return data.getNode().entrySet().stream()
-                .filter(x -> x.getValue().getJailName().map(y -> y.equalsIgnoreCase(name)).orElse(false))
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        return get(this.jailIndex, name.toLowerCase());
     }
 
     public List<UUID> getMuted() {
-        updateCacheForOnlinePlayers();
-        return data.getNode().entrySet().stream().filter(x -> x.getValue().isMuted())
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return Lists.newArrayList(this.mutedIndex);
+        }
     }
 
     @Override protected String serviceName() {
@@ -63,18 +105,63 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
     }
 
     public void updateCacheForOnlinePlayers() {
-        Nucleus.getNucleus().getUserDataManager().getOnlineUsers().forEach(u ->
-                data.getNode().computeIfAbsent(u.getUniqueId(), x -> new UserCacheDataNode()).set(u));
+        Nucleus.getNucleus().getUserDataManager().getOnlineUsers().forEach(this::updateCacheForPlayer);
     }
 
     public void updateCacheForPlayer(ModularUserService u) {
-        data.getNode().computeIfAbsent(u.getUniqueId(), x -> new UserCacheDataNode()).set(u);
+        update(u.getUniqueId(), new UserCacheDataNode(u));
     }
 
     public void updateCacheForPlayer(UUID uuid) {
         Nucleus.getNucleus().getUserDataManager().get(uuid).ifPresent(this::updateCacheForPlayer);
     }
 
+    private List<UUID> get(Map<String, Set<UUID>> index, String key) {
+        synchronized (this.indexLock) {
+            Set<UUID> uuids = index.get(key);
+            return uuids == null ? Lists.newArrayList() : Lists.newArrayList(uuids);
+        }
+    }
+
+    private void update(UUID uuid, UserCacheDataNode node) {
+        synchronized (this.indexLock) {
+            UserCacheDataNode previous = this.data.getNode().put(uuid, node);
+            if (previous != null) {
+                unindex(uuid, previous);
+            }
+
+            index(uuid, node);
+        }
+    }
+
+    private void rebuildIndexes() {
+        this.ipIndex.clear();
+        this.jailIndex.clear();
+        this.mutedIndex.clear();
+        this.data.getNode().forEach(this::index);
+    }
+
+    private void index(UUID uuid, UserCacheDataNode node) {
+        node.getIpAddress().ifPresent(x -> this.ipIndex.computeIfAbsent(x, k -> Sets.newHashSet()).add(uuid));
+        node.getJailName().ifPresent(x -> this.jailIndex.computeIfAbsent(x.toLowerCase(), k -> Sets.newHashSet()).add(uuid));
+        if (node.isMuted()) {
+            this.mutedIndex.add(uuid);
+        }
+    }
+
+    private void unindex(UUID uuid, UserCacheDataNode node) {
+        node.getIpAddress().ifPresent(x -> remove(this.ipIndex, x, uuid));
+        node.getJailName().ifPresent(x -> remove(this.jailIndex, x.toLowerCase(), uuid));
+        this.mutedIndex.remove(uuid);
+    }
+
+    private static void remove(Map<String, Set<UUID>> index, String key, UUID uuid) {
+        Set<UUID> uuids = index.get(key);
+        if (uuids != null && uuids.remove(uuid) && uuids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
     public void startFilewalkIfNeeded() {
         if (!this.isWalking && (!isCorrectVersion() || data.getNode().isEmpty())) {
             fileWalk();
@@ -85,39 +172,232 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
         return expectedVersion == data.getVersion();
     }
 
+    /**
+     * Rebuilds the cache from the user data on disk. Only the parts of each file that the cache needs are read, and
+     * nothing is saved other than the cache itself. This blocks until the rebuild has finished.
+     *
+     * @return false if a rebuild is already running.
+     */
     public boolean fileWalk() {
+        if (!claim(false)) {
+            return false;
+        }
+
+        walk(null, null);
+        return true;
+    }
+
+    /**
+     * Starts rebuilding the cache from the user data on disk, as {@link #fileWalk()} does, and returns straight away.
+     *
+     * @param progress Called with the number of users scanned and the total, every ten percent.
+     * @param onEnd Called when the rebuild ends, with true if it completed or false if it was cancelled or failed.
+     * @return false if a rebuild is already running.
+     */
+    public boolean startFileWalk(@Nullable BiConsumer<Integer, Integer> progress, @Nullable Consumer<Boolean> onEnd) {
+        return start(false, progress, onEnd);
+    }
+
+    /**
+     * Starts continuing a rebuild that was cancelled, and returns straight away.
+     *
+     * @param progress Called with the number of users scanned and the total, every ten percent.
+     * @param onEnd Called when the rebuild ends, with true if it completed or false if it was cancelled or failed.
+     * @return false if there is no cancelled rebuild, or a rebuild is already running.
+     */
+    public boolean resumeFileWalk(@Nullable BiConsumer<Integer, Integer> progress, @Nullable Consumer<Boolean> onEnd) {
+        return start(true, progress, onEnd);
+    }
+
+    /**
+     * Stops the running rebuild. The users that have been scanned are kept, so that it can be continued with
+     * {@link #resumeFileWalk(BiConsumer, Consumer)}.
+     *
+     * @return false if there is no rebuild running.
+     */
+    public boolean cancelFileWalk() {
+        FileWalk walk = this.currentWalk;
+        if (walk == null) {
+            return false;
+        }
+
+        walk.cancelled = true;
+        return true;
+    }
+
+    public boolean isFileWalkCancelled() {
+        return this.cancelledWalk != null;
+    }
+
+    private boolean claim(boolean resume) {
         synchronized (lockingObject) {
-            if (isWalking) {
+            if (isWalking || (resume && this.cancelledWalk == null)) {
                 return false;
             }
 
             isWalking = true;
+            return true;
+        }
+    }
+
+    private boolean start(boolean resume, @Nullable BiConsumer<Integer, Integer> progress, @Nullable Consumer<Boolean> onEnd) {
+        if (!claim(resume)) {
+            return false;
+        }
+
+        try {
+            this.rebuildExecutor.execute(() -> {
+                boolean completed = walk(resume ? this.cancelledWalk : null, progress);
+                if (onEnd != null) {
+                    onEnd.accept(completed);
+                }
+            });
+        } catch (RuntimeException e) {
+            isWalking = false;
+            throw e;
         }
 
+        return true;
+    }
+
+    /**
+     * Runs a rebuild. The caller must have claimed it with {@link #claim(boolean)}.
+     *
+     * @param toResume The cancelled rebuild to continue, or null to start a new one.
+     * @param progress Called with the number of users scanned and the total, every ten percent.
+     * @return true if the rebuild completed.
+     */
+    private boolean walk(@Nullable FileWalk toResume, @Nullable BiConsumer<Integer, Integer> progress) {
+        FileWalk walk = toResume;
+        ExecutorService executor = null;
         try {
-            Map<UUID, UserCacheDataNode> data = Maps.newHashMap();
-            List<UUID> knownUsers = Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll().stream()
-                    .map(Identifiable::getUniqueId).collect(Collectors.toList());
-
-            int count = 0;
-            UserDataManager manager = Nucleus.getNucleus().getUserDataManager();
-            for (UUID user : knownUsers) {
-                if (manager.has(user)) {
-                    manager.get(user).ifPresent(x -> data.put(user, new UserCacheDataNode(x)));
-                    if (++count >= 10) {
-                        manager.removeOfflinePlayers(true);
-                        count = 0;
-                    }
+            if (walk == null) {
+                try {
+                    walk = new FileWalk(Nucleus.getNucleus().getDataProviders().getUserKeys());
+                } catch (IOException e) {
+                    Nucleus.getNucleus().getLogger().error("Could not list the user data files", e);
+                    return false;
                 }
             }
 
-            this.data = new UserCacheVersionNode();
-            this.data.getNode().putAll(data);
+            walk.cancelled = false;
+            this.currentWalk = walk;
+            this.cancelledWalk = null;
+
+            int threads = Math.max(1, Math.min(MAX_WALK_THREADS, Runtime.getRuntime().availableProcessors()));
+            executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                    .setNameFormat("Nucleus User Cache Rebuild %d")
+                    .setDaemon(true)
+                    .build());
+            List<Callable<Void>> workers = Lists.newArrayList();
+            FileWalk w = walk;
+            for (int i = 0; i < threads; i++) {
+                workers.add(() -> {
+                    w.run(progress);
+                    return null;
+                });
+            }
+
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+
+            if (walk.cancelled) {
+                this.cancelledWalk = walk;
+                return false;
+            }
+
+            synchronized (this.indexLock) {
+                this.data = new UserCacheVersionNode();
+                this.data.getNode().putAll(walk.results);
+                rebuildIndexes();
+            }
+
+            // What is in memory might not have been saved yet, so it wins over what we read.
+            updateCacheForOnlinePlayers();
             save();
+            return true;
+        } catch (InterruptedException | ExecutionException e) {
+            Nucleus.getNucleus().getLogger().error("Could not rebuild the user cache", e);
+            this.cancelledWalk = walk;
+            return false;
         } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+
+            this.currentWalk = null;
             isWalking = false;
         }
+    }
 
-        return true;
+    private static class FileWalk {
+
+        private final List<UUID> keys;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger scanned = new AtomicInteger();
+        private final AtomicInteger reported = new AtomicInteger();
+        private final Map<UUID, UserCacheDataNode> results = Maps.newConcurrentMap();
+        private volatile boolean cancelled = false;
+
+        private FileWalk(List<UUID> keys) {
+            this.keys = keys;
+        }
+
+        private void run(@Nullable BiConsumer<Integer, Integer> progress) {
+            DataProviders dataProviders = Nucleus.getNucleus().getDataProviders();
+            while (!this.cancelled) {
+                int index = this.next.getAndIncrement();
+                if (index >= this.keys.size()) {
+                    return;
+                }
+
+                UUID uuid = this.keys.get(index);
+                try {
+                    read(dataProviders, uuid).ifPresent(x -> this.results.put(uuid, x));
+                } catch (Exception e) {
+                    Nucleus.getNucleus().getLogger().warn("Could not read the user data for " + uuid.toString() + ", skipping.");
+                }
+
+                report(this.scanned.incrementAndGet(), progress);
+            }
+        }
+
+        private Optional<UserCacheDataNode> read(DataProviders dataProviders, UUID uuid) throws Exception {
+            DataProvider<ConfigurationNode> provider = dataProviders.getUserFileDataProviders(uuid, false);
+            if (provider == null) {
+                return Optional.empty();
+            }
+
+            ConfigurationNode node = SimpleConfigurationNode.root();
+            if (provider instanceof DataProvider.RawJson) {
+                // Only parse the keys that we need.
+                Optional<String> json = ((DataProvider.RawJson) provider).loadJson();
+                if (!json.isPresent()) {
+                    return Optional.empty();
+                }
+
+                LazyJsonObject object = LazyJsonObject.parse(json.get());
+                for (String key : UserCacheDataNode.KEYS) {
+                    object.materialise(key, node);
+                }
+            } else {
+                node = provider.load();
+            }
+
+            return Optional.of(new UserCacheDataNode(node));
+        }
+
+        private void report(int scanned, @Nullable BiConsumer<Integer, Integer> progress) {
+            int total = this.keys.size();
+            int step = scanned * 10 / total;
+            int last = this.reported.get();
+            if (step > last && this.reported.compareAndSet(last, step)) {
+                Nucleus.getNucleus().getLogger().info("User cache rebuild: " + scanned + "/" + total + " users scanned.");
+                if (progress != null) {
+                    progress.accept(scanned, total);
+                }
+            }
+        }
     }
 }
@@ -7,18 +7,24 @@ package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
 import static io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper.setOptions;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.ConfigurationOptions;
 import ninja.leaping.configurate.loader.ConfigurationLoader;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
 
 @SuppressWarnings("WeakerAccess")
 public abstract class AbstractConfigurateDataProvider<T> implements DataProvider<T> {
@@ -28,15 +34,31 @@ public abstract class AbstractConfigurateDataProvider<T> implements DataProvider
     protected final ConfigurationLoader<?> loader;
     private final Path file;
     private final boolean requiresChildren;
-    private final Path backupFile;
+    private final Path tempFile;
+    private final IntSupplier backupGenerations;
     private final Logger logger;
 
     public AbstractConfigurateDataProvider(Function<Path, ConfigurationLoader<?>>  loaderProvider, Path file, boolean requiresChildren, Logger logger) {
+        this(loaderProvider, file, requiresChildren, () -> 1, logger);
+    }
+
+    /**
+     * Creates this provider.
+     *
+     * @param loaderProvider Creates a loader for a given path.
+     * @param file The file to load from and save to.
+     * @param requiresChildren Whether a save of an empty node should be rejected.
+     * @param backupGenerations The number of previous versions of the file to keep. Read on every save.
+     * @param logger The {@link Logger} to report load failures to.
+     */
+    public AbstractConfigurateDataProvider(Function<Path, ConfigurationLoader<?>> loaderProvider, Path file, boolean requiresChildren,
+            IntSupplier backupGenerations, Logger logger) {
         this.loader = loaderProvider.apply(file);
         this.provider = loaderProvider;
         this.file = file;
-        this.backupFile = Paths.get(file.toAbsolutePath().toString() + ".bak");
+        this.tempFile = Paths.get(file.toAbsolutePath().toString() + ".tmp");
         this.requiresChildren = requiresChildren;
+        this.backupGenerations = backupGenerations;
         this.logger = logger;
     }
 
@@ -47,6 +69,11 @@ public abstract class AbstractConfigurateDataProvider<T> implements DataProvider
     @Override
     public T load() throws Exception {
         try {
+            // Missing the main file, but with something to recover from, means that we stopped part way through a save.
+            if (Files.notExists(file) && getRecoveryFiles().stream().anyMatch(Files::exists)) {
+                throw new IOException("The file " + file.getFileName() + " does not exist.");
+            }
+
             return transformOnLoad(loader.load(setOptions(getOptions())));
         } catch (Exception e) {
             return loadBackup().orElseThrow(() -> e);
@@ -57,14 +84,32 @@ public abstract class AbstractConfigurateDataProvider<T> implements DataProvider
 
     protected abstract ConfigurationNode transformOnSave(T info) throws Exception;
 
+    // Newest first.
+    private List<Path> getRecoveryFiles() {
+        List<Path> files = Lists.newArrayList(tempFile);
+        for (int i = 1; i <= Math.max(1, backupGenerations.getAsInt()); i++) {
+            files.add(getBackupFile(i));
+        }
+
+        return files;
+    }
+
+    private Path getBackupFile(int generation) {
+        return Paths.get(file.toAbsolutePath().toString() + (generation == 1 ? ".bak" : ".bak." + generation));
+    }
+
     private Optional<T> loadBackup() {
-        try {
-            if (Files.exists(backupFile)) {
-                logger.warn("Could not load " + file.toAbsolutePath().toString() + ", attempting to load backup.");
-                return Optional.of(transformOnLoad(this.provider.apply(backupFile).load(setOptions(getOptions()))));
+        logger.warn("Could not load " + file.toAbsolutePath().toString() + ", attempting to load the most recent backup.");
+        for (Path backup : getRecoveryFiles()) {
+            if (Files.exists(backup)) {
+                try {
+                    T result = transformOnLoad(this.provider.apply(backup).load(setOptions(getOptions())));
+                    logger.warn("Loaded " + backup.toAbsolutePath().toString() + " instead.");
+                    return Optional.of(result);
+                } catch (Exception e) {
+                    logger.warn("Could not load " + backup.toAbsolutePath().toString() + " either.");
+                }
             }
-        } catch (Exception e) {
-            logger.warn("Could not load " + backupFile.toAbsolutePath().toString() + " either.");
         }
 
         return Optional.empty();
@@ -81,17 +126,51 @@ public abstract class AbstractConfigurateDataProvider<T> implements DataProvider
             throw getException("Configuration Node has no children.");
         }
 
+        write(path -> this.provider.apply(path).save(node));
+    }
+
+    /**
+     * Writes the file without ever leaving it partially written.
+     *
+     * <p>The action writes a temporary file next to the real one, which is synced to disk. The existing file then
+     * becomes the newest backup (older backups are shifted along, and the oldest dropped), and the temporary file is
+     * moved into its place. Only renames are used, so the data is only written once.</p>
+     *
+     * @param action The action that writes the data to the given path.
+     * @throws IOException if the data could not be written. The existing file is left in place if this happens.
+     */
+    protected void write(PathAction action) throws IOException {
         try {
-            if (Files.exists(file)) {
-                Files.copy(file, backupFile, StandardCopyOption.REPLACE_EXISTING);
+            action.run(tempFile);
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                channel.force(true);
             }
-
-            loader.save(node);
         } catch (IOException e) {
-            if (Files.exists(backupFile)) {
-                Files.copy(backupFile, file, StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(tempFile);
+            throw getException(e);
+        }
+
+        try {
+            int generations = backupGenerations.getAsInt();
+            if (generations > 0 && Files.exists(file)) {
+                Files.deleteIfExists(getBackupFile(generations));
+                for (int i = generations - 1; i > 0; i--) {
+                    Path from = getBackupFile(i);
+                    if (Files.exists(from)) {
+                        Files.move(from, getBackupFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+
+                Files.move(file, getBackupFile(1), StandardCopyOption.REPLACE_EXISTING);
             }
 
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // The temporary file is left behind, so the next load can recover it.
             throw getException(e);
         }
     }
@@ -99,17 +178,36 @@ public abstract class AbstractConfigurateDataProvider<T> implements DataProvider
     @Override
     public void delete() throws Exception {
         Files.delete(file);
+
+        // Otherwise, recreating the file would bring back the old data.
+        for (Path recovery : getRecoveryFiles()) {
+            Files.deleteIfExists(recovery);
+        }
+    }
+
+    protected Path getFile() {
+        return file;
+    }
+
+    protected boolean isRequiresChildren() {
+        return requiresChildren;
     }
 
     private ConfigurationOptions getOptions() {
         return setOptions(loader.getDefaultOptions());
     }
 
-    private IllegalStateException getException(String message) {
+    protected IllegalStateException getException(String message) {
         return new IllegalStateException("The file " + file.getFileName() + " has not been saved.\n" + message);
     }
 
     private IOException getException(Throwable inner) {
         return new IOException("The file " + file.getFileName() + " has not been saved - an exception was thrown.", inner);
     }
+
+    @FunctionalInterface
+    protected interface PathAction {
+
+        void run(Path path) throws IOException;
+    }
 }
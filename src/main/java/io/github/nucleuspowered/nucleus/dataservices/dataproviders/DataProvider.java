@@ -4,6 +4,10 @@
  */
 package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
 
+import ninja.leaping.configurate.ConfigurationNode;
+
+import java.util.Optional;
+
 public interface DataProvider<T> {
 
     boolean has();
@@ -19,4 +23,27 @@ public interface DataProvider<T> {
         void onChange();
     }
 
+    /**
+     * A {@link DataProvider} that can also read and write its data as unparsed JSON, so that it can be decoded
+     * lazily.
+     */
+    interface RawJson extends DataProvider<ConfigurationNode> {
+
+        /**
+         * Reads the stored JSON without parsing it.
+         *
+         * @return The JSON, or {@link Optional#empty()} if nothing has been stored yet.
+         * @throws Exception if the data could not be read.
+         */
+        Optional<String> loadJson() throws Exception;
+
+        /**
+         * Stores the given JSON, which must be an object.
+         *
+         * @param json The JSON.
+         * @throws Exception if the data could not be written.
+         */
+        void saveJson(String json) throws Exception;
+    }
+
 }
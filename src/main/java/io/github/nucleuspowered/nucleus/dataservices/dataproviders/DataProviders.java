@@ -5,12 +5,16 @@
 package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import com.google.common.reflect.TypeToken;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.ItemDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.KitConfigDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheVersionNode;
+import io.github.nucleuspowered.nucleus.modules.core.CoreModule;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.ConfigurationOptions;
 import ninja.leaping.configurate.gson.GsonConfigurationLoader;
@@ -22,31 +26,81 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
 
 public class DataProviders {
 
     private final NucleusPlugin plugin;
         private final TypeToken<Map<String, ItemDataNode>> ttmsi = new TypeToken<Map<String, ItemDataNode>>() {};
     private final TypeToken<Map<String, String>> ttss = new TypeToken<Map<String, String>>() {};
+    private final TypeToken<Map<String, Map<String, Long>>> ttsmsl = new TypeToken<Map<String, Map<String, Long>>>() {};
     private final TypeToken<KitConfigDataNode> ttmk = TypeToken.of(KitConfigDataNode.class);
     private final TypeToken<UserCacheVersionNode> ttucv = TypeToken.of(UserCacheVersionNode.class);
 
     private final String userJson = "userdata%1$s%2$s%1$s%3$s.json";
     private final String worldJson = "worlddata%1$s%2$s%1$s%3$s.json";
+    private final String userStoreFile = "userdata.db";
+    private final String worldStoreFile = "worlddata.db";
+
+    private final Map<String, SingleFileStore> stores = new HashMap<>();
+    @Nullable private volatile DataStorageType storageType = null;
 
     public DataProviders(NucleusPlugin plugin) {
         this.plugin = plugin;
     }
 
+    /**
+     * Gets the {@link DataStorageType} in use. This is fixed the first time it is read after the configuration has
+     * been loaded, so that a reload cannot split data between two layouts.
+     *
+     * @return The {@link DataStorageType}.
+     */
+    public DataStorageType getStorageType() {
+        DataStorageType type = this.storageType;
+        if (type == null) {
+            type = plugin.getConfigValue(CoreModule.ID, CoreConfigAdapter.class, CoreConfig::getDataStorageType).orElse(null);
+            if (type == null) {
+                return DataStorageType.JSON;
+            }
+
+            this.storageType = type;
+        }
+
+        return type;
+    }
+
+    /**
+     * Gets the number of previous versions of each user and world file to keep.
+     *
+     * @return The number of backups.
+     */
+    public int getBackupGenerations() {
+        return plugin.getConfigValue(CoreModule.ID, CoreConfigAdapter.class, CoreConfig::getDataFileBackups).orElse(1);
+    }
+
     public DataProvider<ConfigurationNode> getUserFileDataProviders(UUID uuid, boolean create) {
-        // For now, just the Configurate one.
         try {
+            if (getStorageType() == DataStorageType.SINGLE_FILE) {
+                SingleFileStore store = getStore(userStoreFile);
+                if (create || store.contains(uuid)) {
+                    return new SingleFileDataProvider(store, uuid, true);
+                }
+
+                return null;
+            }
+
             Path p = getFile(userJson, uuid);
             if (create || doesUserFileExist(uuid)) {
-                return new SimpleConfigurateDataProvider(path -> getGsonBuilder().setPath(path).build(), p, true, plugin.getLogger());
+                return new JsonFileDataProvider(path -> getGsonBuilder().setPath(path).build(), p, true, this::getBackupGenerations,
+                        plugin.getLogger());
             }
         } catch (Exception e) {
             // ignored
@@ -55,8 +109,43 @@ public class DataProviders {
         return null;
     }
 
+    /**
+     * Lists the UUIDs of every user that has data on disk.
+     *
+     * @return The UUIDs.
+     * @throws IOException if the data could not be listed.
+     */
+    public List<UUID> getUserKeys() throws IOException {
+        if (getStorageType() == DataStorageType.SINGLE_FILE) {
+            return Lists.newArrayList(getStore(userStoreFile).keys());
+        }
+
+        Path root = plugin.getDataPath().resolve("userdata");
+        if (Files.notExists(root)) {
+            return Lists.newArrayList();
+        }
+
+        try (Stream<Path> stream = Files.walk(root, 2)) {
+            return stream.map(x -> x.getFileName().toString())
+                    .filter(x -> x.endsWith(".json"))
+                    .map(x -> {
+                        try {
+                            return UUID.fromString(x.substring(0, x.length() - 5));
+                        } catch (IllegalArgumentException e) {
+                            return null;
+                        }
+                    })
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+    }
+
     public boolean doesUserFileExist(UUID uuid) {
         try {
+            if (getStorageType() == DataStorageType.SINGLE_FILE) {
+                return getStore(userStoreFile).contains(uuid);
+            }
+
             return Files.exists(getFile(userJson, uuid));
         } catch (Exception e) {
             return false;
@@ -64,11 +153,20 @@ public class DataProviders {
     }
 
     public DataProvider<ConfigurationNode> getWorldFileDataProvider(UUID uuid, boolean create) {
-        // For now, just the Configurate one.
         try {
+            if (getStorageType() == DataStorageType.SINGLE_FILE) {
+                SingleFileStore store = getStore(worldStoreFile);
+                if (create || store.contains(uuid)) {
+                    return new SingleFileDataProvider(store, uuid, false);
+                }
+
+                return null;
+            }
+
             Path p = getFile(worldJson, uuid);
             if (create || doesWorldFileExist(uuid)) {
-                return new SimpleConfigurateDataProvider(path -> getGsonBuilder().setPath(path).build(), p, false, plugin.getLogger());
+                return new JsonFileDataProvider(path -> getGsonBuilder().setPath(path).build(), p, false, this::getBackupGenerations,
+                        plugin.getLogger());
             }
         } catch (Exception e) {
             // ignored
@@ -79,6 +177,10 @@ public class DataProviders {
 
     public boolean doesWorldFileExist(UUID uuid) {
         try {
+            if (getStorageType() == DataStorageType.SINGLE_FILE) {
+                return getStore(worldStoreFile).contains(uuid);
+            }
+
             return Files.exists(getFile(worldJson, uuid));
         } catch (Exception e) {
             return false;
@@ -149,6 +251,121 @@ public class DataProviders {
         }
     }
 
+    public DataProvider.FileChanging<Map<String, Map<String, Long>>> getCooldownDataProvider() {
+        try {
+            Supplier<Path> p = () -> plugin.getDataPath().resolve("cooldowns.json");
+            return new FileChangingConfigurateDataProvider<>(ttsmsl, path -> new LazyConfigurationLoader<>(
+                    () -> getGsonBuilder().setPath(path).build()),
+                    HashMap::new,
+                    p,
+                    false,
+                    plugin.getLogger());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Copies all user and world data from one {@link DataStorageType} to the other. Existing data in the target is
+     * overwritten, the source is left untouched.
+     *
+     * <p>Any pending writes should be flushed before this is called.</p>
+     *
+     * @param target The {@link DataStorageType} to copy the data to.
+     * @return The number of users and worlds that were copied, in that order.
+     * @throws Exception if the data could not be copied.
+     */
+    public int[] migrate(DataStorageType target) throws Exception {
+        return new int[] {
+            migrate(target, "userdata", userJson, userStoreFile, true),
+            migrate(target, "worlddata", worldJson, worldStoreFile, false)
+        };
+    }
+
+    private int migrate(DataStorageType target, String directory, String template, String storeFile, boolean requiresChildren) throws Exception {
+        if (target == DataStorageType.JSON && Files.notExists(plugin.getDataPath().resolve(storeFile))) {
+            return 0;
+        }
+
+        SingleFileStore store = getStore(storeFile);
+        int count = 0;
+        if (target == DataStorageType.SINGLE_FILE) {
+            Path root = plugin.getDataPath().resolve(directory);
+            if (Files.notExists(root)) {
+                return 0;
+            }
+
+            List<Path> files;
+            try (Stream<Path> stream = Files.walk(root)) {
+                files = stream.filter(x -> x.getFileName().toString().endsWith(".json")).collect(Collectors.toList());
+            }
+
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                UUID uuid;
+                try {
+                    uuid = UUID.fromString(name.substring(0, name.length() - 5));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+
+                ConfigurationNode node = new SimpleConfigurateDataProvider(path -> getGsonBuilder().setPath(path).build(), file, false,
+                        plugin.getLogger()).load();
+                if (!requiresChildren || node.hasMapChildren() || node.hasListChildren()) {
+                    new SingleFileDataProvider(store, uuid, requiresChildren).save(node);
+                    count++;
+                }
+            }
+
+            store.sync();
+        } else {
+            for (UUID uuid : store.keys()) {
+                ConfigurationNode node = new SingleFileDataProvider(store, uuid, requiresChildren).load();
+                new SimpleConfigurateDataProvider(path -> getGsonBuilder().setPath(path).build(), getFile(template, uuid), false,
+                        plugin.getLogger()).save(node);
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Flushes and closes any {@link SingleFileStore}s that are open. They will be reopened if they are needed again.
+     */
+    public void closeStores() {
+        synchronized (this.stores) {
+            for (SingleFileStore store : this.stores.values()) {
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    plugin.getLogger().error("Could not close " + store.getFile().getFileName(), e);
+                }
+            }
+
+            this.stores.clear();
+        }
+    }
+
+    private SingleFileStore getStore(String name) throws IOException {
+        // The data path can change on a client, so make sure we're looking at the right file.
+        Path file = plugin.getDataPath().resolve(name);
+        synchronized (this.stores) {
+            SingleFileStore store = this.stores.get(name);
+            if (store != null && store.isOpen() && store.getFile().equals(file)) {
+                return store;
+            }
+
+            if (store != null) {
+                store.close();
+            }
+
+            store = new SingleFileStore(file, plugin.getLogger());
+            this.stores.put(name, store);
+            return store;
+        }
+    }
+
     private Path getFile(String template, UUID uuid) throws Exception {
         String u = uuid.toString();
         String f = u.substring(0, 2);
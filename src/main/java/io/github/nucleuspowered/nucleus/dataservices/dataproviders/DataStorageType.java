@@ -0,0 +1,21 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+/**
+ * How user and world data is laid out on disk.
+ */
+public enum DataStorageType {
+
+    /**
+     * One JSON file per user or world.
+     */
+    JSON,
+
+    /**
+     * All users in one {@link SingleFileStore}, and all worlds in another.
+     */
+    SINGLE_FILE
+}
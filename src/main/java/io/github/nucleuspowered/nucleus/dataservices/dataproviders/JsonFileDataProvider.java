@@ -0,0 +1,42 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import ninja.leaping.configurate.loader.ConfigurationLoader;
+import org.slf4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * A {@link SimpleConfigurateDataProvider} for JSON files, which can also read and write the file without parsing it.
+ */
+public class JsonFileDataProvider extends SimpleConfigurateDataProvider implements DataProvider.RawJson {
+
+    public JsonFileDataProvider(Function<Path, ConfigurationLoader<?>> loaderProvider, Path file, boolean requiresChildren,
+            IntSupplier backupGenerations, Logger logger) {
+        super(loaderProvider, file, requiresChildren, backupGenerations, logger);
+    }
+
+    @Override public Optional<String> loadJson() throws Exception {
+        if (Files.notExists(getFile())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new String(Files.readAllBytes(getFile()), StandardCharsets.UTF_8));
+    }
+
+    @Override public void saveJson(String json) throws Exception {
+        if (isRequiresChildren() && LazyJsonObject.parse(json).isEmpty()) {
+            throw getException("Configuration Node has no children.");
+        }
+
+        write(path -> Files.write(path, json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
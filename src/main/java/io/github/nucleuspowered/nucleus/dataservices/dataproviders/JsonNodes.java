@@ -0,0 +1,53 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import static io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper.setOptions;
+
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+/**
+ * Converts between JSON strings and {@link ConfigurationNode}s, using the same loader settings as the JSON data files.
+ */
+public final class JsonNodes {
+
+    private JsonNodes() {}
+
+    public static ConfigurationNode createEmptyNode() {
+        GsonConfigurationLoader loader = getLoader(null, null);
+        return loader.createEmptyNode(setOptions(loader.getDefaultOptions()));
+    }
+
+    public static ConfigurationNode read(String json) throws IOException {
+        GsonConfigurationLoader loader = getLoader(new StringReader(json), null);
+        return loader.load(setOptions(loader.getDefaultOptions()));
+    }
+
+    public static String write(ConfigurationNode node) throws IOException {
+        StringWriter writer = new StringWriter();
+        getLoader(null, writer).save(node);
+        return writer.toString();
+    }
+
+    private static GsonConfigurationLoader getLoader(StringReader reader, StringWriter writer) {
+        GsonConfigurationLoader.Builder builder = GsonConfigurationLoader.builder();
+        if (reader != null) {
+            builder.setSource(() -> new BufferedReader(reader));
+        }
+
+        if (writer != null) {
+            builder.setSink(() -> new BufferedWriter(writer));
+        }
+
+        return builder.setDefaultOptions(setOptions(builder.getDefaultOptions())).build();
+    }
+}
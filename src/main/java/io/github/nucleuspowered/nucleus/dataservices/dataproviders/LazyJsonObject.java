@@ -0,0 +1,311 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import ninja.leaping.configurate.ConfigurationNode;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JSON object where only the top level keys have been read. The value of each key is kept as unparsed JSON until it
+ * is materialised into a {@link ConfigurationNode}, and values that are never materialised are written back exactly
+ * as they were read.
+ */
+public final class LazyJsonObject {
+
+    private static final String DEFAULT_INDENT = "  ";
+
+    private final Map<String, String> values;
+    private final String indent;
+
+    private LazyJsonObject(Map<String, String> values, String indent) {
+        this.values = values;
+        this.indent = indent;
+    }
+
+    /**
+     * Indexes the top level keys of a JSON object. Values are skipped over, not parsed.
+     *
+     * @param json The JSON.
+     * @return The {@link LazyJsonObject}.
+     * @throws IOException if the JSON is not an object, or is malformed.
+     */
+    public static LazyJsonObject parse(String json) throws IOException {
+        return new Scanner(json).scanObject();
+    }
+
+    public boolean isEmpty() {
+        return this.values.isEmpty();
+    }
+
+    public Set<String> keys() {
+        return this.values.keySet();
+    }
+
+    /**
+     * Parses the value of the given key and sets it on the same key of the target node.
+     *
+     * @param key The top level key.
+     * @param target The node to set the value on.
+     * @throws IOException if the value could not be parsed. The target is not altered if this happens.
+     */
+    public void materialise(String key, ConfigurationNode target) throws IOException {
+        String raw = this.values.get(key);
+        if (raw != null) {
+            ConfigurationNode node = JsonNodes.read("{" + quote(key) + ":" + raw + "}");
+            target.getNode(key).setValue(node.getNode(key));
+        }
+    }
+
+    /**
+     * Writes this object back out, replacing the values of the materialised keys with those in the given JSON object.
+     * Materialised keys that are not in the given JSON are removed, and keys that are only in the given JSON are added
+     * to the end.
+     *
+     * @param materialisedJson The JSON object that contains the current values of the materialised keys.
+     * @param materialised The keys that have been materialised.
+     * @return The JSON.
+     * @throws IOException if the given JSON could not be read.
+     */
+    public String write(String materialisedJson, Collection<String> materialised) throws IOException {
+        LazyJsonObject current = parse(materialisedJson);
+        String indent = this.values.isEmpty() ? current.indent : this.indent;
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (Map.Entry<String, String> entry : this.values.entrySet()) {
+            String value = materialised.contains(entry.getKey()) ? current.values.get(entry.getKey()) : entry.getValue();
+            if (value != null) {
+                first = append(sb, indent, entry.getKey(), value, first);
+            }
+        }
+
+        for (Map.Entry<String, String> entry : current.values.entrySet()) {
+            if (!this.values.containsKey(entry.getKey())) {
+                first = append(sb, indent, entry.getKey(), entry.getValue(), first);
+            }
+        }
+
+        return sb.append(first ? "}" : "\n}").toString();
+    }
+
+    private static boolean append(StringBuilder sb, String indent, String key, String value, boolean first) {
+        if (!first) {
+            sb.append(",");
+        }
+
+        sb.append("\n").append(indent).append(quote(key)).append(": ").append(value);
+        return false;
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+
+        return sb.append('"').toString();
+    }
+
+    private static class Scanner {
+
+        private final String json;
+        private int position = 0;
+
+        private Scanner(String json) {
+            this.json = json;
+        }
+
+        private LazyJsonObject scanObject() throws IOException {
+            Map<String, String> values = new LinkedHashMap<>();
+            String indent = null;
+            skipWhitespace();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                this.position++;
+                return finish(values, null);
+            }
+
+            while (true) {
+                if (indent == null) {
+                    indent = getIndent();
+                }
+
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                int start = this.position;
+                skipValue();
+                values.put(key, this.json.substring(start, this.position));
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    return finish(values, indent);
+                } else if (c != ',') {
+                    throw error("Expected , or }");
+                }
+            }
+        }
+
+        private LazyJsonObject finish(Map<String, String> values, String indent) throws IOException {
+            skipWhitespace();
+            if (this.position != this.json.length()) {
+                throw error("Unexpected data after the end of the object");
+            }
+
+            return new LazyJsonObject(values, indent == null || indent.isEmpty() ? DEFAULT_INDENT : indent);
+        }
+
+        // The whitespace between the start of the line and the first key, so that we write the file back in the same style.
+        private String getIndent() {
+            int lineStart = this.json.lastIndexOf('\n', this.position) + 1;
+            int end = lineStart;
+            while (end < this.json.length() && (this.json.charAt(end) == ' ' || this.json.charAt(end) == '\t')) {
+                end++;
+            }
+
+            return this.json.substring(lineStart, end);
+        }
+
+        private void skipValue() throws IOException {
+            char c = peek();
+            if (c == '"') {
+                readString();
+            } else if (c == '{' || c == '[') {
+                int depth = 0;
+                do {
+                    c = peek();
+                    if (c == '"') {
+                        readString();
+                        continue;
+                    }
+
+                    if (c == '{' || c == '[') {
+                        depth++;
+                    } else if (c == '}' || c == ']') {
+                        depth--;
+                    }
+
+                    this.position++;
+                } while (depth > 0);
+            } else {
+                int start = this.position;
+                while (this.position < this.json.length() && ",}] \t\r\n".indexOf(this.json.charAt(this.position)) < 0) {
+                    this.position++;
+                }
+
+                if (start == this.position) {
+                    throw error("Expected a value");
+                }
+            }
+        }
+
+        private String readString() throws IOException {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return sb.toString();
+                } else if (c == '\\') {
+                    char e = next();
+                    switch (e) {
+                        case 'b':
+                            sb.append('\b');
+                            break;
+                        case 'f':
+                            sb.append('\f');
+                            break;
+                        case 'n':
+                            sb.append('\n');
+                            break;
+                        case 'r':
+                            sb.append('\r');
+                            break;
+                        case 't':
+                            sb.append('\t');
+                            break;
+                        case 'u':
+                            if (this.position + 4 > this.json.length()) {
+                                throw error("Unexpected end of data");
+                            }
+
+                            try {
+                                sb.append((char) Integer.parseInt(this.json.substring(this.position, this.position + 4), 16));
+                            } catch (NumberFormatException ex) {
+                                throw error("Invalid unicode escape");
+                            }
+
+                            this.position += 4;
+                            break;
+                        default:
+                            sb.append(e);
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (this.position < this.json.length() && Character.isWhitespace(this.json.charAt(this.position))) {
+                this.position++;
+            }
+        }
+
+        private void expect(char c) throws IOException {
+            if (next() != c) {
+                throw error("Expected " + c);
+            }
+        }
+
+        private char peek() throws IOException {
+            if (this.position >= this.json.length()) {
+                throw error("Unexpected end of data");
+            }
+
+            return this.json.charAt(this.position);
+        }
+
+        private char next() throws IOException {
+            char c = peek();
+            this.position++;
+            return c;
+        }
+
+        private IOException error(String message) {
+            return new IOException(message + " at position " + this.position);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.slf4j.Logger;
 
 import java.nio.file.Path;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
 
 public class SimpleConfigurateDataProvider extends AbstractConfigurateDataProvider<ConfigurationNode> {
 
@@ -19,6 +20,12 @@ public class SimpleConfigurateDataProvider extends AbstractConfigurateDataProvid
         super(loaderProvider, file, requiresChildren, logger);
     }
 
+    public SimpleConfigurateDataProvider(
+        Function<Path, ConfigurationLoader<?>> loaderProvider, Path file, boolean requiresChildren, IntSupplier backupGenerations, Logger logger) {
+
+        super(loaderProvider, file, requiresChildren, backupGenerations, logger);
+    }
+
     @Override protected ConfigurationNode transformOnLoad(ConfigurationNode node) throws Exception {
         return node;
     }
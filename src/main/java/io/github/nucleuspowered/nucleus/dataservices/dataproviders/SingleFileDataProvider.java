@@ -0,0 +1,74 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import com.google.common.base.Preconditions;
+import ninja.leaping.configurate.ConfigurationNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stores a {@link ConfigurationNode} as JSON in a {@link SingleFileStore}, rather than in its own file.
+ */
+public class SingleFileDataProvider implements DataProvider.RawJson {
+
+    private final SingleFileStore store;
+    private final UUID uuid;
+    private final boolean requiresChildren;
+
+    public SingleFileDataProvider(SingleFileStore store, UUID uuid, boolean requiresChildren) {
+        Preconditions.checkNotNull(store);
+        Preconditions.checkNotNull(uuid);
+        this.store = store;
+        this.uuid = uuid;
+        this.requiresChildren = requiresChildren;
+    }
+
+    @Override public boolean has() {
+        return this.store.contains(this.uuid);
+    }
+
+    @Override public ConfigurationNode load() throws Exception {
+        Optional<byte[]> data = this.store.read(this.uuid);
+        if (!data.isPresent()) {
+            return JsonNodes.createEmptyNode();
+        }
+
+        return JsonNodes.read(new String(data.get(), StandardCharsets.UTF_8));
+    }
+
+    @Override public void save(ConfigurationNode info) throws Exception {
+        Preconditions.checkNotNull(info);
+        if (info.isVirtual()) {
+            throw getException("Configuration Node is virtual.");
+        } else if (this.requiresChildren && (!info.hasMapChildren() && !info.hasListChildren())) {
+            throw getException("Configuration Node has no children.");
+        }
+
+        this.store.write(this.uuid, JsonNodes.write(info).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override public Optional<String> loadJson() throws Exception {
+        return this.store.read(this.uuid).map(x -> new String(x, StandardCharsets.UTF_8));
+    }
+
+    @Override public void saveJson(String json) throws Exception {
+        if (this.requiresChildren && LazyJsonObject.parse(json).isEmpty()) {
+            throw getException("Configuration Node has no children.");
+        }
+
+        this.store.write(this.uuid, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override public void delete() throws Exception {
+        this.store.delete(this.uuid);
+    }
+
+    private IllegalStateException getException(String message) {
+        return new IllegalStateException("The record " + this.uuid.toString() + " has not been saved.\n" + message);
+    }
+}
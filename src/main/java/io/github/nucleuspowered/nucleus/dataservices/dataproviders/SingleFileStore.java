@@ -0,0 +1,512 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import javax.annotation.Nullable;
+
+/**
+ * A log structured store that keeps every record keyed by a {@link UUID} in one file.
+ *
+ * <p>Every write is appended to the end of the file and the in-memory index is pointed at the new copy, so a save
+ * never rewrites existing data. Superseded records and deletions are left behind as garbage, which is removed by
+ * rewriting the live records to a new file in the background once it makes up most of the file.</p>
+ *
+ * <p>Each record is laid out as {@code [uuid msb][uuid lsb][length][crc32][payload]}, with a length of {@code -1}
+ * marking a deletion. The checksum covers the key and length as well as the payload.</p>
+ *
+ * <p>When the store is opened, a torn record at the end of the file (from a crash during a write) is discarded. A
+ * corrupt record with valid records after it is skipped instead, after the file has been copied aside, so that one
+ * bad record does not lose everything saved after it.</p>
+ */
+public class SingleFileStore implements Closeable {
+
+    private static final int MAGIC = 0x4E55434C;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 24;
+    private static final int TOMBSTONE = -1;
+
+    // Don't bother compacting small files.
+    private static final long MIN_COMPACTION_GARBAGE = 4 * 1024 * 1024;
+
+    private final Path file;
+    private final Logger logger;
+    private final Map<UUID, Entry> index = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object compactionLock = new Object();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean(false);
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "Nucleus Single File Store Compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private FileChannel channel;
+    private long end;
+    private long liveBytes;
+    private long garbageBytes;
+
+    public SingleFileStore(Path file, Logger logger) throws IOException {
+        Preconditions.checkNotNull(file);
+        this.file = file;
+        this.logger = logger;
+        open();
+    }
+
+    public Path getFile() {
+        return this.file;
+    }
+
+    public boolean isOpen() {
+        return this.channel != null && this.channel.isOpen();
+    }
+
+    public boolean contains(UUID uuid) {
+        return this.index.containsKey(uuid);
+    }
+
+    public Set<UUID> keys() {
+        return ImmutableSet.copyOf(this.index.keySet());
+    }
+
+    public int size() {
+        return this.index.size();
+    }
+
+    /**
+     * Reads the most recent record for the given key.
+     *
+     * @param uuid The key.
+     * @return The payload, if the key exists.
+     * @throws IOException if the record could not be read or is corrupt.
+     */
+    public Optional<byte[]> read(UUID uuid) throws IOException {
+        this.lock.readLock().lock();
+        try {
+            Entry entry = this.index.get(uuid);
+            if (entry == null) {
+                return Optional.empty();
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+            readFully(this.channel, buffer, entry.offset);
+            byte[] payload = buffer.array();
+            if (crc(uuid, payload.length, payload) != entry.crc) {
+                throw new IOException("The record for " + uuid.toString() + " in " + this.file.getFileName() + " is corrupt.");
+            }
+
+            return Optional.of(payload);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a new record for the given key, superseding any previous one.
+     *
+     * @param uuid The key.
+     * @param payload The data to store.
+     * @throws IOException if the record could not be written.
+     */
+    public void write(UUID uuid, byte[] payload) throws IOException {
+        Preconditions.checkNotNull(payload);
+        this.lock.writeLock().lock();
+        try {
+            int crc = crc(uuid, payload.length, payload);
+            long offset = append(this.channel, this.end, uuid, payload, crc);
+            this.end = offset + payload.length;
+            release(this.index.put(uuid, new Entry(offset, payload.length, crc)));
+            this.liveBytes += RECORD_HEADER_SIZE + payload.length;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        scheduleCompactionIfRequired();
+    }
+
+    /**
+     * Marks the given key as deleted.
+     *
+     * @param uuid The key.
+     * @throws IOException if the deletion could not be written.
+     */
+    public void delete(UUID uuid) throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            if (!this.index.containsKey(uuid)) {
+                return;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).putInt(TOMBSTONE)
+                    .putInt(crc(uuid, TOMBSTONE, new byte[0])).flip();
+            writeFully(this.channel, buffer, this.end);
+            this.end += RECORD_HEADER_SIZE;
+            release(this.index.remove(uuid));
+            this.garbageBytes += RECORD_HEADER_SIZE;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        scheduleCompactionIfRequired();
+    }
+
+    /**
+     * Rewrites the file so that it only contains the current record for each key.
+     *
+     * <p>The records are copied while holding the read lock, so reads carry on as normal. The write lock is only held
+     * to copy any records that were written during the copy, and to swap the files over.</p>
+     *
+     * @throws IOException if the file could not be rewritten. The original file is left in place if this happens.
+     */
+    public void compact() throws IOException {
+        synchronized (this.compactionLock) {
+            Path temp = Paths.get(this.file.toAbsolutePath().toString() + ".compact");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                Map<UUID, Entry> newIndex = new ConcurrentHashMap<>();
+                long copiedTo;
+                long newEnd;
+                this.lock.readLock().lock();
+                try {
+                    if (!isOpen()) {
+                        return;
+                    }
+
+                    writeFully(out, fileHeader(), 0);
+                    newEnd = copy(this.index, out, FILE_HEADER_SIZE, newIndex);
+                    copiedTo = this.end;
+                } finally {
+                    this.lock.readLock().unlock();
+                }
+
+                this.lock.writeLock().lock();
+                try {
+                    if (!isOpen()) {
+                        return;
+                    }
+
+                    // Anything written since the copy is after the point it was copied to. Anything deleted since is no
+                    // longer in the index.
+                    Map<UUID, Entry> appended = new ConcurrentHashMap<>();
+                    for (Map.Entry<UUID, Entry> e : this.index.entrySet()) {
+                        if (e.getValue().offset >= copiedTo) {
+                            appended.put(e.getKey(), e.getValue());
+                        }
+                    }
+
+                    newIndex.keySet().retainAll(this.index.keySet());
+                    newEnd = copy(appended, out, newEnd, newIndex);
+                    out.force(true);
+
+                    this.channel.close();
+                    try {
+                        Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (IOException e) {
+                        // Carry on with the uncompacted file.
+                        this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                        throw e;
+                    }
+
+                    this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    this.index.clear();
+                    this.index.putAll(newIndex);
+                    this.end = newEnd;
+
+                    // Records that were replaced or deleted during the copy are left behind in the new file.
+                    this.liveBytes = newIndex.values().stream().mapToLong(x -> RECORD_HEADER_SIZE + x.length).sum();
+                    this.garbageBytes = newEnd - FILE_HEADER_SIZE - this.liveBytes;
+                } finally {
+                    this.lock.writeLock().unlock();
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Forces all writes to disk.
+     *
+     * @throws IOException if the file could not be synced.
+     */
+    public void sync() throws IOException {
+        this.lock.readLock().lock();
+        try {
+            if (isOpen()) {
+                this.channel.force(false);
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.compactor.shutdown();
+        this.lock.writeLock().lock();
+        try {
+            if (isOpen()) {
+                this.channel.force(true);
+                this.channel.close();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        if (Files.notExists(this.file)) {
+            Files.createDirectories(this.file.toAbsolutePath().getParent());
+        }
+
+        this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = this.channel.size();
+        if (size == 0) {
+            writeFully(this.channel, fileHeader(), 0);
+            this.end = FILE_HEADER_SIZE;
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        if (size >= FILE_HEADER_SIZE) {
+            readFully(this.channel, header, 0);
+            header.flip();
+        }
+
+        if (size < FILE_HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+            this.channel.close();
+            throw new IOException("The file " + this.file.getFileName() + " is not a Nucleus data store.");
+        }
+
+        long position = FILE_HEADER_SIZE;
+        boolean copied = false;
+        while (position < size) {
+            Record record = readRecord(position, size);
+            if (record != null) {
+                if (record.length == TOMBSTONE) {
+                    release(this.index.remove(record.uuid));
+                    this.garbageBytes += RECORD_HEADER_SIZE;
+                } else {
+                    release(this.index.put(record.uuid, new Entry(position + RECORD_HEADER_SIZE, record.length, record.crc)));
+                    this.liveBytes += RECORD_HEADER_SIZE + record.length;
+                }
+
+                position = record.end;
+                continue;
+            }
+
+            long next = findNextRecord(position, size);
+            if (next < 0) {
+                // Nothing valid follows, so this is a write that was cut short.
+                this.logger.warn("Discarding " + (size - position) + " bytes of incomplete data at the end of " + this.file.getFileName()
+                        + ". The most recent save before the server stopped may have been lost.");
+                this.channel.truncate(position);
+                break;
+            }
+
+            if (!copied) {
+                Path copy = Paths.get(this.file.toAbsolutePath().toString() + ".corrupt-" + System.currentTimeMillis());
+                Files.copy(this.file, copy, StandardCopyOption.REPLACE_EXISTING);
+                this.logger.error("The file " + this.file.getFileName() + " contains corrupt data. A copy of it has been saved to "
+                        + copy.getFileName() + ".");
+                copied = true;
+            }
+
+            this.logger.error("Skipping " + (next - position) + " bytes of corrupt data at offset " + position + " in "
+                    + this.file.getFileName() + ". The affected user or world may have lost its most recent save.");
+            this.garbageBytes += next - position;
+            position = next;
+        }
+
+        this.end = position;
+    }
+
+    /**
+     * Reads and checks the record that starts at the given position.
+     *
+     * @param position The position of the record header.
+     * @param size The size of the file.
+     * @return The record, or <code>null</code> if there is no complete, valid record there.
+     * @throws IOException if the file could not be read.
+     */
+    @Nullable
+    private Record readRecord(long position, long size) throws IOException {
+        if (position + RECORD_HEADER_SIZE > size) {
+            return null;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        readFully(this.channel, header, position);
+        header.flip();
+        UUID uuid = new UUID(header.getLong(), header.getLong());
+        int length = header.getInt();
+        int crc = header.getInt();
+        long payloadOffset = position + RECORD_HEADER_SIZE;
+        if (length == TOMBSTONE) {
+            return crc(uuid, TOMBSTONE, new byte[0]) == crc ? new Record(uuid, length, crc, payloadOffset) : null;
+        }
+
+        if (length < 0 || payloadOffset + length > size) {
+            return null;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(this.channel, payload, payloadOffset);
+        return crc(uuid, length, payload.array()) == crc ? new Record(uuid, length, crc, payloadOffset + length) : null;
+    }
+
+    /**
+     * Finds the next valid record after a corrupt one.
+     *
+     * @param corrupt The position of the corrupt record.
+     * @param size The size of the file.
+     * @return The position of the next valid record, or -1 if there isn't one.
+     * @throws IOException if the file could not be read.
+     */
+    private long findNextRecord(long corrupt, long size) throws IOException {
+        // If only the payload is damaged, the length still says where the next record is.
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        if (corrupt + RECORD_HEADER_SIZE <= size) {
+            readFully(this.channel, header, corrupt);
+            header.flip();
+            int length = header.getInt(16);
+            long next = corrupt + RECORD_HEADER_SIZE + Math.max(0, length);
+            if (length >= 0 && next < size && readRecord(next, size) != null) {
+                return next;
+            }
+        }
+
+        for (long position = corrupt + 1; position + RECORD_HEADER_SIZE <= size; position++) {
+            if (readRecord(position, size) != null) {
+                return position;
+            }
+        }
+
+        return -1;
+    }
+
+    private void release(Entry old) {
+        if (old != null) {
+            this.liveBytes -= RECORD_HEADER_SIZE + old.length;
+            this.garbageBytes += RECORD_HEADER_SIZE + old.length;
+        }
+    }
+
+    private void scheduleCompactionIfRequired() {
+        if (this.garbageBytes > MIN_COMPACTION_GARBAGE && this.garbageBytes > this.liveBytes && this.compactionScheduled.compareAndSet(false, true)) {
+            this.compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (Exception e) {
+                    this.logger.error("Could not compact " + this.file.getFileName(), e);
+                } finally {
+                    this.compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    private long copy(Map<UUID, Entry> entries, FileChannel out, long position, Map<UUID, Entry> newIndex) throws IOException {
+        for (Map.Entry<UUID, Entry> e : entries.entrySet()) {
+            Entry entry = e.getValue();
+            ByteBuffer payload = ByteBuffer.allocate(entry.length);
+            readFully(this.channel, payload, entry.offset);
+            long offset = append(out, position, e.getKey(), payload.array(), entry.crc);
+            position = offset + entry.length;
+            newIndex.put(e.getKey(), new Entry(offset, entry.length, entry.crc));
+        }
+
+        return position;
+    }
+
+    private static long append(FileChannel channel, long position, UUID uuid, byte[] payload, int crc) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).putInt(payload.length).putInt(crc)
+                .put(payload).flip();
+        writeFully(channel, buffer, position);
+        return position + RECORD_HEADER_SIZE;
+    }
+
+    private static ByteBuffer fileHeader() {
+        ByteBuffer buffer = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION).flip();
+        return buffer;
+    }
+
+    private static int crc(UUID uuid, int length, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(20).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).putInt(length).array());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file.");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static class Record {
+
+        private final UUID uuid;
+        private final int length;
+        private final int crc;
+        private final long end;
+
+        private Record(UUID uuid, int length, int crc, long end) {
+            this.uuid = uuid;
+            this.length = length;
+            this.crc = crc;
+            this.end = end;
+        }
+    }
+
+    private static class Entry {
+
+        private final long offset;
+        private final int length;
+        private final int crc;
+
+        private Entry(long offset, int length, int crc) {
+            this.offset = offset;
+            this.length = length;
+            this.crc = crc;
+        }
+    }
+}
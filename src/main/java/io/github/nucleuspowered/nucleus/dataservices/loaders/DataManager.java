@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.dataservices.loaders;
 
 import co.aikar.timings.Timing;
 import co.aikar.timings.Timings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.dataservices.Service;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
@@ -13,30 +14,42 @@ import io.github.nucleuspowered.nucleus.internal.TimingsDummy;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 
-import javax.annotation.concurrent.GuardedBy;
-
 public abstract class DataManager<I, P, S extends Service> {
 
     private final Predicate<I> fileExists;
     private final BiFunction<I, Boolean, DataProvider<P>> dataProviderFactory;
     final Map<I, S> dataStore = new ConcurrentHashMap<>();
+    final Map<I, S> pendingWrites = new ConcurrentHashMap<>();
+    private final Map<I, CompletableFuture<Optional<S>>> loading = new ConcurrentHashMap<>();
     final NucleusPlugin plugin;
 
+    private final ExecutorService writeExecutor;
+    private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+    private final AtomicLong completedWrites = new AtomicLong();
+
     private static boolean semaphore = false;
     private static Timing generalLoad = TimingsDummy.DUMMY;
     private static Timing actualLoad = TimingsDummy.DUMMY;
     private static Timing save = TimingsDummy.DUMMY;
 
-    private final Object lockingObject = new Object(); // One per class, for locking
-
     DataManager(NucleusPlugin plugin, BiFunction<I, Boolean, DataProvider<P>> dataProviderFactory, Predicate<I> fileExistsPredicate) {
         this.dataProviderFactory = dataProviderFactory;
         this.plugin = plugin;
         this.fileExists = fileExistsPredicate;
+        this.writeExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("Nucleus " + this.getClass().getSimpleName() + " Writer")
+                .setDaemon(true)
+                .build());
 
         if (!semaphore) {
             semaphore = true;
@@ -58,46 +71,158 @@ public abstract class DataManager<I, P, S extends Service> {
         return get(data, true);
     }
 
-    @GuardedBy("lockingObject")
+    /**
+     * Gets the service for the given key only if it is already loaded.
+     *
+     * @param data The key.
+     * @return The service, if it is loaded.
+     */
+    public final Optional<S> getIfLoaded(I data) {
+        return Optional.ofNullable(this.dataStore.get(data));
+    }
+
     public final Optional<S> get(I data, boolean create) {
-        synchronized (this.lockingObject) {
-            try {
-                generalLoad.startTimingIfSync();
-                if (this.dataStore.containsKey(data)) {
-                    return Optional.of(this.dataStore.get(data));
-                }
+        while (true) {
+            // Anything already loaded is returned without taking any locks.
+            S loaded = this.dataStore.get(data);
+            if (loaded != null) {
+                return Optional.of(loaded);
+            }
 
-                actualLoad.startTimingIfSync();
-                DataProvider<P> d = this.dataProviderFactory.apply(data, create);
-                if (d == null) {
-                    return Optional.empty();
-                }
+            // Only one thread loads any given key - everyone else asking for it waits on that load, but loads of
+            // different keys run in parallel.
+            CompletableFuture<Optional<S>> ours = new CompletableFuture<>();
+            CompletableFuture<Optional<S>> inFlight = this.loading.putIfAbsent(data, ours);
+            if (inFlight == null) {
+                return load(data, create, ours);
+            }
 
-                try {
-                    Optional<S> us = getNew(data, d);
-                    us.ifPresent(x -> this.dataStore.put(data, x));
-                    return us;
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    return Optional.empty();
-                }
-            } finally {
-                generalLoad.stopTimingIfSync();
-                actualLoad.stopTimingIfSync();
+            Optional<S> result = inFlight.join();
+            if (result.isPresent() || !create) {
+                return result;
             }
+
+            // The load we waited on was not allowed to create the service, but we are, so go again.
+        }
+    }
+
+    private Optional<S> load(I data, boolean create, CompletableFuture<Optional<S>> future) {
+        Optional<S> result = Optional.empty();
+        try {
+            generalLoad.startTimingIfSync();
+
+            // It may have been stored between the lock-free check and us claiming the load.
+            S loaded = this.dataStore.get(data);
+            if (loaded != null) {
+                result = Optional.of(loaded);
+                return result;
+            }
+
+            // If the service was unloaded with a write still queued, the file on disk is stale - use what we have.
+            S pending = this.pendingWrites.get(data);
+            if (pending != null) {
+                this.dataStore.put(data, pending);
+                result = Optional.of(pending);
+                return result;
+            }
+
+            actualLoad.startTimingIfSync();
+            DataProvider<P> d = this.dataProviderFactory.apply(data, create);
+            if (d != null) {
+                result = getNew(data, d);
+                result.ifPresent(x -> this.dataStore.put(data, x));
+            }
+
+            return result;
+        } catch (Exception e) {
+            e.printStackTrace();
+            result = Optional.empty();
+            return result;
+        } finally {
+            // Publish to the waiting threads before we stop advertising the load, so that they either see the
+            // stored service or this result.
+            future.complete(result);
+            this.loading.remove(data, future);
+            generalLoad.stopTimingIfSync();
+            actualLoad.stopTimingIfSync();
         }
     }
 
     public abstract Optional<S> getNew(I data, DataProvider<P> dataProvider) throws Exception;
 
+    /**
+     * Queues all loaded services that have unsaved changes to be written by the background writer.
+     */
     public final void saveAll() {
+        this.dataStore.forEach(this::queueSave);
+    }
+
+    /**
+     * Queues the service for the given key to be written by the background writer, if it is loaded and has
+     * unsaved changes.
+     *
+     * @param data The key of the service to save.
+     */
+    public final void queueSave(I data) {
+        S service = this.dataStore.get(data);
+        if (service != null) {
+            queueSave(data, service);
+        }
+    }
+
+    private void queueSave(I data, S service) {
+        if (service.isDirty()) {
+            this.pendingWrites.put(data, service);
+            if (this.writeScheduled.compareAndSet(false, true)) {
+                this.writeExecutor.execute(() -> {
+                    this.writeScheduled.set(false);
+                    writePending();
+                });
+            }
+        }
+    }
+
+    /**
+     * Writes everything that is still queued on the calling thread, then waits for the background writer to
+     * finish any write it has in progress. Used when the server is stopping.
+     */
+    public final void flushPendingWrites() {
+        writePending();
+        try {
+            this.writeExecutor.submit(() -> {}).get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            plugin.getLogger().error("Could not wait for the " + this.getClass().getSimpleName() + " writer to complete.", e);
+        }
+    }
+
+    public final int getPendingWriteCount() {
+        return this.pendingWrites.size();
+    }
+
+    public final long getCompletedWriteCount() {
+        return this.completedWrites.get();
+    }
+
+    private void writePending() {
         try {
             save.startTimingIfSync();
-            dataStore.forEach((i, s) -> {
-                if (!s.save()) {
-                    plugin.getLogger().error("Could not save data for " + i.toString());
+            for (I key : this.pendingWrites.keySet()) {
+                S s = this.pendingWrites.get(key);
+                if (s == null) {
+                    continue;
                 }
-            });
+
+                if (s.save()) {
+                    this.completedWrites.incrementAndGet();
+                } else {
+                    plugin.getLogger().error("Could not save data for " + key.toString());
+                }
+
+                // If it was changed again while we were writing, leave it queued for the next pass.
+                if (!s.isDirty()) {
+                    this.pendingWrites.remove(key, s);
+                }
+            }
         } finally {
             save.stopTimingIfSync();
         }
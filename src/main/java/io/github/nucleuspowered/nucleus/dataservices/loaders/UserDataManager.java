@@ -10,29 +10,99 @@ import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.modules.mail.data.MailJournal;
 import ninja.leaping.configurate.ConfigurationNode;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.service.user.UserStorageService;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class UserDataManager extends DataManager<UUID, ConfigurationNode, ModularUserService> {
 
+    // How long the login thread will wait for a prefetch that is still running before loading the data itself.
+    private static final long PREFETCH_WAIT_MILLIS = 500;
+
+    private final Map<UUID, CompletableFuture<Void>> prefetches = new ConcurrentHashMap<>();
+    private final AtomicLong prefetchHits = new AtomicLong();
+    private final AtomicLong prefetchMisses = new AtomicLong();
+
     public UserDataManager(NucleusPlugin plugin, BiFunction<UUID, Boolean, DataProvider<ConfigurationNode>> dataProviderFactory,
             Predicate<UUID> fileExist) {
         super(plugin, dataProviderFactory, fileExist);
     }
 
+    /**
+     * Starts loading the data for the given user off the main thread, so that it is in memory by the time they log in.
+     * Only existing data is loaded - nothing is created for new players.
+     *
+     * @param uuid The {@link UUID} of the user who is connecting.
+     */
+    public void prefetch(UUID uuid) {
+        if (this.dataStore.containsKey(uuid)) {
+            return;
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (this.prefetches.putIfAbsent(uuid, future) != null) {
+            return;
+        }
+
+        Sponge.getScheduler().createAsyncExecutor(plugin).execute(() -> {
+            try {
+                get(uuid, false);
+            } finally {
+                future.complete(null);
+                this.prefetches.remove(uuid, future);
+            }
+        });
+    }
+
+    /**
+     * Waits a short, bounded time for a prefetch of the given user's data started by {@link #prefetch(UUID)} to
+     * complete. If it doesn't complete in time, the caller simply loads the data as normal.
+     *
+     * @param uuid The {@link UUID} of the user who is logging in.
+     */
+    public void awaitPrefetch(UUID uuid) {
+        CompletableFuture<Void> future = this.prefetches.get(uuid);
+        if (future != null) {
+            try {
+                future.get(PREFETCH_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                // Timed out or failed - fall through to a normal load.
+            }
+        }
+
+        if (this.dataStore.containsKey(uuid)) {
+            this.prefetchHits.incrementAndGet();
+        } else {
+            this.prefetchMisses.incrementAndGet();
+        }
+    }
+
+    public long getPrefetchHits() {
+        return this.prefetchHits.get();
+    }
+
+    public long getPrefetchMisses() {
+        return this.prefetchMisses.get();
+    }
+
     public ModularUserService getUnchecked(UUID user) {
         return get(user).orElseThrow(NullPointerException::new);
     }
@@ -82,8 +152,11 @@ public class UserDataManager extends DataManager<UUID, ConfigurationNode, Modula
     public void removeOfflinePlayers(boolean allOffline) {
         saveAll();
 
-        // If allOffline is false, then remove only if it was loaded over two minutes ago.
-        this.dataStore.entrySet().removeIf(x -> !x.getValue().getUser().isOnline() && (allOffline || x.getValue().serviceLoadTime().plus(2, ChronoUnit.MINUTES).isBefore(Instant.now())));
+        // If allOffline is false, then remove only if it was loaded over two minutes ago. Anything still waiting to be written
+        // stays loaded until the writer has caught up.
+        this.dataStore.entrySet().removeIf(x -> !x.getValue().getUser().isOnline()
+                && !x.getValue().isDirty() && !this.pendingWrites.containsKey(x.getKey())
+                && (allOffline || x.getValue().serviceLoadTime().plus(2, ChronoUnit.MINUTES).isBefore(Instant.now())));
     }
 
     public List<ModularUserService> getOnlineUsersInternal() {
@@ -91,10 +164,21 @@ public class UserDataManager extends DataManager<UUID, ConfigurationNode, Modula
     }
 
     public void forceUnloadAndDelete(UUID uuid) {
+        this.pendingWrites.remove(uuid);
         ModularUserService service = this.dataStore.remove(uuid);
         if (service != null) {
             service.delete();
         }
+
+        // Mail sent while the user was not loaded is kept outside of their data.
+        Optional<MailJournal> journal = Nucleus.getNucleus().getInternalServiceManager().getService(MailJournal.class);
+        if (journal.isPresent()) {
+            try {
+                journal.get().delete(uuid);
+            } catch (IOException e) {
+                Nucleus.getNucleus().getLogger().error("Could not delete the mail journal for " + uuid.toString(), e);
+            }
+        }
     }
 
     public List<ModularUserService> getOnlineUsers() {
@@ -9,6 +9,13 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Marks a field on a {@link DataModule} that is loaded from and saved to the given path.
+ *
+ * <p>Fields can stay private. The annotation processor generates a {@link DataModuleCodec} for each module that reads
+ * and writes them through method handles. Only modules that can't have a codec, such as private or generic modules,
+ * or modules with final or static keyed fields, fall back to reflection.</p>
+ */
 @Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface DataKey {
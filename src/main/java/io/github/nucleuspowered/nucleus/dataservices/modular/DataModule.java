@@ -13,13 +13,16 @@ import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 
 /**
@@ -34,6 +37,7 @@ public abstract class DataModule<S extends ModularDataService<S>> {
 
     private final List<FieldData> data;
     private final Object lockingObject = new Object();
+    private volatile boolean dirty = false;
 
     @SuppressWarnings("unchecked") protected DataModule() {
         synchronized (lock) {
@@ -48,10 +52,10 @@ public abstract class DataModule<S extends ModularDataService<S>> {
                 try {
                     Optional<?> value = getValue(d.clazz, d.path, node);
                     if (value.isPresent()) {
-                        d.field.set(this, value.get());
+                        d.set(this, value.get());
                     }
-                } catch (IllegalArgumentException e) {
-                    Nucleus.getNucleus().getLogger().warn("Could not set field data for " + d.field.getName() + " "
+                } catch (IllegalArgumentException | ClassCastException e) {
+                    Nucleus.getNucleus().getLogger().warn("Could not set field data for " + d.name + " "
                             + "(data key " + Arrays.toString(d.path) + ") - falling back to default.");
                 } catch (Exception e) {
                     e.printStackTrace();
@@ -63,6 +67,37 @@ public abstract class DataModule<S extends ModularDataService<S>> {
         }
     }
 
+    /**
+     * Flags this module as having changed since it was last saved, so that the next save of the owning
+     * {@link ModularDataService} will write it. Setters must call this, as must any caller that mutates
+     * an object returned by a getter in place.
+     */
+    public final void markDirty() {
+        this.dirty = true;
+    }
+
+    /**
+     * Gets whether this module has changes that have not been saved.
+     *
+     * @return true if so.
+     */
+    public final boolean isDirty() {
+        return this.dirty;
+    }
+
+    final void clearDirty() {
+        this.dirty = false;
+    }
+
+    /**
+     * Gets the top level keys of the data file that this module reads from.
+     *
+     * @return The keys.
+     */
+    final Set<String> getTopLevelKeys() {
+        return this.data.stream().filter(x -> x.path.length > 0).map(x -> x.path[0]).collect(Collectors.toSet());
+    }
+
     /**
      * Migrate data
      */
@@ -84,7 +119,7 @@ public abstract class DataModule<S extends ModularDataService<S>> {
         synchronized (this.lockingObject) {
             for (FieldData d : data) {
                 try {
-                    saveFieldData(d.clazz, d.field, d.path, node);
+                    saveFieldData(d, node);
                 } catch (Exception e) {
                     Nucleus.getNucleus().getLogger().error("Could not save module " + d.clazz.getType().getTypeName(), e);
                 }
@@ -93,16 +128,16 @@ public abstract class DataModule<S extends ModularDataService<S>> {
     }
 
     @SuppressWarnings("unchecked")
-    private <T> void saveFieldData(TypeToken<T> typeToken, Field field, String[] path, ConfigurationNode node) throws ObjectMappingException {
+    private <T> void saveFieldData(FieldData d, ConfigurationNode node) throws ObjectMappingException {
         T t;
         try {
-            t = (T)field.get(this);
+            t = (T) d.get(this);
         } catch (IllegalAccessException e) {
-            Nucleus.getNucleus().getLogger().error("Could not get data from " + getClass().getSimpleName() + ": " + field.getName(), e);
+            Nucleus.getNucleus().getLogger().error("Could not get data from " + getClass().getSimpleName() + ": " + d.name, e);
             t = null;
         }
 
-        saveNode(typeToken, t, path, node);
+        saveNode((TypeToken<T>) d.clazz, t, d.path, node);
     }
 
     protected <T> void saveNode(TypeToken<T> typeToken, T value, String[] path, ConfigurationNode node) throws ObjectMappingException {
@@ -114,14 +149,38 @@ public abstract class DataModule<S extends ModularDataService<S>> {
         }
     }
 
+    static void clearFieldData() {
+        synchronized (lock) {
+            fieldData.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
     private List<FieldData> init(Class<? extends DataModule<?>> clazz) {
+        // Prefer the codec generated by the annotation processor, if there is one.
+        Optional<DataModuleCodec<?>> codec = DataModuleCodecs.get(clazz);
+        if (codec.isPresent()) {
+            DataModuleCodec<DataModule<?>> c = (DataModuleCodec<DataModule<?>>) codec.get();
+            String[] names = c.getNames();
+            String[][] paths = c.getPaths();
+            TypeToken<?>[] types = c.getTypes();
+            List<FieldData> result = new ArrayList<>(names.length);
+            for (int i = 0; i < names.length; i++) {
+                result.add(new FieldData(paths[i], types[i], names[i], null, c, i));
+            }
+
+            return result;
+        }
+
         // Get the fields.
         List<Field> fields = Arrays.stream(clazz.getDeclaredFields())
             .filter(x -> x.isAnnotationPresent(DataKey.class))
             .collect(Collectors.toList());
 
         fields.forEach(x -> x.setAccessible(true));
-        return fields.stream().map(x -> new FieldData(x.getAnnotation(DataKey.class).value(), TypeToken.of(x.getGenericType()), x)).collect(Collectors.toList());
+        return fields.stream()
+                .map(x -> new FieldData(x.getAnnotation(DataKey.class).value(), TypeToken.of(x.getGenericType()), x.getName(), x, null, 0))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -147,12 +206,35 @@ public abstract class DataModule<S extends ModularDataService<S>> {
 
         private final String[] path;
         private final TypeToken<?> clazz;
-        private final Field field;
+        private final String name;
+        @Nullable private final Field field;
+        @Nullable private final DataModuleCodec<DataModule<?>> codec;
+        private final int index;
 
-        private FieldData(String[] path, TypeToken<?> clazz, Field field) {
+        private FieldData(String[] path, TypeToken<?> clazz, String name, @Nullable Field field, @Nullable DataModuleCodec<DataModule<?>> codec,
+                int index) {
             this.path = path;
             this.clazz = clazz;
+            this.name = name;
             this.field = field;
+            this.codec = codec;
+            this.index = index;
+        }
+
+        private Object get(DataModule<?> module) throws IllegalAccessException {
+            if (this.codec != null) {
+                return this.codec.get(module, this.index);
+            }
+
+            return this.field.get(module);
+        }
+
+        private void set(DataModule<?> module, Object value) throws IllegalAccessException {
+            if (this.codec != null) {
+                this.codec.set(module, this.index, value);
+            } else {
+                this.field.set(module, value);
+            }
         }
     }
 }
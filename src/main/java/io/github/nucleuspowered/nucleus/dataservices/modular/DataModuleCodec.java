@@ -0,0 +1,43 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.modular;
+
+import com.google.common.reflect.TypeToken;
+
+/**
+ * Reads and writes the {@link DataKey} fields of a {@link DataModule} without using reflection on each access.
+ *
+ * <p>Implementations are generated at compile time by the Nucleus annotation processor, and are found through
+ * {@link DataModuleCodecs}. Fields are referred to by their index in the arrays returned by this codec.</p>
+ *
+ * @param <M> The type of {@link DataModule}.
+ */
+public interface DataModuleCodec<M extends DataModule<?>> {
+
+    /**
+     * Gets the names of the fields, for logging purposes.
+     *
+     * @return The field names.
+     */
+    String[] getNames();
+
+    /**
+     * Gets the {@link DataKey} paths of the fields.
+     *
+     * @return The paths.
+     */
+    String[][] getPaths();
+
+    /**
+     * Gets the types of the fields.
+     *
+     * @return The {@link TypeToken}s.
+     */
+    TypeToken<?>[] getTypes();
+
+    Object get(M module, int field);
+
+    void set(M module, int field, Object value);
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.modular;
+
+import com.google.common.base.Preconditions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link DataModuleCodec}s.
+ *
+ * <p>The annotation processor generates a codec named {@code <Module>_DataModuleCodec} in the same package as each
+ * {@link DataModule} that is not private. These are found the first time a module of that type is created. Modules
+ * without a codec fall back to reflection.</p>
+ */
+public final class DataModuleCodecs {
+
+    static final String SUFFIX = "_DataModuleCodec";
+
+    private static final Map<Class<?>, Optional<DataModuleCodec<?>>> codecs = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = true;
+
+    private DataModuleCodecs() {}
+
+    /**
+     * Registers a codec for a module, replacing any generated codec.
+     *
+     * @param module The {@link DataModule} class.
+     * @param codec The {@link DataModuleCodec}.
+     * @param <M> The type of module.
+     */
+    public static <M extends DataModule<?>> void register(Class<M> module, DataModuleCodec<M> codec) {
+        Preconditions.checkNotNull(module);
+        Preconditions.checkNotNull(codec);
+        codecs.put(module, Optional.of(codec));
+    }
+
+    /**
+     * Gets the codec for a module, if there is one.
+     *
+     * @param module The {@link DataModule} class.
+     * @return The {@link DataModuleCodec}, if one exists.
+     */
+    public static Optional<DataModuleCodec<?>> get(Class<?> module) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        return codecs.computeIfAbsent(module, DataModuleCodecs::find);
+    }
+
+    /**
+     * Turns codecs on or off for modules that are created after this call. Only intended for comparing the two in
+     * benchmarks.
+     *
+     * @param enable Whether to use codecs.
+     */
+    static void setEnabled(boolean enable) {
+        enabled = enable;
+        DataModule.clearFieldData();
+    }
+
+    /**
+     * Creates a {@link MethodHandle} that gets a field of a module, for use by generated codecs. The field may be
+     * private.
+     *
+     * @param module The {@link DataModule} class.
+     * @param name The name of the field.
+     * @return A handle of type {@code (module)Object}.
+     */
+    public static MethodHandle getter(Class<?> module, String name) {
+        try {
+            return MethodHandles.lookup().unreflectGetter(getField(module, name)).asType(MethodType.methodType(Object.class, module));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not access the field " + name + " of " + module.getName(), e);
+        }
+    }
+
+    /**
+     * Creates a {@link MethodHandle} that sets a field of a module, for use by generated codecs. The field may be
+     * private.
+     *
+     * @param module The {@link DataModule} class.
+     * @param name The name of the field.
+     * @return A handle of type {@code (module, Object)void}.
+     */
+    public static MethodHandle setter(Class<?> module, String name) {
+        try {
+            return MethodHandles.lookup().unreflectSetter(getField(module, name))
+                    .asType(MethodType.methodType(void.class, module, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not access the field " + name + " of " + module.getName(), e);
+        }
+    }
+
+    private static Field getField(Class<?> module, String name) throws NoSuchFieldException {
+        Field field = module.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    private static Optional<DataModuleCodec<?>> find(Class<?> module) {
+        // Nested classes are flattened, so Outer$Inner becomes Outer_Inner_DataModuleCodec
+        String name = module.getName().replace('$', '_') + SUFFIX;
+        try {
+            Class<?> codec = Class.forName(name, true, module.getClassLoader());
+            if (DataModuleCodec.class.isAssignableFrom(codec)) {
+                return Optional.of((DataModuleCodec<?>) codec.newInstance());
+            }
+        } catch (ClassNotFoundException e) {
+            // Fall back to reflection.
+        } catch (ReflectiveOperationException | LinkageError e) {
+            e.printStackTrace();
+        }
+
+        return Optional.empty();
+    }
+}
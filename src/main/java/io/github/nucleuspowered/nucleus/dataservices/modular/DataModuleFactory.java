@@ -81,7 +81,7 @@ final class DataModuleFactory {
         user.put(IgnoreUserDataModule.class, x -> new IgnoreUserDataModule());
         user.put(JailUserDataModule.class, JailUserDataModule::new);
         user.put(KitUserDataModule.class, x -> new KitUserDataModule());
-        user.put(MailUserDataModule.class, x -> new MailUserDataModule());
+        user.put(MailUserDataModule.class, MailUserDataModule::new);
         user.put(MessageUserDataModule.class, MessageUserDataModule::new);
         user.put(InvulnerabilityUserDataModule.class, InvulnerabilityUserDataModule::new);
         user.put(MuteUserDataModule.class, x -> new MuteUserDataModule());
@@ -6,19 +6,27 @@ package io.github.nucleuspowered.nucleus.dataservices.modular;
 
 import co.aikar.timings.Timing;
 import co.aikar.timings.Timings;
-import com.google.common.collect.ImmutableMap;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.dataservices.AbstractService;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.JsonNodes;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.LazyJsonObject;
 import ninja.leaping.configurate.ConfigurationNode;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
 
 public abstract class ModularDataService<S extends ModularDataService<S>> extends AbstractService<ConfigurationNode> {
 
@@ -29,6 +37,12 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
     private final Timing loadTransientTimings = Timings.of(Nucleus.getNucleus(), "Transient Modules - Loading");
 
     private final Object lockingObject = new Object();
+    private final Object saveLockingObject = new Object();
+
+    // If the provider can give us the raw JSON, only the top level keys are read when loading. The data node only
+    // contains the keys that a module has asked for - everything else is written back untouched.
+    @Nullable private LazyJsonObject lazyData = null;
+    private final Set<String> materialised = new HashSet<>();
 
     ModularDataService(DataProvider<ConfigurationNode> dataProvider) throws Exception {
         super(dataProvider);
@@ -101,8 +115,9 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
                     }
                 }
 
+                materialise(dm.getTopLevelKeys());
                 dm.loadFrom(this.data);
-                set(dm);
+                cache(dm);
                 return dm;
             } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException | InstantiationException e) {
                 e.printStackTrace();
@@ -116,6 +131,11 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
     abstract <T extends DataModule<S>> Optional<T> tryGet(Class<T> module);
 
     public <T extends DataModule<S>> void set(T dataModule) {
+        cache(dataModule);
+        dataModule.markDirty();
+    }
+
+    private <T extends DataModule<S>> void cache(T dataModule) {
         synchronized (this.lockingObject) {
             cached.put(dataModule.getClass(), dataModule);
         }
@@ -126,23 +146,118 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
     }
 
     @Override public void loadInternal() throws Exception {
-        super.loadInternal();
+        if (!loadLazily()) {
+            super.loadInternal();
+            synchronized (this.lockingObject) {
+                this.lazyData = null;
+            }
+        }
+
         cached.clear(); // Only clear if no exception was caught.
     }
 
-    @Override public boolean save() {
+    private boolean loadLazily() {
+        if (getDataProvider() instanceof DataProvider.RawJson) {
+            try {
+                Optional<String> json = ((DataProvider.RawJson) getDataProvider()).loadJson();
+                if (json.isPresent()) {
+                    if (Nucleus.getNucleus().isPrintingSavesAndLoads()) {
+                        Nucleus.getNucleus().getLogger().info("Loading (lazily): " + serviceName());
+                    }
+
+                    LazyJsonObject object = LazyJsonObject.parse(json.get());
+                    synchronized (this.lockingObject) {
+                        this.lazyData = object;
+                        this.materialised.clear();
+                        this.data = JsonNodes.createEmptyNode();
+                    }
+
+                    return true;
+                }
+            } catch (Exception e) {
+                // The full load will try the backup, if there is one.
+                Nucleus.getNucleus().getLogger().warn("Could not read " + serviceName() + " lazily, loading the entire file instead.");
+            }
+        }
+
+        return false;
+    }
+
+    // Must hold lockingObject
+    private void materialise(Set<String> keys) {
+        if (this.lazyData == null) {
+            return;
+        }
+
+        for (String key : keys) {
+            if (!this.materialised.contains(key)) {
+                try {
+                    this.lazyData.materialise(key, this.data);
+                    this.materialised.add(key);
+                } catch (IOException e) {
+                    // Leave it unmaterialised, so that we don't lose the data on save.
+                    Nucleus.getNucleus().getLogger().error("Could not read the " + key + " section of " + serviceName(), e);
+                }
+            }
+        }
+    }
+
+    private boolean saveLazily() {
         try {
-            saveTimings.startTimingIfSync();
+            if (Nucleus.getNucleus().isPrintingSavesAndLoads()) {
+                Nucleus.getNucleus().getLogger().info("Saving (lazily): " + serviceName());
+            }
 
-            // If there is nothing in the cache, don't save (because we don't need to).
-            if (data != null && (!cached.isEmpty() || !(data.isVirtual() || data.getValue() == null))) {
-                ImmutableMap.copyOf(cached).values().forEach(x -> x.saveTo(data));
-                return super.save();
+            String json;
+            synchronized (this.lockingObject) {
+                json = this.lazyData.write(JsonNodes.write(this.data), this.materialised);
             }
 
+            ((DataProvider.RawJson) getDataProvider()).saveJson(json);
             return true;
-        } finally {
-            saveTimings.stopTimingIfSync();
+        } catch (Exception e) {
+            Nucleus.getNucleus().getLogger().error("Could not save", e);
+            return false;
+        }
+    }
+
+    @Override public boolean isDirty() {
+        synchronized (this.lockingObject) {
+            return this.cached.values().stream().anyMatch(DataModule::isDirty);
+        }
+    }
+
+    @Override public boolean save() {
+        synchronized (this.saveLockingObject) {
+            try {
+                saveTimings.startTimingIfSync();
+
+                // Only serialise the modules that have changed - if none have, we don't need to touch the file.
+                List<DataModule<S>> toSave;
+                synchronized (this.lockingObject) {
+                    toSave = this.cached.values().stream().filter(DataModule::isDirty).collect(Collectors.toList());
+                }
+
+                if (data == null || toSave.isEmpty()) {
+                    return true;
+                }
+
+                // Clear the flag before serialising, so any change made while we are writing is picked up next time.
+                toSave.forEach(x -> {
+                    x.clearDirty();
+                    x.saveTo(data);
+                });
+
+                if (this.lazyData == null ? super.save() : saveLazily()) {
+                    return true;
+                }
+
+                // The write failed, so make sure it gets attempted again.
+                toSave.forEach(DataModule::markDirty);
+                return false;
+            } finally {
+                saveTimings.stopTimingIfSync();
+            }
         }
     }
 }
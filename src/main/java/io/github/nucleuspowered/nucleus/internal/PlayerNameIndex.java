@@ -0,0 +1,133 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.spongepowered.api.profile.GameProfile;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the name and nickname of every known user in sorted maps, so that the users whose names start with what has
+ * been typed so far can be found without going through every user the server knows about.
+ *
+ * <p>The names are filled in from the server's profile cache at startup, and kept up to date as players log in and
+ * nicknames are changed. Lookups do not lock, and may run on any thread.</p>
+ */
+public class PlayerNameIndex {
+
+    // Guards changes to the maps below, so that the forward and reverse maps stay in step.
+    private final Object lock = new Object();
+
+    private final NavigableMap<String, Set<UUID>> names = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Set<UUID>> nicknames = new ConcurrentSkipListMap<>();
+    private final Map<UUID, String> nameOf = Maps.newConcurrentMap();
+    private final Map<UUID, String> nicknameOf = Maps.newConcurrentMap();
+
+    /**
+     * Adds the name of each profile that has one.
+     *
+     * @param profiles The profiles to add.
+     */
+    public void addAll(Collection<GameProfile> profiles) {
+        profiles.forEach(x -> x.getName().ifPresent(y -> setName(x.getUniqueId(), y)));
+    }
+
+    public void setName(UUID uuid, String name) {
+        set(this.names, this.nameOf, uuid, name);
+    }
+
+    /**
+     * Sets the nickname of a user, which should have any formatting removed.
+     *
+     * @param uuid The {@link UUID} of the user.
+     * @param nickname The nickname, or <code>null</code> if the user no longer has one.
+     */
+    public void setNickname(UUID uuid, @Nullable String nickname) {
+        set(this.nicknames, this.nicknameOf, uuid, nickname);
+    }
+
+    public Optional<String> getName(UUID uuid) {
+        return Optional.ofNullable(this.nameOf.get(uuid));
+    }
+
+    public Optional<String> getNickname(UUID uuid) {
+        return Optional.ofNullable(this.nicknameOf.get(uuid));
+    }
+
+    /**
+     * Gets the users whose names start with the given text, ignoring case.
+     *
+     * @param prefix The start of the name.
+     * @return The {@link UUID}s of the users, in name order.
+     */
+    public List<UUID> getNameMatches(String prefix) {
+        return getMatches(this.names, prefix);
+    }
+
+    /**
+     * Gets the users whose nicknames start with the given text, ignoring case.
+     *
+     * @param prefix The start of the nickname.
+     * @return The {@link UUID}s of the users, in nickname order.
+     */
+    public List<UUID> getNicknameMatches(String prefix) {
+        return getMatches(this.nicknames, prefix);
+    }
+
+    /**
+     * Gets the users who have the given nickname, ignoring case.
+     *
+     * @param nickname The nickname.
+     * @return The {@link UUID}s of the users.
+     */
+    public List<UUID> getExactNicknameMatches(String nickname) {
+        Set<UUID> uuids = this.nicknames.get(nickname.toLowerCase());
+        return uuids == null ? Lists.newArrayList() : Lists.newArrayList(uuids);
+    }
+
+    public int getNameCount() {
+        return this.nameOf.size();
+    }
+
+    public int getNicknameCount() {
+        return this.nicknameOf.size();
+    }
+
+    private void set(NavigableMap<String, Set<UUID>> index, Map<UUID, String> reverse, UUID uuid, @Nullable String name) {
+        synchronized (this.lock) {
+            String previous = name == null ? reverse.remove(uuid) : reverse.put(uuid, name);
+            if (previous != null) {
+                String key = previous.toLowerCase();
+                Set<UUID> uuids = index.get(key);
+                if (uuids != null && uuids.remove(uuid) && uuids.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+
+            if (name != null) {
+                index.computeIfAbsent(name.toLowerCase(), k -> Sets.newConcurrentHashSet()).add(uuid);
+            }
+        }
+    }
+
+    private static List<UUID> getMatches(NavigableMap<String, Set<UUID>> index, String prefix) {
+        String from = prefix.toLowerCase();
+        List<UUID> result = Lists.newArrayList();
+        index.subMap(from, true, from + Character.MAX_VALUE, false).values().forEach(result::addAll);
+        return result;
+    }
+}
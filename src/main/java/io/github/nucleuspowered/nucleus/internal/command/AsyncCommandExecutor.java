@@ -0,0 +1,238 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.command;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
+import io.github.nucleuspowered.nucleus.modules.core.CoreModule;
+import io.github.nucleuspowered.nucleus.modules.core.config.AsyncCommandConfig;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs {@link RunAsync} commands on threads that belong to Nucleus, so that a burst of them cannot hold up the async
+ * tasks of other plugins.
+ *
+ * <p>Commands are refused when each thread is busy and the queue is full, or when the same command is already running
+ * or waiting to run too many times. The time that each command waits for a thread and then takes to run is recorded.
+ * </p>
+ */
+public class AsyncCommandExecutor {
+
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss");
+
+    private final NucleusPlugin plugin;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CommandStats> stats = Maps.newConcurrentMap();
+
+    // Commands that have been accepted and have not finished.
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile AsyncCommandConfig config = new AsyncCommandConfig();
+
+    public AsyncCommandExecutor(NucleusPlugin plugin) {
+        this.plugin = plugin;
+        this.executor = new ThreadPoolExecutor(this.config.getThreads(), this.config.getThreads(), 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new ThreadFactoryBuilder().setNameFormat("Nucleus Async Command Thread #%d").setDaemon(true).build());
+        plugin.registerReloadable(this::onReload);
+    }
+
+    /**
+     * Runs a command on a Nucleus thread, unless it is refused.
+     *
+     * @param command The command, as its config section.
+     * @param runnable The command to run.
+     * @return <code>false</code> if the command was refused and won't run.
+     */
+    public boolean execute(String command, Runnable runnable) {
+        CommandStats commandStats = this.stats.computeIfAbsent(command, k -> new CommandStats());
+        AsyncCommandConfig c = this.config;
+        if (commandStats.inFlight.incrementAndGet() > c.getMaxPerCommand()) {
+            commandStats.inFlight.decrementAndGet();
+            commandStats.rejected.increment();
+            return false;
+        }
+
+        if (this.pending.incrementAndGet() > c.getThreads() + c.getQueueSize()) {
+            reject(commandStats);
+            return false;
+        }
+
+        long submitted = System.nanoTime();
+        try {
+            this.executor.execute(() -> {
+                long start = System.nanoTime();
+                commandStats.queueWait.record(start - submitted);
+                try {
+                    runnable.run();
+                } finally {
+                    commandStats.run.record(System.nanoTime() - start);
+                    commandStats.inFlight.decrementAndGet();
+                    this.pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The executor has been shut down.
+            reject(commandStats);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the recorded statistics for each command that has been run.
+     *
+     * @return The statistics, by command.
+     */
+    public Map<String, CommandStats> getStats() {
+        return ImmutableSortedMap.copyOf(this.stats);
+    }
+
+    public void resetStats() {
+        this.stats.values().forEach(CommandStats::reset);
+    }
+
+    /**
+     * Writes the recorded statistics for each command to a new file in the given directory, in CSV format.
+     *
+     * @param directory The directory to write the file in.
+     * @return The file that was written.
+     * @throws IOException if the file could not be written.
+     */
+    public Path dumpStats(Path directory) throws IOException {
+        List<String> lines = Lists.newArrayList(
+                "command,completed,rejected,in-flight,mean-wait-ms,max-wait-ms,mean-run-ms,max-run-ms");
+        getStats().forEach((command, s) -> lines.add(String.join(",", command, String.valueOf(s.getCompleted()),
+                String.valueOf(s.getRejected()), String.valueOf(s.getInFlight()), toMillis(s.getMeanQueueWait()),
+                toMillis(s.getMaxQueueWait()), toMillis(s.getMeanRunTime()), toMillis(s.getMaxRunTime()))));
+
+        Files.createDirectories(directory);
+        Path file = directory.resolve("async-commands-" + LocalDateTime.now().format(FILE_NAME_FORMAT) + ".csv");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    public int getPendingCount() {
+        return this.pending.get();
+    }
+
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    private void reject(CommandStats commandStats) {
+        this.pending.decrementAndGet();
+        commandStats.inFlight.decrementAndGet();
+        commandStats.rejected.increment();
+    }
+
+    private void onReload() {
+        AsyncCommandConfig c = this.plugin.getConfigValue(CoreModule.ID, CoreConfigAdapter.class, CoreConfig::getAsyncCommandConfig)
+                .orElseGet(AsyncCommandConfig::new);
+        this.config = c;
+
+        // The maximum has to be raised first, and lowered last.
+        if (c.getThreads() > this.executor.getMaximumPoolSize()) {
+            this.executor.setMaximumPoolSize(c.getThreads());
+            this.executor.setCorePoolSize(c.getThreads());
+        } else {
+            this.executor.setCorePoolSize(c.getThreads());
+            this.executor.setMaximumPoolSize(c.getThreads());
+        }
+    }
+
+    public static String toMillis(long nanos) {
+        return String.format("%.2f", nanos / 1000000.0);
+    }
+
+    public static final class CommandStats {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder rejected = new LongAdder();
+        private final Timing queueWait = new Timing();
+        private final Timing run = new Timing();
+
+        private CommandStats() {}
+
+        public int getInFlight() {
+            return this.inFlight.get();
+        }
+
+        public long getRejected() {
+            return this.rejected.sum();
+        }
+
+        public long getCompleted() {
+            return this.run.count.sum();
+        }
+
+        public long getMeanQueueWait() {
+            return this.queueWait.mean();
+        }
+
+        public long getMaxQueueWait() {
+            return this.queueWait.max.get();
+        }
+
+        public long getMeanRunTime() {
+            return this.run.mean();
+        }
+
+        public long getMaxRunTime() {
+            return this.run.max.get();
+        }
+
+        private void reset() {
+            this.rejected.reset();
+            this.queueWait.reset();
+            this.run.reset();
+        }
+    }
+
+    private static final class Timing {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private void record(long nanos) {
+            this.count.increment();
+            this.total.add(nanos);
+            this.max.accumulateAndGet(nanos, Math::max);
+        }
+
+        private long mean() {
+            long c = this.count.sum();
+            return c == 0 ? 0 : this.total.sum() / c;
+        }
+
+        private void reset() {
+            this.count.reset();
+            this.total.reset();
+            this.max.set(0);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.command;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records how long each phase of each Nucleus command takes, while profiling is turned on with /nucleus profile.
+ *
+ * <p>When profiling is off, {@link #start()} returns 0 and {@link #lap(String, Phase, long)} does nothing with it, so
+ * all that a command does is read one field.</p>
+ */
+public final class CommandProfiler {
+
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss");
+    private static final double[] PERCENTILES = { 50, 95, 99 };
+
+    private static final Map<String, Map<Phase, LatencyHistogram>> histograms = Maps.newConcurrentMap();
+    private static volatile boolean enabled = false;
+
+    private CommandProfiler() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        CommandProfiler.enabled = enabled;
+    }
+
+    /**
+     * Gets the time to time a phase from.
+     *
+     * @return The current {@link System#nanoTime()}, or 0 if profiling is off.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since the start of a phase, if it was started while profiling was on.
+     *
+     * @param command The command, as its command path.
+     * @param phase The {@link Phase} that has finished.
+     * @param start The value of {@link #start()} when the phase began.
+     * @return The time to time the next phase from, or 0 if profiling is off.
+     */
+    public static long lap(String command, Phase phase, long start) {
+        if (start == 0) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        histograms.computeIfAbsent(command, k -> createHistograms()).get(phase).record(now - start);
+        return enabled ? now : 0;
+    }
+
+    /**
+     * Gets the histograms of each command that has been profiled, by command path and then by phase.
+     *
+     * @return The histograms.
+     */
+    public static Map<String, Map<Phase, LatencyHistogram>> getHistograms() {
+        return ImmutableSortedMap.copyOf(histograms);
+    }
+
+    public static void reset() {
+        histograms.clear();
+    }
+
+    /**
+     * Writes the percentiles of each command and phase to a new file in the given directory, in CSV format.
+     *
+     * @param directory The directory to write the file in.
+     * @return The file that was written.
+     * @throws IOException if the file could not be written.
+     */
+    public static Path dump(Path directory) throws IOException {
+        List<String> lines = Lists.newArrayList("command,phase,count,p50-ms,p95-ms,p99-ms,max-ms");
+        getHistograms().forEach((command, phases) -> phases.forEach((phase, histogram) -> {
+            if (histogram.getCount() > 0) {
+                StringBuilder sb = new StringBuilder(command).append(',').append(phase.name().toLowerCase()).append(',')
+                        .append(histogram.getCount());
+                for (double p : PERCENTILES) {
+                    sb.append(',').append(toMillis(histogram.getValueAtPercentile(p)));
+                }
+
+                lines.add(sb.append(',').append(toMillis(histogram.getMax())).toString());
+            }
+        }));
+
+        Files.createDirectories(directory);
+        Path file = directory.resolve("command-profile-" + LocalDateTime.now().format(FILE_NAME_FORMAT) + ".csv");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    public static String toMillis(long nanos) {
+        return String.format("%.3f", nanos / 1000000.0);
+    }
+
+    private static Map<Phase, LatencyHistogram> createHistograms() {
+        Map<Phase, LatencyHistogram> map = Maps.newEnumMap(Phase.class);
+        for (Phase phase : Phase.values()) {
+            map.put(phase, new LatencyHistogram());
+        }
+
+        return map;
+    }
+
+    public enum Phase {
+
+        /**
+         * Checking the source type and the base permission of the command.
+         */
+        PERMISSIONS,
+
+        /**
+         * Parsing the arguments.
+         */
+        ARGUMENTS,
+
+        /**
+         * Checking and applying cooldowns, costs and warmups.
+         */
+        MODIFIERS,
+
+        /**
+         * Running the command itself.
+         */
+        EXECUTE
+    }
+}
@@ -103,8 +103,6 @@ public abstract class StandardAbstractCommand<T extends CommandSource> implement
     // Null until set, then should be considered immutable.
     @Nullable private Set<Class<? extends StandardAbstractCommand<?>>> moduleCommands = null;
 
-    private final Map<UUID, Instant> cooldownStore = Maps.newHashMap();
-
     protected final CommandPermissionHandler permissions;
     protected final String[] aliases;
     private final String[] forcedAliases;
@@ -329,6 +327,7 @@ public abstract class StandardAbstractCommand<T extends CommandSource> implement
 
         CommandContext context;
         SubjectPermissionCache<T> sourceSubjectPermissionCache;
+        long profileTime;
 
         try {
             // If we have a child command to execute, then we execute it.
@@ -354,6 +353,8 @@ public abstract class StandardAbstractCommand<T extends CommandSource> implement
                 }
             }
 
+            profileTime = CommandProfiler.start();
+
             // Phase one: test for what is required
             if (requiresEconomy && !plugin.getEconHelper().economyServiceExists()) {
                 source.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("command.economyrequired"));
@@ -368,6 +369,7 @@ public abstract class StandardAbstractCommand<T extends CommandSource> implement
                 throw new CommandPermissionException();
             }
 
+            profileTime = CommandProfiler.lap(this.commandPath, CommandProfiler.Phase.PERMISSIONS, profileTime);
             if (!this.hasExecutor) {
                 if (thrown.isEmpty()) {
                     // OK, we just process the usage command instead.
@@ -390,6 +392,8 @@ public abstract class StandardAbstractCommand<T extends CommandSource> implement
                     true)));
                 throw new NucleusCommandException(thrown);
             }
+
+            profileTime = CommandProfiler.lap(this.commandPath, CommandProfiler.Phase.ARGUMENTS, profileTime);
         } catch (NucleusCommandException nce) {
             throw nce;
         } catch (ArgumentParseException ape) {
@@ -422,32 +426,50 @@ public abstract class StandardAbstractCommand<T extends CommandSource> implement
         try {
             commandTimings.startTimingIfSync();
             ContinueMode mode = preProcessChecks(sourceSubjectPermissionCache, context);
+            if (mode.cont && sourceSubjectPermissionCache.getSubject() instanceof Player) {
+                @SuppressWarnings("unchecked")
+                SubjectPermissionCache<Player> playerPermissionCache = (SubjectPermissionCache<Player>) sourceSubjectPermissionCache;
+                mode = runChecks(playerPermissionCache, context);
+            }
+
+            CommandProfiler.lap(this.commandPath, CommandProfiler.Phase.MODIFIERS, profileTime);
             if (!mode.cont) {
                 return mode.returnType;
             }
 
-            if (sourceSubjectPermissionCache.getSubject() instanceof Player) {
-                @SuppressWarnings("unchecked")
-                ContinueMode cm = runChecks((SubjectPermissionCache<Player>) sourceSubjectPermissionCache, context);
+            return executeOrSubmit(sourceSubjectPermissionCache, context);
+        } finally {
+            commandTimings.stopTimingIfSync();
+        }
+    }
 
-                if (!cm.cont) {
-                    return cm.returnType;
-                }
+    private CommandResult executeOrSubmit(SubjectPermissionCache<T> sourceSubjectPermissionCache, CommandContext context) {
+        // If we're running async...
+        if (isAsync) {
+            // Hand the command to the Nucleus async executor.
+            plugin.getLogger().debug("Running " + this.getClass().getName() + " in async mode.");
+            AsyncCommandExecutor executor = plugin.getInternalServiceManager().getService(AsyncCommandExecutor.class)
+                    .orElseThrow(() -> new IllegalStateException("The async command executor is not registered."));
+            if (!executor.execute(configSection, () -> onExecute(sourceSubjectPermissionCache, context))) {
+                onAsyncRejected(sourceSubjectPermissionCache, context);
+                return CommandResult.empty();
             }
 
-            // If we're running async...
-            if (isAsync) {
-                // Create an executor that runs the command async.
-                plugin.getLogger().debug("Running " + this.getClass().getName() + " in async mode.");
-                Sponge.getScheduler().createAsyncExecutor(plugin).execute(() -> onExecute(sourceSubjectPermissionCache, context));
+            // Tell Sponge we're done.
+            return CommandResult.success();
+        }
 
-                // Tell Sponge we're done.
-                return CommandResult.success();
-            }
+        return onExecute(sourceSubjectPermissionCache, context);
+    }
 
-            return onExecute(sourceSubjectPermissionCache, context);
-        } finally {
-            commandTimings.stopTimingIfSync();
+    private void onAsyncRejected(SubjectPermissionCache<T> src, CommandContext args) {
+        src.getSubject().sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.async.busy"));
+        if (src.getSubject() instanceof Player) {
+            // The command never ran, so give back anything that it cost.
+            double cost = getCost(src, args);
+            if (cost > 0) {
+                plugin.getEconHelper().depositInPlayer((Player) src.getSubject(), cost);
+            }
         }
     }
 
@@ -492,7 +514,12 @@ public abstract class StandardAbstractCommand<T extends CommandSource> implement
             }
 
             // Execute the command in the specific executor.
-            cr = executeCommand(src, args);
+            long profileTime = CommandProfiler.start();
+            try {
+                cr = executeCommand(src, args);
+            } finally {
+                CommandProfiler.lap(this.commandPath, CommandProfiler.Phase.EXECUTE, profileTime);
+            }
 
             isSuccess = cr.getSuccessCount().orElse(0) > 0 ;
             if (args.hasAny(NucleusProcessing.SUCCESS_KEY)) {
@@ -1059,15 +1086,10 @@ public abstract class StandardAbstractCommand<T extends CommandSource> implement
                     public void accept(Task task) {
                         src.getSubject().sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("warmup.end"));
                         plugin.getWarmupManager().removeWarmup(src.getSubject().getUniqueId());
-                        onExecute((SubjectPermissionCache<T>)src, args);
+                        executeOrSubmit((SubjectPermissionCache<T>)src, args);
                     }
                 }).name("Command Warmup - " + src.getSubject().getName());
 
-        // Run an async command async, of course!
-        if (isAsync) {
-            tb.async();
-        }
-
         // Add the warmup to the service so we can cancel it if we need to.
         plugin.getWarmupManager().addWarmup(src.getSubject().getUniqueId(), tb.submit(plugin));
 
@@ -1092,18 +1114,15 @@ public abstract class StandardAbstractCommand<T extends CommandSource> implement
     // Cooldowns
     // -------------------------------------
     private ContinueMode checkCooldown(SubjectPermissionCache<Player> src, CommandContext args) {
-        // Remove any expired cooldowns.
-        cleanCooldowns();
-
-        // If they are still in there, then tell them they are still cooling
-        // down.
-        if (!bypassCooldown && !args.hasAny(NoModifiersArgument.NO_COOLDOWN_ARGUMENT) &&
-            !permissions.testCooldownExempt(src) && cooldownStore.containsKey(src.getSubject().getUniqueId())) {
-
-            Instant l = cooldownStore.get(src.getSubject().getUniqueId());
-            src.getSubject().sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("cooldown.message",
-                    Util.getTimeStringFromSeconds(l.until(Instant.now(), ChronoUnit.SECONDS))));
-            return ContinueMode.STOP;
+        // If they have a cooldown that hasn't ended, then tell them they are
+        // still cooling down.
+        if (!bypassCooldown && !args.hasAny(NoModifiersArgument.NO_COOLDOWN_ARGUMENT) && !permissions.testCooldownExempt(src)) {
+            Optional<Instant> l = plugin.getCooldownService().getCooldownEnd(src.getSubject().getUniqueId(), configSection);
+            if (l.isPresent()) {
+                src.getSubject().sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("cooldown.message",
+                        Util.getTimeStringFromSeconds(Instant.now().until(l.get(), ChronoUnit.SECONDS))));
+                return ContinueMode.STOP;
+            }
         }
 
         return ContinueMode.CONTINUE;
@@ -1117,18 +1136,14 @@ public abstract class StandardAbstractCommand<T extends CommandSource> implement
             if (cooldownTime > 0) {
                 // If there is a cooldown, add the cooldown to the list, with
                 // the end time as an Instant.
-                cooldownStore.put(src.getSubject().getUniqueId(), Instant.now().plus(cooldownTime, ChronoUnit.SECONDS));
+                plugin.getCooldownService().setCooldown(src.getSubject().getUniqueId(), configSection,
+                        Instant.now().plus(cooldownTime, ChronoUnit.SECONDS));
             }
         }
     }
 
     protected void removeCooldown(UUID uuid) {
-        cooldownStore.remove(uuid);
-    }
-
-    private void cleanCooldowns() {
-        // If the cooldown end is in the past, remove it.
-        cooldownStore.entrySet().removeIf(k -> k.getValue().isBefore(Instant.now()));
+        plugin.getCooldownService().removeCooldown(uuid, configSection);
     }
 
     // -------------------------------------
@@ -37,5 +37,6 @@ public class ConfigMessageProvider extends ResourceMessageProvider {
 
     public void reset(List<String> keys) throws IOException, ObjectMappingException {
         mc.fixMistmatched(keys);
+        invalidate();
     }
 }
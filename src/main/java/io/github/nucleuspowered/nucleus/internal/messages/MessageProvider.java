@@ -15,23 +15,31 @@ import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+/**
+ * Provides the messages that Nucleus sends.
+ *
+ * <p>Each message is parsed the first time it is requested, and the parsed {@link MessageFormat} and
+ * {@link TextTemplate} are kept for the life of the provider, or until {@link #invalidate()} is called. This is safe
+ * to use from any thread. When the messages are reloaded, a new provider is created.</p>
+ */
 public abstract class MessageProvider {
 
+    private static final Pattern argumentPattern = Pattern.compile("\\{([\\d]+)}");
+
     public abstract Optional<String> getMessageFromKey(String key);
-    private final Map<String, TextTemplate> textTemplateMap = Maps.newHashMap();
+
+    // Replaced as a whole, so that a message is never read from a partly cleared catalogue.
+    private volatile Catalogue catalogue = new Catalogue();
 
     public String getMessageWithFormat(String key, String... substitutions) {
-        try {
-            return MessageFormat.format(getMessageFromKey(key).get(), (Object[]) substitutions);
-        } catch (NoSuchElementException e) {
-            throw new IllegalArgumentException("The message key " + key + " does not exist!");
-        }
+        return this.catalogue.formatMap.computeIfAbsent(key, this::createFormat).format(substitutions);
     }
 
     public final Text getTextMessageWithFormat(String key, String... substitutions) {
@@ -43,7 +51,7 @@ public abstract class MessageProvider {
     }
 
     public final Text getTextMessageWithTextFormat(String key, List<Text> textList) {
-        TextTemplate template = textTemplateMap.computeIfAbsent(key, k -> templateCreator(getMessageWithFormat(k)));
+        TextTemplate template = this.catalogue.textTemplateMap.computeIfAbsent(key, k -> templateCreator(getMessageWithFormat(k)));
         if (textList.isEmpty()) {
             return template.toText();
         }
@@ -56,16 +64,28 @@ public abstract class MessageProvider {
         return template.apply(objs).build();
     }
 
+    /**
+     * Discards the parsed messages, so that they are read again from {@link #getMessageFromKey(String)}.
+     */
+    protected final void invalidate() {
+        this.catalogue = new Catalogue();
+    }
+
+    private CompiledFormat createFormat(String key) {
+        String message = getMessageFromKey(key).orElseThrow(() -> new IllegalArgumentException("The message key " + key + " does not exist!"));
+        return new CompiledFormat(new MessageFormat(message));
+    }
+
     private TextTemplate templateCreator(String string) {
         // regex!
-        Matcher mat = Pattern.compile("\\{([\\d]+)}").matcher(string);
+        Matcher mat = argumentPattern.matcher(string);
         List<Integer> map = Lists.newArrayList();
 
         while (mat.find()) {
             map.add(Integer.parseInt(mat.group(1)));
         }
 
-        String[] s = string.split("\\{([\\d]+)}");
+        String[] s = argumentPattern.split(string);
 
         List<Object> objects = Lists.newArrayList();
         Text t = TextSerializers.FORMATTING_CODE.deserialize(s[0]);
@@ -85,4 +105,32 @@ public abstract class MessageProvider {
 
         return TextTemplate.of((Object[])objects.toArray(new Object[objects.size()]));
     }
+
+    private static final class Catalogue {
+
+        private final Map<String, CompiledFormat> formatMap = new ConcurrentHashMap<>();
+        private final Map<String, TextTemplate> textTemplateMap = new ConcurrentHashMap<>();
+    }
+
+    private static final class CompiledFormat {
+
+        private final MessageFormat format;
+
+        // Formatting only reads a MessageFormat, unless it has formats for its arguments (such as {0,number}), which
+        // may keep state while formatting. Those are copied for each use.
+        private final boolean shared;
+
+        private CompiledFormat(MessageFormat format) {
+            this.format = format;
+            this.shared = Arrays.stream(format.getFormats()).allMatch(Objects::isNull);
+        }
+
+        private String format(String[] substitutions) {
+            if (this.shared) {
+                return this.format.format(substitutions);
+            }
+
+            return ((MessageFormat) this.format.clone()).format(substitutions);
+        }
+    }
 }
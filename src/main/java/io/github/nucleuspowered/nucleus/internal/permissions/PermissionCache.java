@@ -0,0 +1,256 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.permissions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.service.permission.Subject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caches the permission checks and options of online players that Nucleus makes on every chat message, teleport and
+ * connection, so that they are not asked of the permission plugin each time.
+ *
+ * <p>Each player has their own results, kept by permission or option and the contexts they were checked in, so that
+ * they can be dropped together. Checks in a player's active contexts are keyed on the contexts the player has at the
+ * time, so a change of context, such as being muted, is seen straight away. A player's results are removed when they
+ * log in or out, change world, or are muted or unmuted, and all results are removed on reload. As there is no event
+ * for permission changes, results are otherwise kept for {@link #EXPIRY_SECONDS} seconds. Subjects that are not online
+ * players are always asked directly.</p>
+ *
+ * <p>Other caches of what has been worked out from a player's permissions and options should expire after the same
+ * time, and can be told when a player's results are removed with {@link #addInvalidationListener(Consumer)}.</p>
+ */
+public class PermissionCache {
+
+    /**
+     * How long anything worked out from the permissions or options of a player is kept for, in seconds. There is no
+     * event for permission changes, so this is how long a change can take to be seen.
+     */
+    public static final long EXPIRY_SECONDS = 30;
+
+    /**
+     * {@link #EXPIRY_SECONDS}, in nanoseconds.
+     */
+    public static final long EXPIRY_NANOS = TimeUnit.SECONDS.toNanos(EXPIRY_SECONDS);
+
+    private static final long MAXIMUM_SIZE_PER_PLAYER = 1000;
+    private static final CacheStats NO_STATS = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    private final Map<UUID, PlayerResults> players = Maps.newConcurrentMap();
+    private final List<Consumer<UUID>> invalidationListeners = Lists.newCopyOnWriteArrayList();
+
+    // The stats of results that have been removed, so that they are still counted.
+    private final Object statsLock = new Object();
+    private CacheStats removedPermissionStats = NO_STATS;
+    private CacheStats removedOptionStats = NO_STATS;
+
+    /**
+     * Returns whether a {@link Subject} has a permission in their active contexts.
+     *
+     * @param subject The {@link Subject} to check.
+     * @param permission The permission.
+     * @return <code>true</code> if they have the permission.
+     */
+    public boolean hasPermission(Subject subject, String permission) {
+        if (subject instanceof Player) {
+            Set<Context> contexts = ImmutableSet.copyOf(subject.getActiveContexts());
+            return get(getResults((Player) subject).permissions, new Key(contexts, permission),
+                    () -> subject.hasPermission(contexts, permission));
+        }
+
+        return subject.hasPermission(permission);
+    }
+
+    /**
+     * Returns whether a {@link Subject} has a permission in the given contexts.
+     *
+     * @param subject The {@link Subject} to check.
+     * @param contexts The {@link Context}s to check the permission in.
+     * @param permission The permission.
+     * @return <code>true</code> if they have the permission.
+     */
+    public boolean hasPermission(Subject subject, Set<Context> contexts, String permission) {
+        if (subject instanceof Player) {
+            return get(getResults((Player) subject).permissions, new Key(ImmutableSet.copyOf(contexts), permission),
+                    () -> subject.hasPermission(contexts, permission));
+        }
+
+        return subject.hasPermission(contexts, permission);
+    }
+
+    /**
+     * Gets an option of a {@link Subject} in their active contexts.
+     *
+     * @param subject The {@link Subject} to get the option of.
+     * @param option The option key.
+     * @return The value of the option, if there is one.
+     */
+    public Optional<String> getOption(Subject subject, String option) {
+        if (subject instanceof Player) {
+            Set<Context> contexts = ImmutableSet.copyOf(subject.getActiveContexts());
+            return get(getResults((Player) subject).options, new Key(contexts, option), () -> subject.getOption(contexts, option));
+        }
+
+        return subject.getOption(option);
+    }
+
+    /**
+     * Gets an option of a {@link Subject} in the given contexts.
+     *
+     * @param subject The {@link Subject} to get the option of.
+     * @param contexts The {@link Context}s to get the option in.
+     * @param option The option key.
+     * @return The value of the option, if there is one.
+     */
+    public Optional<String> getOption(Subject subject, Set<Context> contexts, String option) {
+        if (subject instanceof Player) {
+            return get(getResults((Player) subject).options, new Key(ImmutableSet.copyOf(contexts), option),
+                    () -> subject.getOption(contexts, option));
+        }
+
+        return subject.getOption(contexts, option);
+    }
+
+    /**
+     * Adds a listener that is told the {@link UUID} of a player whenever their results are removed by
+     * {@link #invalidate(UUID)}, so that anything worked out from them can be removed too.
+     *
+     * @param listener The listener.
+     */
+    public void addInvalidationListener(Consumer<UUID> listener) {
+        this.invalidationListeners.add(listener);
+    }
+
+    /**
+     * Removes the cached permissions and options of a player, and tells the invalidation listeners.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void invalidate(UUID uuid) {
+        PlayerResults results = this.players.remove(uuid);
+        if (results != null) {
+            retire(results);
+        }
+
+        this.invalidationListeners.forEach(x -> x.accept(uuid));
+    }
+
+    /**
+     * Removes all cached permissions and options.
+     */
+    public void invalidateAll() {
+        this.players.keySet().forEach(x -> {
+            PlayerResults results = this.players.remove(x);
+            if (results != null) {
+                retire(results);
+            }
+        });
+    }
+
+    public CacheStats getPermissionStats() {
+        return getStats(() -> this.removedPermissionStats, x -> x.permissions);
+    }
+
+    public CacheStats getOptionStats() {
+        return getStats(() -> this.removedOptionStats, x -> x.options);
+    }
+
+    public long getCachedCount() {
+        return this.players.values().stream().mapToLong(x -> x.permissions.size() + x.options.size()).sum();
+    }
+
+    private PlayerResults getResults(Player player) {
+        return this.players.computeIfAbsent(player.getUniqueId(), k -> new PlayerResults());
+    }
+
+    private void retire(PlayerResults results) {
+        synchronized (this.statsLock) {
+            this.removedPermissionStats = this.removedPermissionStats.plus(results.permissions.stats());
+            this.removedOptionStats = this.removedOptionStats.plus(results.options.stats());
+        }
+    }
+
+    private CacheStats getStats(Supplier<CacheStats> removed, Function<PlayerResults, Cache<Key, ?>> cache) {
+        CacheStats stats;
+        synchronized (this.statsLock) {
+            stats = removed.get();
+        }
+
+        for (PlayerResults results : this.players.values()) {
+            stats = stats.plus(cache.apply(results).stats());
+        }
+
+        return stats;
+    }
+
+    private static <V> V get(Cache<Key, V> cache, Key key, Callable<V> loader) {
+        try {
+            return cache.get(key, loader);
+        } catch (ExecutionException e) {
+            // The loaders only call Subject methods, which don't throw checked exceptions.
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static <V> Cache<Key, V> newCache() {
+        return CacheBuilder.newBuilder().expireAfterWrite(EXPIRY_SECONDS, TimeUnit.SECONDS).maximumSize(MAXIMUM_SIZE_PER_PLAYER)
+                .recordStats().build();
+    }
+
+    private static final class PlayerResults {
+
+        private final Cache<Key, Boolean> permissions = newCache();
+        private final Cache<Key, Optional<String>> options = newCache();
+    }
+
+    private static final class Key {
+
+        private final Set<Context> contexts;
+        private final String name;
+        private final int hashCode;
+
+        private Key(Set<Context> contexts, String name) {
+            this.contexts = contexts;
+            this.name = name;
+            this.hashCode = Objects.hash(contexts, name);
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return this.contexts.equals(key.contexts) && this.name.equals(key.name);
+        }
+
+        @Override public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
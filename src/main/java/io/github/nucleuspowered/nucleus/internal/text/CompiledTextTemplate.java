@@ -0,0 +1,158 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.text;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.TextRepresentable;
+import org.spongepowered.api.text.TextTemplate;
+import org.spongepowered.api.text.format.TextFormat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link TextTemplate} flattened into the order its parts are rendered in, so that rendering it only has to evaluate
+ * the tokens. Literal parts are converted to {@link Text} once, and each token knows up front whether the template
+ * supplies it, so no maps are built when rendering. Other tokens are split into a {@link TokenKey} when the template is
+ * compiled.
+ *
+ * <p>The output matches {@link TextTemplate#apply(Map)}: the first part that renders becomes the root of the
+ * {@link Text}, and the rest are appended to it.</p>
+ */
+final class CompiledTextTemplate {
+
+    private final Object[] segments;
+
+    // The whole template, if it contains no tokens.
+    @Nullable private final Text constant;
+
+    CompiledTextTemplate(TextTemplate template, Map<String, Function<CommandSource, Text>> templateTokens) {
+        List<Object> elements = template.getElements();
+        this.segments = new Object[elements.size()];
+        boolean hasTokens = false;
+        for (int i = 0; i < this.segments.length; i++) {
+            Object element = elements.get(i);
+            if (element instanceof TextTemplate.Arg) {
+                TextTemplate.Arg arg = (TextTemplate.Arg) element;
+                String key = arg.getName().toLowerCase();
+                this.segments[i] = new Slot(key, templateTokens.get(key), arg.getFormat());
+                hasTokens = true;
+            } else if (element instanceof TextRepresentable) {
+                this.segments[i] = ((TextRepresentable) element).toText();
+            } else {
+                this.segments[i] = Text.of(element);
+            }
+        }
+
+        this.constant = hasTokens ? null : render(null, null, null);
+    }
+
+    /**
+     * Gets how much of the source that this template is rendered for affects the result.
+     *
+     * @param sharedTokens The tokens that will be supplied when rendering, none of which depend on the source.
+     * @return The {@link ReceiverScope}.
+     */
+    ReceiverScope getReceiverScope(Set<String> sharedTokens) {
+        ReceiverScope scope = ReceiverScope.NONE;
+        for (Object segment : this.segments) {
+            if (segment instanceof Slot) {
+                scope = scope.widen(((Slot) segment).getReceiverScope(sharedTokens));
+                if (scope == ReceiverScope.RECEIVER) {
+                    return scope;
+                }
+            }
+        }
+
+        return scope;
+    }
+
+    Text render(@Nullable CommandSource source, @Nullable Map<String, Function<CommandSource, Optional<Text>>> tokens,
+            @Nullable Map<String, Object> variables) {
+        if (this.constant != null) {
+            return this.constant;
+        }
+
+        Text.Builder builder = null;
+        for (Object segment : this.segments) {
+            Text text = segment instanceof Slot ? ((Slot) segment).render(source, tokens, variables) : (Text) segment;
+            if (text != null) {
+                if (builder == null) {
+                    builder = text.toBuilder();
+                } else {
+                    builder.append(text);
+                }
+            }
+        }
+
+        return builder == null ? Text.EMPTY : builder.build();
+    }
+
+    private static final class Slot {
+
+        private final String key;
+        private final TokenKey tokenKey;
+        @Nullable private final Function<CommandSource, Text> templateToken;
+        private final TextFormat format;
+
+        private Slot(String key, @Nullable Function<CommandSource, Text> templateToken, TextFormat format) {
+            this.key = key;
+            this.tokenKey = TokenKey.parse(key);
+            this.templateToken = templateToken;
+            this.format = format;
+        }
+
+        private ReceiverScope getReceiverScope(Set<String> sharedTokens) {
+            if (this.templateToken != null) {
+                // Commands in links may contain the name of the source.
+                return ReceiverScope.RECEIVER;
+            } else if (sharedTokens.contains(this.key)) {
+                return ReceiverScope.NONE;
+            }
+
+            NucleusMessageTokenService tokenService = Nucleus.getNucleus().getMessageTokenService();
+            if (tokenService instanceof NucleusTokenServiceImpl) {
+                return ((NucleusTokenServiceImpl) tokenService).getReceiverScope(this.tokenKey);
+            }
+
+            return ReceiverScope.RECEIVER;
+        }
+
+        @Nullable
+        private Text render(@Nullable CommandSource source, @Nullable Map<String, Function<CommandSource, Optional<Text>>> tokens,
+                @Nullable Map<String, Object> variables) {
+            Text text;
+            if (this.templateToken != null) {
+                text = this.templateToken.apply(source);
+            } else {
+                Function<CommandSource, Optional<Text>> token = tokens == null ? null : tokens.get(this.key);
+                if (token != null) {
+                    text = token.apply(source).orElse(null);
+                } else {
+                    NucleusMessageTokenService tokenService = Nucleus.getNucleus().getMessageTokenService();
+                    if (tokenService instanceof NucleusTokenServiceImpl) {
+                        text = ((NucleusTokenServiceImpl) tokenService).parseToken(this.tokenKey, source, variables).orElse(null);
+                    } else {
+                        text = tokenService.parseToken(this.key, source, variables).orElse(null);
+                    }
+                }
+            }
+
+            if (text == null || this.format.isEmpty()) {
+                return text;
+            }
+
+            return Text.builder().format(this.format).append(text).build();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -38,14 +39,13 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
 
     private final String representation;
     private final TextTemplate textTemplate;
-    private final Map<String, Function<CommandSource, Text>> tokenMap = Maps.newHashMap();
+    private final CompiledTextTemplate compiled;
 
     public NucleusTextTemplateImpl(String representation) {
         this.representation = representation;
         Tuple<TextTemplate, Map<String, Function<CommandSource, Text>>> t = parse(representation);
         this.textTemplate = t.getFirst();
-
-        tokenMap.putAll(t.getSecond());
+        this.compiled = new CompiledTextTemplate(this.textTemplate, t.getSecond());
     }
 
     @Override public boolean isEmpty() {
@@ -66,32 +66,21 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
         return !textTemplate.getArguments().isEmpty();
     }
 
+    /**
+     * Gets how much of the source that this template is rendered for affects the result, so that a message that is
+     * sent to many receivers only has to be rendered once for those that would get the same result.
+     *
+     * @param sharedTokens The tokens that will be supplied when rendering, none of which depend on the source.
+     * @return The {@link ReceiverScope}.
+     */
+    ReceiverScope getReceiverScope(Set<String> sharedTokens) {
+        return compiled.getReceiverScope(sharedTokens);
+    }
+
     @Override @SuppressWarnings("SameParameterValue")
     public Text getForCommandSource(CommandSource source, @Nullable Map<String, Function<CommandSource, Optional<Text>>> tokensArray,
             @Nullable Map<String, Object> variables) {
-        final Map<String, Object> variables2 = variables == null ? emptyVariables : variables;
-
-        Map<String, TextTemplate.Arg> tokens = textTemplate.getArguments();
-        Map<String, Text> finalArgs = Maps.newHashMap();
-
-        tokens.forEach((k, v) -> {
-            String key = k.toLowerCase();
-
-            Text t;
-            if (tokenMap.containsKey(key)) {
-                t = tokenMap.get(key).apply(source);
-            } else if (tokensArray != null && tokensArray.containsKey(key)) {
-                t = tokensArray.get(key).apply(source).orElse(null);
-            } else {
-                t = Nucleus.getNucleus().getMessageTokenService().parseToken(key, source, variables2).orElse(null);
-            }
-
-            if (t != null) {
-                finalArgs.put(k, t);
-            }
-        });
-
-        return textTemplate.apply(finalArgs).build();
+        return compiled.render(source, tokensArray, variables == null ? emptyVariables : variables);
     }
 
     public Text toText() {
@@ -184,7 +173,7 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
                         texts.push(style.getTextOf());
                     }
 
-                    cu.createTextTemplateFragmentWithLinks(s.get(i + 1)).mapIfPresent(texts::addAll, tokens::putAll);
+                    tt.mapIfPresent(texts::addAll, tokens::putAll);
                 }
             }
 
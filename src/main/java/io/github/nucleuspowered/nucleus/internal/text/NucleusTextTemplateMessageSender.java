@@ -11,13 +11,20 @@ import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.world.Locatable;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Sends a {@link NucleusTextTemplate} to a number of receivers, with the tokens in the template parsed for each of
+ * them. Templates whose tokens do not depend on the receiver are only rendered once, and those that only depend on the
+ * receiver's world are rendered once for each world.
+ */
 public class NucleusTextTemplateMessageSender {
 
     private final NucleusTextTemplate textTemplate;
@@ -48,7 +55,23 @@ public class NucleusTextTemplateMessageSender {
             Map<String, Function<CommandSource, Optional<Text>>> m = Maps.newHashMap();
             m.put("sender", cs -> Nucleus.getNucleus().getMessageTokenService().applyPrimaryToken("displayname", sender));
 
-            source.forEach(x -> x.sendMessage(postProcess.apply(textTemplate.getForCommandSource(x, m, null))));
+            ReceiverScope scope = textTemplate instanceof NucleusTextTemplateImpl ?
+                    ((NucleusTextTemplateImpl) textTemplate).getReceiverScope(m.keySet()) : ReceiverScope.RECEIVER;
+            switch (scope) {
+                case NONE:
+                    Text text = postProcess.apply(textTemplate.getForCommandSource(Sponge.getServer().getConsole(), m, null));
+                    source.forEach(x -> x.sendMessage(text));
+                    break;
+                case WORLD:
+                    // Sources that are not in a world get the default world.
+                    Map<Optional<UUID>, Text> byWorld = Maps.newHashMap();
+                    source.forEach(x -> x.sendMessage(byWorld.computeIfAbsent(
+                            x instanceof Locatable ? Optional.of(((Locatable) x).getWorld().getUniqueId()) : Optional.empty(),
+                            k -> postProcess.apply(textTemplate.getForCommandSource(x, m, null)))));
+                    break;
+                default:
+                    source.forEach(x -> x.sendMessage(postProcess.apply(textTemplate.getForCommandSource(x, m, null))));
+            }
         }
     }
 }
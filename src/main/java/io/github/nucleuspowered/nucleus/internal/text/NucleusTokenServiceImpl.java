@@ -24,18 +24,18 @@ import org.spongepowered.api.util.Tuple;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
 
 public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
 
-    private static final Pattern suffixPattern = Pattern.compile(":([sp]+)$", Pattern.CASE_INSENSITIVE);
     private final Map<String, TokenParser> tokenStore = Maps.newHashMap();
     private final Map<String, Tuple<TokenParser, String>> primaryTokenStore = Maps.newHashMap();
     private final NucleusPlugin plugin;
 
+    // Incremented whenever a token is registered or unregistered, so that TokenKeys know to look up their parser again.
+    private volatile int generation = 0;
+
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType") private final Optional<Text> EMPTY = Optional.empty();
 
     public NucleusTokenServiceImpl(NucleusPlugin plugin) {
@@ -59,6 +59,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
 
         tokenStore.put(pluginContainer.getId(), textFunction);
+        generation++;
     }
 
     @Override public boolean unregister(PluginContainer pluginContainer) {
@@ -67,6 +68,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         TokenParser parser = tokenStore.remove(pluginContainer.getId());
         if (parser != null) {
             primaryTokenStore.entrySet().removeIf(x -> x.getValue().getFirst().equals(parser));
+            generation++;
             return true;
         }
 
@@ -79,6 +81,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
             // Register!
             primaryTokenStore.put(primaryIdentifier.toLowerCase(), Tuple.of(tokenStore.get(registeringPlugin.getId()),
                     identiferToMapTo.toLowerCase()));
+            generation++;
             return true;
         }
 
@@ -99,7 +102,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
     }
 
     @Override public Optional<Text> parseToken(String token, CommandSource source, @Nullable Map<String, Object> variables) {
-        return getTextFromToken(token, source, variables);
+        return parseToken(TokenKey.parse(token), source, variables);
     }
 
     @Override public boolean registerTokenFormat(String tokenStart, String tokenEnd, String replacement) throws IllegalArgumentException {
@@ -114,41 +117,35 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
     }
 
-    private final Optional<Text> getTextFromToken(String token, CommandSource source, Map<String, Object> variables) {
-        token = token.toLowerCase().trim().replace("{{", "").replace("}}", "");
-        Matcher m = suffixPattern.matcher(token);
-        boolean addSpace = false;
-        boolean prependSpace = false;
-        if (m.find(0)) {
-            String match = m.group(1).toLowerCase();
-            addSpace = match.contains("s");
-            prependSpace = match.contains("p");
-
-            token = token.replaceAll(":[sp]+$", "");
-        }
-
+    /**
+     * Parses a token that has already been split into a {@link TokenKey}.
+     *
+     * @param key The {@link TokenKey}.
+     * @param source The source to apply the token with.
+     * @param variables The variables to pass to the parser.
+     * @return The token result, if it exists.
+     */
+    Optional<Text> parseToken(TokenKey key, CommandSource source, @Nullable Map<String, Object> variables) {
         try {
             Optional<Text> toReturn;
-            if (token.startsWith("pl:") || token.startsWith("p:")) {
-                // Plugin identifiers are of the form pl:<pluginid>:<identifier>
-                String[] tokSplit = token.split(":", 3);
-                if (tokSplit.length < 3) {
+            if (key.type == TokenKey.Type.OPTION) {
+                toReturn = getTextFromOption(source, key.id);
+            } else if (key.type == TokenKey.Type.INVALID) {
+                return EMPTY;
+            } else {
+                Binding binding = bind(key);
+                if (binding.parser == null) {
                     return EMPTY;
                 }
 
-                toReturn = applyToken(tokSplit[1], tokSplit[2], source, variables);
-            } else if (token.startsWith("o:")) { // Option identifier.
-                toReturn = getTextFromOption(source, token.substring(2));
-            } else {
-                // Standard.
-                toReturn = applyPrimaryToken(token, source, variables);
+                toReturn = binding.parser.parse(binding.identifier, source, variables);
             }
 
-            if (addSpace) {
+            if (key.appendSpace) {
                 toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(x, Util.SPACE));
             }
 
-            if (prependSpace) {
+            if (key.prependSpace) {
                 toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(Util.SPACE, x));
             }
 
@@ -162,6 +159,53 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
     }
 
+    /**
+     * Gets how much of the source that a token is parsed for affects the result.
+     *
+     * @param key The {@link TokenKey}.
+     * @return The {@link ReceiverScope}.
+     */
+    ReceiverScope getReceiverScope(TokenKey key) {
+        if (key.type == TokenKey.Type.INVALID) {
+            return ReceiverScope.NONE;
+        } else if (key.type == TokenKey.Type.OPTION) {
+            return ReceiverScope.RECEIVER;
+        }
+
+        Binding binding = bind(key);
+        if (binding.parser == null) {
+            return ReceiverScope.NONE;
+        } else if (binding.parser instanceof Tokens) {
+            return ((Tokens) binding.parser).getReceiverScope(binding.identifier);
+        }
+
+        // We can't know what other plugins' tokens depend on.
+        return ReceiverScope.RECEIVER;
+    }
+
+    private Binding bind(TokenKey key) {
+        Binding binding = key.binding;
+        int currentGeneration = generation;
+        if (binding != null && binding.service == this && binding.generation == currentGeneration) {
+            return binding;
+        }
+
+        if (key.type == TokenKey.Type.PLUGIN) {
+            binding = new Binding(this, currentGeneration, tokenStore.get(key.id), key.argument);
+        } else {
+            Tuple<TokenParser, String> primary = primaryTokenStore.get(key.id);
+            if (primary == null) {
+                binding = new Binding(this, currentGeneration, null, null);
+            } else {
+                binding = new Binding(this, currentGeneration, primary.getFirst(),
+                        key.argument == null ? primary.getSecond() : primary.getSecond() + "|" + key.argument);
+            }
+        }
+
+        key.binding = binding;
+        return binding;
+    }
+
     private Optional<Text> getTextFromOption(CommandSource cs, String option) {
         if (cs instanceof Player) {
             return Util.getOptionFromSubject(cs, option).map(TextSerializers.FORMATTING_CODE::deserialize);
@@ -173,4 +217,22 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
     public Tokens getNucleusTokenParser() {
         return ((Tokens)tokenStore.get("nucleus"));
     }
+
+    /**
+     * The parser that a {@link TokenKey} resolved to, and the identifier to pass to it.
+     */
+    static final class Binding {
+
+        private final NucleusTokenServiceImpl service;
+        private final int generation;
+        @Nullable private final TokenParser parser;
+        @Nullable private final String identifier;
+
+        private Binding(NucleusTokenServiceImpl service, int generation, @Nullable TokenParser parser, @Nullable String identifier) {
+            this.service = service;
+            this.generation = generation;
+            this.parser = parser;
+            this.identifier = identifier;
+        }
+    }
 }
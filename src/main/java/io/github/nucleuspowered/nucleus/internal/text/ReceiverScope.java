@@ -0,0 +1,31 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.text;
+
+/**
+ * How much of the {@link org.spongepowered.api.command.CommandSource} that a token or template is rendered for affects
+ * the result. Later constants depend on more, so the scope of a template is the greatest scope of its tokens.
+ */
+enum ReceiverScope {
+
+    /**
+     * The result is the same for every receiver.
+     */
+    NONE,
+
+    /**
+     * The result is the same for every receiver in the same world.
+     */
+    WORLD,
+
+    /**
+     * The result may be different for each receiver.
+     */
+    RECEIVER;
+
+    ReceiverScope widen(ReceiverScope other) {
+        return other.ordinal() > ordinal() ? other : this;
+    }
+}
@@ -75,24 +75,17 @@ public class TextParsingUtils {
             return TextSerializers.FORMATTING_CODE.deserialize(message);
         }
 
+        // One pass over the message - each URL ends at whitespace or the end of the message, so every match that the
+        // matcher finds is the first URL in the text after the previous one.
         List<Text> texts = Lists.newArrayList();
-        String remaining = message;
+        int position = 0;
         TextParsingUtils.StyleTuple st = TextParsingUtils.EMPTY;
         do {
-            // We found a URL. We split on the URL that we have.
-            String[] textArray = remaining.split(urlParser.pattern(), 2);
+            // Add the text before the URL.
             Text first = Text.builder().color(st.colour).style(st.style)
-                    .append(TextSerializers.FORMATTING_CODE.deserialize(textArray[0])).build();
-
-            // Add this text to the list regardless.
+                    .append(TextSerializers.FORMATTING_CODE.deserialize(message.substring(position, m.start()))).build();
             texts.add(first);
-
-            // If we have more to do, shove it into the "remaining" variable.
-            if (textArray.length == 2) {
-                remaining = textArray[1];
-            } else {
-                remaining = null;
-            }
+            position = m.end();
 
             // Get the last colour & styles
             String colourMatch = m.group("colour");
@@ -104,7 +97,7 @@ public class TextParsingUtils {
                     reset = TextStyles.RESET;
                 }
 
-                first = Text.of(reset, TextSerializers.FORMATTING_CODE.deserialize(m.group("colour") + " "));
+                first = Text.of(reset, TextSerializers.FORMATTING_CODE.deserialize(colourMatch + " "));
             }
 
             st = TextParsingUtils.getLastColourAndStyle(first, st);
@@ -113,13 +106,11 @@ public class TextParsingUtils {
             String whiteSpace = m.group("first");
             String url = m.group("url");
             texts.add(TextParsingUtils.getTextForUrl(url, url, whiteSpace, st, m.group("options")));
-        } while (remaining != null && m.find());
+        } while (m.find());
 
         // Add the last bit.
-        if (remaining != null) {
-            texts.add(Text.builder().color(st.colour).style(st.style)
-                    .append(TextSerializers.FORMATTING_CODE.deserialize(remaining)).build());
-        }
+        texts.add(Text.builder().color(st.colour).style(st.style)
+                .append(TextSerializers.FORMATTING_CODE.deserialize(message.substring(position))).build());
 
         // Join it all together.
         return Text.join(texts);
@@ -142,7 +133,7 @@ public class TextParsingUtils {
         StyleTuple st = TextParsingUtils.EMPTY;
         do {
             // We found a URL. We split on the URL that we have.
-            String[] textArray = remaining.split(enhancedUrlParser.pattern(), 2);
+            String[] textArray = enhancedUrlParser.split(remaining, 2);
             TextRepresentable first = Text.builder().color(st.colour).style(st.style)
                     .append(TextSerializers.FORMATTING_CODE.deserialize(textArray[0])).build();
 
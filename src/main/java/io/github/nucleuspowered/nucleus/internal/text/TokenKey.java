@@ -0,0 +1,98 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.text;
+
+import javax.annotation.Nullable;
+
+/**
+ * A token that has been split into its parts, so that it does not have to be parsed each time it is rendered.
+ *
+ * <p>The parts of the key never change. The {@link NucleusTokenServiceImpl} keeps the parser that the key resolves
+ * to on the key, and looks it up again if tokens have been registered or unregistered since.</p>
+ */
+final class TokenKey {
+
+    enum Type {
+        PRIMARY,
+        PLUGIN,
+        OPTION,
+        INVALID
+    }
+
+    private static final TokenKey INVALID = new TokenKey(Type.INVALID, "", null, false, false);
+
+    final Type type;
+
+    // The primary token, plugin ID or option.
+    final String id;
+
+    // For a plugin token, the identifier passed to the parser. For a primary token, anything after the "|".
+    @Nullable final String argument;
+
+    final boolean appendSpace;
+    final boolean prependSpace;
+
+    @Nullable volatile NucleusTokenServiceImpl.Binding binding;
+
+    private TokenKey(Type type, String id, @Nullable String argument, boolean appendSpace, boolean prependSpace) {
+        this.type = type;
+        this.id = id;
+        this.argument = argument;
+        this.appendSpace = appendSpace;
+        this.prependSpace = prependSpace;
+    }
+
+    /**
+     * Parses a token, with or without its surrounding braces.
+     *
+     * @param token The token.
+     * @return The {@link TokenKey}.
+     */
+    static TokenKey parse(String token) {
+        String t = token.toLowerCase().trim().replace("{{", "").replace("}}", "");
+
+        // A suffix of s and/or p adds a space after and/or before the token.
+        boolean appendSpace = false;
+        boolean prependSpace = false;
+        int suffix = t.lastIndexOf(':') + 1;
+        if (suffix > 0 && suffix < t.length() && isSpaceSuffix(t, suffix)) {
+            appendSpace = t.indexOf('s', suffix) >= 0;
+            prependSpace = t.indexOf('p', suffix) >= 0;
+            t = t.substring(0, suffix - 1);
+        }
+
+        if (t.startsWith("pl:") || t.startsWith("p:")) {
+            // Plugin identifiers are of the form pl:<pluginid>:<identifier>
+            String[] split = t.split(":", 3);
+            if (split.length < 3) {
+                return INVALID;
+            }
+
+            return new TokenKey(Type.PLUGIN, split[1], split[2], appendSpace, prependSpace);
+        } else if (t.startsWith("o:")) {
+            return new TokenKey(Type.OPTION, t.substring(2), null, appendSpace, prependSpace);
+        } else if (t.isEmpty()) {
+            return INVALID;
+        }
+
+        int pipe = t.indexOf('|');
+        if (pipe < 0) {
+            return new TokenKey(Type.PRIMARY, t, null, appendSpace, prependSpace);
+        }
+
+        return new TokenKey(Type.PRIMARY, t.substring(0, pipe), t.substring(pipe + 1), appendSpace, prependSpace);
+    }
+
+    private static boolean isSpaceSuffix(String token, int start) {
+        for (int i = start; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c != 's' && c != 'p') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
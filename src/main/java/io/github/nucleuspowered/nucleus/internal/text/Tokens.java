@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.internal.text;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
@@ -28,6 +29,10 @@ import javax.annotation.Nonnull;
 
 public final class Tokens implements NucleusMessageTokenService.TokenParser {
 
+    // Tokens that are the same for everyone, or for everyone in the same world. All others depend on the receiver.
+    private static final Set<String> serverTokens = ImmutableSet.of("maxplayers", "onlineplayers", "uniquevisitor");
+    private static final Set<String> worldTokens = ImmutableSet.of("currentworld", "time");
+
     private final Map<String, Translator> translatorMap = Maps.newHashMap();
 
     Tokens() {
@@ -68,6 +73,17 @@ public final class Tokens implements NucleusMessageTokenService.TokenParser {
         return translatorMap.getOrDefault(split[0].toLowerCase(), (p, v, m) -> Optional.empty()).get(source, var, variables);
     }
 
+    ReceiverScope getReceiverScope(String tokenInput) {
+        String token = tokenInput.split("\\|", 2)[0].toLowerCase();
+        if (serverTokens.contains(token)) {
+            return ReceiverScope.NONE;
+        } else if (worldTokens.contains(token)) {
+            return ReceiverScope.WORLD;
+        }
+
+        return ReceiverScope.RECEIVER;
+    }
+
     public Set<String> getTokenNames() {
         return Sets.newHashSet(translatorMap.keySet());
     }
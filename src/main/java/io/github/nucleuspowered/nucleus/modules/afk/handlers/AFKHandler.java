@@ -13,6 +13,7 @@ import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.service.NucleusAFKService;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionCache;
 import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
 import io.github.nucleuspowered.nucleus.modules.afk.commands.AFKCommand;
 import io.github.nucleuspowered.nucleus.modules.afk.config.AFKConfig;
@@ -358,13 +359,14 @@ public class AFKHandler implements NucleusAFKService {
                 if (!cacheValid) {
                     // Get the subject.
                     Sponge.getServer().getPlayer(uuid).ifPresent(x -> {
-                        if (AFKHandler.this.afkPermissionHandler.testSuffix(x, exempttoggle)) {
+                        PermissionCache permissionCache = AFKHandler.this.plugin.getPermissionCache();
+                        if (permissionCache.hasPermission(x, AFKHandler.this.afkPermissionHandler.getPermissionWithSuffix(exempttoggle))) {
                             timeToAfk = -1;
                         } else {
                             timeToAfk = Util.getPositiveLongOptionFromSubject(x, afkOption).orElseGet(() -> config.getAfkTime()) * 1000;
                         }
 
-                        if (AFKHandler.this.afkPermissionHandler.testSuffix(x, exemptkick)) {
+                        if (permissionCache.hasPermission(x, AFKHandler.this.afkPermissionHandler.getPermissionWithSuffix(exemptkick))) {
                             timeToKick = -1;
                         } else {
                             timeToKick = Util.getPositiveLongOptionFromSubject(x, afkKickOption).orElseGet(() -> config.getAfkTimeToKick()) * 1000;
@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.modules.chat;
 
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.chat.util.ChatCapabilityCache;
 import io.github.nucleuspowered.nucleus.modules.chat.util.TemplateUtil;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 
@@ -26,6 +27,7 @@ public class ChatModule extends ConfigurableModule<ChatConfigAdapter> {
             ChatConfigAdapter cca = plugin.getInjector().getInstance(ChatConfigAdapter.class);
             TemplateUtil templateUtil = new TemplateUtil(plugin, cca);
             serviceManager.registerService(TemplateUtil.class, templateUtil);
+            serviceManager.registerService(ChatCapabilityCache.class, new ChatCapabilityCache(plugin));
         } catch (Exception ex) {
             plugin.getLogger().warn("Could not load the chat module for the reason below.");
             ex.printStackTrace();
@@ -7,7 +7,6 @@ package io.github.nucleuspowered.nucleus.modules.chat.listeners;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.NameUtil;
 import io.github.nucleuspowered.nucleus.Nucleus;
-import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.chat.NucleusNoFormatChannel;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
@@ -21,6 +20,8 @@ import io.github.nucleuspowered.nucleus.modules.chat.ChatModule;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
+import io.github.nucleuspowered.nucleus.modules.chat.util.ChatCapabilities;
+import io.github.nucleuspowered.nucleus.modules.chat.util.ChatCapabilityCache;
 import io.github.nucleuspowered.nucleus.modules.chat.util.TemplateUtil;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
@@ -31,13 +32,9 @@ import org.spongepowered.api.event.message.MessageEvent;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.serializer.TextSerializers;
-import org.spongepowered.api.util.Tuple;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.BiFunction;
-import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -54,44 +51,26 @@ public class ChatListener extends ListenerBase.Reloadable {
     private static final Pattern prefixPattern = Pattern.compile("^\\s*<[a-zA-Z0-9_]+>\\s*$");
     private static final String prefix = PermissionRegistry.PERMISSIONS_PREFIX + "chat.";
 
-    // Order is important here!
-    private static final Map<String, String> permissionToDesc = Maps.newHashMap();
-    private static final Map<String, Tuple<String[], Function<String, String>>> replacements = createReplacements();
-
-    private static Map<String, Tuple<String[], Function<String, String>>> createReplacements() {
-        Map<String, Tuple<String[], Function<String, String>>> t = new HashMap<>();
+    private static final Map<String, String> permissionToDesc = createPermissionDescriptions();
 
+    private static Map<String, String> createPermissionDescriptions() {
+        Map<String, String> t = Maps.newHashMap();
         MessageProvider mp = Nucleus.getNucleus().getMessageProvider();
-
-        BiFunction<String, String, String> fss = (key, s) -> s.replaceAll("[&]+[" + key.toLowerCase() + key.toUpperCase() + "]", "");
         NameUtil.getColours().forEach((key, value) -> {
-            t.put("&" + key, Tuple.of(
-                new String[]{ prefix + "colour." + value.getName(), prefix + "color." + value.getName() },
-                s -> fss.apply(key.toString(), s)));
-
-            permissionToDesc.put(prefix + "colour." + value.getName(), mp.getMessageWithFormat("permission.chat.colourspec", value.getName().toLowerCase(), key.toString()));
-            permissionToDesc.put(prefix + "color." + value.getName(), mp.getMessageWithFormat("permission.chat.colorspec", value.getName().toLowerCase(), key.toString()));
+            t.put(prefix + "colour." + value.getName(), mp.getMessageWithFormat("permission.chat.colourspec", value.getName().toLowerCase(), key.toString()));
+            t.put(prefix + "color." + value.getName(), mp.getMessageWithFormat("permission.chat.colorspec", value.getName().toLowerCase(), key.toString()));
         });
 
-        NameUtil.getStyles().entrySet().stream().filter(x -> x.getKey().getFirst() != 'k').forEach((k) -> {
-            t.put("&" + k.getKey().getFirst(), Tuple.of(new String[] { prefix + "style." + k.getKey().getSecond().toLowerCase() }, s -> fss.apply(k.getKey().getFirst().toString(), s)));
-            permissionToDesc.put(prefix + "style." + k.getKey().getSecond().toLowerCase(),
-                mp.getMessageWithFormat("permission.chat.stylespec", k.getKey().getSecond().toLowerCase(), k.getKey().getFirst().toString()));
-        });
-
-        t.put("&k", Tuple.of(new String[] { prefix + "magic" }, s -> s.replaceAll("[&]+[kK]", "")));
+        NameUtil.getStyles().entrySet().stream().filter(x -> x.getKey().getFirst() != 'k').forEach((k) ->
+            t.put(prefix + "style." + k.getKey().getSecond().toLowerCase(),
+                mp.getMessageWithFormat("permission.chat.stylespec", k.getKey().getSecond().toLowerCase(), k.getKey().getFirst().toString())));
 
         return t;
     }
 
     public static String stripPermissionless(Subject source, String message) {
         if (message.contains("&")) {
-            String m = message.toLowerCase();
-            for (Map.Entry<String, Tuple<String[], Function<String, String>>> r : replacements.entrySet()) {
-                if (m.contains(r.getKey()) && Arrays.stream(r.getValue().getFirst()).noneMatch(source::hasPermission)) {
-                    message = r.getValue().getSecond().apply(message);
-                }
-            }
+            return ChatCapabilities.strip(message, ChatCapabilities.getAllowedCodes(source));
         }
 
         return message;
@@ -101,11 +80,13 @@ public class ChatListener extends ListenerBase.Reloadable {
     private final ChatConfigAdapter cca;
     private ChatConfig chatConfig = null;
     private final TemplateUtil templateUtil;
+    private final ChatCapabilityCache capabilityCache;
 
     @Inject
-    public ChatListener(ChatConfigAdapter cca, TemplateUtil templateUtil) {
+    public ChatListener(ChatConfigAdapter cca, TemplateUtil templateUtil, ChatCapabilityCache capabilityCache) {
         this.cca = cca;
         this.templateUtil = templateUtil;
+        this.capabilityCache = capabilityCache;
     }
 
     @Override
@@ -161,23 +142,24 @@ public class ChatListener extends ListenerBase.Reloadable {
     }
 
     private Text useMessage(Player player, Text rawMessage, ChatTemplateConfig chatTemplateConfig) {
-        String m = stripPermissionless(player, TextSerializers.FORMATTING_CODE.serialize(rawMessage));
+        ChatCapabilities capabilities = capabilityCache.get(player);
+        String m = capabilities.strip(TextSerializers.FORMATTING_CODE.serialize(rawMessage));
         if (chatConfig.isRemoveBlueUnderline()) {
             m = m.replaceAll("&9&n([A-Za-z0-9-.]+)", "$1");
         }
 
         Text result;
-        if (player.hasPermission(prefix + "url")) {
+        if (capabilities.canUseUrls()) {
             result = TextParsingUtils.addUrls(m);
         } else {
             result = TextSerializers.FORMATTING_CODE.deserialize(m);
         }
 
-        String chatcol = Util.getOptionFromSubject(player, "chatcolour", "chatcolor").orElseGet(chatTemplateConfig::getChatcolour);
-        String chatstyle = Util.getOptionFromSubject(player, "chatstyle").orElseGet(chatTemplateConfig::getChatstyle);
-
         NameUtil nu = plugin.getNameUtil();
-        return Text.of(nu.getColourFromString(chatcol), nu.getTextStyleFromString(chatstyle), result);
+        return Text.of(
+            capabilities.getChatColour().orElseGet(() -> nu.getColourFromString(chatTemplateConfig.getChatcolour())),
+            capabilities.getChatStyle().orElseGet(() -> nu.getTextStyleFromString(chatTemplateConfig.getChatstyle())),
+            result);
     }
 
     @Override public void onReload() throws Exception {
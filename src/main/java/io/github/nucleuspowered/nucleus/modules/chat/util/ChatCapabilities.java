@@ -0,0 +1,182 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.util;
+
+import io.github.nucleuspowered.nucleus.NameUtil;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionCache;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextStyle;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * The formatting that a {@link Subject} may use in chat, and the chat colour and style set by their options.
+ *
+ * <p>Each formatting code is a bit in a mask, so that stripping the codes that cannot be used from a message is a
+ * single scan over it, rather than a permission check and a regular expression per code. The permissions and options
+ * are read through the {@link PermissionCache}.</p>
+ */
+public final class ChatCapabilities {
+
+    private static final String PREFIX = PermissionRegistry.PERMISSIONS_PREFIX + "chat.";
+
+    // The bit for each code is its position in this string.
+    private static final String CODES = "0123456789abcdefklmnor";
+    private static final long ALL_CODES = (1L << CODES.length()) - 1;
+    private static final long URLS = 1L << CODES.length();
+
+    // The index of each code character in CODES, in either case, or -1.
+    private static final byte[] CODE_INDEX = new byte[128];
+
+    static {
+        Arrays.fill(CODE_INDEX, (byte) -1);
+        for (int i = 0; i < CODES.length(); i++) {
+            char code = CODES.charAt(i);
+            CODE_INDEX[code] = (byte) i;
+            CODE_INDEX[Character.toUpperCase(code)] = (byte) i;
+        }
+    }
+
+    private final long allowed;
+    @Nullable private final TextColor chatColour;
+    @Nullable private final TextStyle chatStyle;
+    private final long created = System.nanoTime();
+
+    private ChatCapabilities(long allowed, @Nullable TextColor chatColour, @Nullable TextStyle chatStyle) {
+        this.allowed = allowed;
+        this.chatColour = chatColour;
+        this.chatStyle = chatStyle;
+    }
+
+    /**
+     * Works out the capabilities of a {@link Subject}.
+     *
+     * @param subject The {@link Subject}.
+     * @param nameUtil The {@link NameUtil} to resolve the chat colour and style options with.
+     * @return The {@link ChatCapabilities}.
+     */
+    public static ChatCapabilities of(Subject subject, NameUtil nameUtil) {
+        long allowed = getAllowedCodes(subject);
+        if (Nucleus.getNucleus().getPermissionCache().hasPermission(subject, PREFIX + "url")) {
+            allowed |= URLS;
+        }
+
+        return new ChatCapabilities(allowed,
+                Util.getOptionFromSubject(subject, "chatcolour", "chatcolor").map(nameUtil::getColourFromString).orElse(null),
+                Util.getOptionFromSubject(subject, "chatstyle").map(nameUtil::getTextStyleFromString).orElse(null));
+    }
+
+    /**
+     * Gets the mask of formatting codes that a {@link Subject} may use.
+     *
+     * @param subject The {@link Subject}.
+     * @return The mask, for {@link #strip(String, long)}.
+     */
+    public static long getAllowedCodes(Subject subject) {
+        PermissionCache permissionCache = Nucleus.getNucleus().getPermissionCache();
+        long allowed = 0;
+        for (int i = 0; i < Permissions.BY_CODE.length; i++) {
+            for (String permission : Permissions.BY_CODE[i]) {
+                if (permissionCache.hasPermission(subject, permission)) {
+                    allowed |= 1L << i;
+                    break;
+                }
+            }
+        }
+
+        return allowed;
+    }
+
+    /**
+     * Removes the formatting codes that are not in the given mask from a message. As well as the code, any
+     * ampersands directly before it are removed.
+     *
+     * @param message The message.
+     * @param allowed The codes that may be used, from {@link #getAllowedCodes(Subject)}.
+     * @return The message without the codes that may not be used.
+     */
+    public static String strip(String message, long allowed) {
+        if ((allowed & ALL_CODES) == ALL_CODES) {
+            return message;
+        }
+
+        StringBuilder sb = null;
+        int length = message.length();
+        int copied = 0;
+        int i = message.indexOf('&');
+        while (i >= 0 && i < length) {
+            int code = i + 1;
+            while (code < length && message.charAt(code) == '&') {
+                code++;
+            }
+
+            if (code < length && isStripped(message.charAt(code), allowed)) {
+                if (sb == null) {
+                    sb = new StringBuilder(length);
+                }
+
+                sb.append(message, copied, i);
+                copied = code + 1;
+            }
+
+            i = message.indexOf('&', code);
+        }
+
+        return sb == null ? message : sb.append(message, copied, length).toString();
+    }
+
+    private static boolean isStripped(char c, long allowed) {
+        int index = c < CODE_INDEX.length ? CODE_INDEX[c] : -1;
+        return index >= 0 && (allowed & (1L << index)) == 0;
+    }
+
+    /**
+     * Removes the formatting codes that may not be used from a message.
+     *
+     * @param message The message.
+     * @return The message without the codes that may not be used.
+     */
+    public String strip(String message) {
+        return strip(message, this.allowed);
+    }
+
+    public boolean canUseUrls() {
+        return (this.allowed & URLS) != 0;
+    }
+
+    public Optional<TextColor> getChatColour() {
+        return Optional.ofNullable(this.chatColour);
+    }
+
+    public Optional<TextStyle> getChatStyle() {
+        return Optional.ofNullable(this.chatStyle);
+    }
+
+    boolean isStale() {
+        return System.nanoTime() - this.created > PermissionCache.EXPIRY_NANOS;
+    }
+
+    // The permission names come from the game's colours, so they are only worked out when they are first needed. This
+    // keeps strip(String, long) usable without the game.
+    private static final class Permissions {
+
+        private static final String[][] BY_CODE = new String[CODES.length()][];
+
+        static {
+            NameUtil.getColours().forEach((key, value) -> BY_CODE[CODES.indexOf(key)] =
+                    new String[] { PREFIX + "colour." + value.getName(), PREFIX + "color." + value.getName() });
+            NameUtil.getStyles().keySet().stream().filter(x -> x.getFirst() != 'k').forEach(x -> BY_CODE[CODES.indexOf(x.getFirst())] =
+                    new String[] { PREFIX + "style." + x.getSecond().toLowerCase() });
+            BY_CODE[CODES.indexOf('k')] = new String[] { PREFIX + "magic" };
+        }
+    }
+}
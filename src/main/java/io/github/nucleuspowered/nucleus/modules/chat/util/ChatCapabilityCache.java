@@ -0,0 +1,50 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.util;
+
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionCache;
+import org.spongepowered.api.entity.living.player.Player;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Caches the {@link ChatCapabilities} of online players, so that their permissions and options are not checked on
+ * every chat message. A player's capabilities are worked out again when the {@link PermissionCache} drops their
+ * permissions and options, on reload, and otherwise once they are {@link PermissionCache#EXPIRY_SECONDS} seconds
+ * old.
+ */
+public class ChatCapabilityCache {
+
+    private final NucleusPlugin plugin;
+    private final Map<UUID, ChatCapabilities> capabilities = Maps.newConcurrentMap();
+
+    public ChatCapabilityCache(NucleusPlugin plugin) {
+        this.plugin = plugin;
+        plugin.registerReloadable(this.capabilities::clear);
+        plugin.getPermissionCache().addInvalidationListener(this::remove);
+    }
+
+    public ChatCapabilities get(Player player) {
+        ChatCapabilities chatCapabilities = this.capabilities.get(player.getUniqueId());
+        if (chatCapabilities == null || chatCapabilities.isStale()) {
+            return update(player);
+        }
+
+        return chatCapabilities;
+    }
+
+    public ChatCapabilities update(Player player) {
+        ChatCapabilities chatCapabilities = ChatCapabilities.of(player, this.plugin.getNameUtil());
+        this.capabilities.put(player.getUniqueId(), chatCapabilities);
+        return chatCapabilities;
+    }
+
+    public void remove(UUID uuid) {
+        this.capabilities.remove(uuid);
+    }
+}
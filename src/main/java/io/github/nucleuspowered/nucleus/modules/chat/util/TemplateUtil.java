@@ -4,32 +4,88 @@
  */
 package io.github.nucleuspowered.nucleus.modules.chat.util;
 
+import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionCache;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.WeightedChatTemplateConfig;
+import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.service.permission.Subject;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * Contains the logic for caching templates and the template selection logic.
+ *
+ * <p>The template selected for each online player is cached, as working out a player's groups can be slow when they
+ * inherit from many others. A player's template is selected again when the {@link PermissionCache} drops their
+ * permissions and options, and otherwise once it has been cached for {@link PermissionCache#EXPIRY_SECONDS}
+ * seconds.</p>
  */
 public class TemplateUtil {
 
     private List<Map<String, WeightedChatTemplateConfig>> cachedTemplates = null;
+    private final Map<UUID, PlayerTemplate> playerTemplates = Maps.newConcurrentMap();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
     private final ChatConfigAdapter chatConfigAdapter;
 
     public TemplateUtil(NucleusPlugin plugin, ChatConfigAdapter chatConfigAdapter) {
-        plugin.registerReloadable(() -> cachedTemplates = null);
+        plugin.registerReloadable(() -> {
+            cachedTemplates = null;
+            playerTemplates.clear();
+        });
+        plugin.getPermissionCache().addInvalidationListener(this::invalidate);
         this.chatConfigAdapter = chatConfigAdapter;
     }
 
     public ChatTemplateConfig getTemplate(Subject subject) {
+        if (!(subject instanceof Player)) {
+            return selectTemplate(subject);
+        }
+
+        UUID uuid = ((Player) subject).getUniqueId();
+        PlayerTemplate playerTemplate = playerTemplates.get(uuid);
+        if (playerTemplate != null && System.nanoTime() - playerTemplate.selected < PermissionCache.EXPIRY_NANOS) {
+            hits.incrementAndGet();
+            return playerTemplate.template;
+        }
+
+        misses.incrementAndGet();
+        ChatTemplateConfig template = selectTemplate(subject);
+        playerTemplates.put(uuid, new PlayerTemplate(template));
+        return template;
+    }
+
+    /**
+     * Forgets the template selected for a player, so that it is selected again the next time it is needed.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void invalidate(UUID uuid) {
+        playerTemplates.remove(uuid);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int getCachedCount() {
+        return playerTemplates.size();
+    }
+
+    private ChatTemplateConfig selectTemplate(Subject subject) {
         ChatConfig cc = chatConfigAdapter.getNodeOrDefault();
         List<Subject> groups;
         try {
@@ -69,4 +125,13 @@ public class TemplateUtil {
         return cc.getDefaultTemplate();
     }
 
+    private static final class PlayerTemplate {
+
+        private final ChatTemplateConfig template;
+        private final long selected = System.nanoTime();
+
+        private PlayerTemplate(ChatTemplateConfig template) {
+            this.template = template;
+        }
+    }
 }
@@ -19,5 +19,6 @@ public class CommandSpyUserDataModule extends DataModule<ModularUserService> {
 
     public void setCommandSpy(boolean commandSpy) {
         isCommandSpy = commandSpy;
+        markDirty();
     }
 }
@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.modules.core;
 
 import io.github.nucleuspowered.nucleus.api.service.NucleusPlayerMetadataService;
+import io.github.nucleuspowered.nucleus.internal.command.AsyncCommandExecutor;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.core.service.PlayerMetadataService;
@@ -26,6 +27,7 @@ public class CoreModule extends ConfigurableModule<CoreConfigAdapter> {
         super.performPreTasks();
 
         plugin.reloadMessages();
+        serviceManager.registerService(AsyncCommandExecutor.class, new AsyncCommandExecutor(plugin));
     }
 
     @Override public void onEnable() {
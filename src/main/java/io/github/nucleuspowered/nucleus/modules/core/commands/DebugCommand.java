@@ -4,6 +4,8 @@
  */
 package io.github.nucleuspowered.nucleus.modules.core.commands;
 
+import com.google.common.cache.CacheStats;
+import io.github.nucleuspowered.nucleus.NameUtil;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.argumentparsers.NicknameArgument;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
@@ -11,8 +13,11 @@ import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions
 import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.Scan;
 import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.command.AsyncCommandExecutor;
 import io.github.nucleuspowered.nucleus.internal.command.ReturnMessageException;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionCache;
+import io.github.nucleuspowered.nucleus.modules.chat.util.TemplateUtil;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.UniqueUserCountTransientModule;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
@@ -25,7 +30,10 @@ import org.spongepowered.api.text.action.TextActions;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Scan
@@ -111,4 +119,132 @@ public class DebugCommand extends AbstractCommand<CommandSource> {
             return CommandResult.success();
         }
     }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "savequeue", subcommandOf = DebugCommand.class)
+    public static class SaveQueue extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+            MessageProvider provider = plugin.getMessageProvider();
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.savequeue.user",
+                    String.valueOf(plugin.getUserDataManager().getPendingWriteCount()),
+                    String.valueOf(plugin.getUserDataManager().getCompletedWriteCount())));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.savequeue.world",
+                    String.valueOf(plugin.getWorldDataManager().getPendingWriteCount()),
+                    String.valueOf(plugin.getWorldDataManager().getCompletedWriteCount())));
+            return CommandResult.success();
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "prefetch", subcommandOf = DebugCommand.class)
+    public static class Prefetch extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+            long hits = plugin.getUserDataManager().getPrefetchHits();
+            long misses = plugin.getUserDataManager().getPrefetchMisses();
+            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.debug.prefetch",
+                    String.valueOf(hits), String.valueOf(misses)));
+            return CommandResult.success();
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "templatecache", subcommandOf = DebugCommand.class)
+    public static class TemplateCache extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+            TemplateUtil templateUtil = plugin.getInternalServiceManager().getService(TemplateUtil.class)
+                    .orElseThrow(() -> ReturnMessageException.fromKey("command.nucleus.debug.templatecache.disabled"));
+            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.debug.templatecache",
+                    String.valueOf(templateUtil.getHits()), String.valueOf(templateUtil.getMisses()),
+                    String.valueOf(templateUtil.getCachedCount())));
+            return CommandResult.success();
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "asynccommands", subcommandOf = DebugCommand.class)
+    public static class AsyncCommands extends AbstractCommand<CommandSource> {
+
+        @Override public CommandElement[] getArguments() {
+            return new CommandElement[] {
+                    GenericArguments.flags().flag("r", "-reset").flag("d", "-dump").buildWith(GenericArguments.none())
+            };
+        }
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+            AsyncCommandExecutor executor = plugin.getInternalServiceManager().getService(AsyncCommandExecutor.class)
+                    .orElseThrow(() -> new IllegalStateException("The async command executor is not registered."));
+            MessageProvider mp = plugin.getMessageProvider();
+            if (args.hasAny("d")) {
+                try {
+                    Path file = executor.dumpStats(plugin.getDataPath().resolve("metrics"));
+                    src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.debug.asynccommands.dump", file.toString()));
+                } catch (IOException e) {
+                    throw ReturnMessageException.fromKey("command.nucleus.debug.asynccommands.dump.error", e.getMessage());
+                }
+            }
+
+            if (args.hasAny("r")) {
+                executor.resetStats();
+                src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.debug.asynccommands.reset"));
+                return CommandResult.success();
+            }
+
+            Map<String, AsyncCommandExecutor.CommandStats> stats = executor.getStats();
+            src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.debug.asynccommands.header", String.valueOf(executor.getPendingCount())));
+            if (stats.isEmpty()) {
+                src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.debug.asynccommands.none"));
+            }
+
+            stats.forEach((command, s) -> src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.debug.asynccommands.entry", command,
+                    String.valueOf(s.getCompleted()), String.valueOf(s.getRejected()), String.valueOf(s.getInFlight()),
+                    AsyncCommandExecutor.toMillis(s.getMeanQueueWait()), AsyncCommandExecutor.toMillis(s.getMaxQueueWait()),
+                    AsyncCommandExecutor.toMillis(s.getMeanRunTime()), AsyncCommandExecutor.toMillis(s.getMaxRunTime()))));
+            return CommandResult.success();
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "namecache", subcommandOf = DebugCommand.class)
+    public static class NameCache extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+            NameUtil nameUtil = plugin.getNameUtil();
+            long hits = nameUtil.getHits();
+            long total = hits + nameUtil.getMisses();
+            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.debug.namecache",
+                    String.valueOf(hits), String.valueOf(nameUtil.getMisses()),
+                    String.format("%.1f", total == 0 ? 0 : hits * 100.0 / total), String.valueOf(nameUtil.getCachedCount())));
+            return CommandResult.success();
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "permissioncache", subcommandOf = DebugCommand.class)
+    public static class PermCache extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+            PermissionCache permissionCache = plugin.getPermissionCache();
+            MessageProvider mp = plugin.getMessageProvider();
+            src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.debug.permissioncache.size", String.valueOf(permissionCache.getCachedCount())));
+            sendStats(src, mp, "command.nucleus.debug.permissioncache.permissions", permissionCache.getPermissionStats());
+            sendStats(src, mp, "command.nucleus.debug.permissioncache.options", permissionCache.getOptionStats());
+            return CommandResult.success();
+        }
+
+        private void sendStats(CommandSource src, MessageProvider mp, String key, CacheStats stats) {
+            // The load penalty is the average time taken to ask the permission plugin on a miss.
+            src.sendMessage(mp.getTextMessageWithFormat(key, String.valueOf(stats.hitCount()), String.valueOf(stats.missCount()),
+                    String.format("%.1f", stats.requestCount() == 0 ? 0 : stats.hitRate() * 100),
+                    String.format("%.1f", stats.averageLoadPenalty() / 1000)));
+        }
+    }
 }
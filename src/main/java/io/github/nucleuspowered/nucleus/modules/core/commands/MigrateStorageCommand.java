@@ -0,0 +1,66 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands;
+
+import com.google.common.collect.ImmutableMap;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataStorageType;
+import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+/**
+ * Copies user and world data between the JSON layout and the single file store.
+ */
+@Permissions(prefix = "nucleus", suggestedLevel = SuggestedLevel.NONE)
+@RunAsync
+@NoModifiers
+@NonnullByDefault
+@RegisterCommand(value = "migratestorage", subcommandOf = NucleusCommand.class)
+public class MigrateStorageCommand extends AbstractCommand<CommandSource> {
+
+    private final String targetKey = "target";
+
+    @Override
+    public CommandElement[] getArguments() {
+        return new CommandElement[] {
+            GenericArguments.onlyOne(GenericArguments.choices(Text.of(targetKey),
+                    ImmutableMap.of("json", DataStorageType.JSON, "singlefile", DataStorageType.SINGLE_FILE)))
+        };
+    }
+
+    @Override
+    public CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+        DataStorageType target = args.<DataStorageType>getOne(targetKey).get();
+        DataProviders dataProviders = plugin.getDataProviders();
+        if (dataProviders.getStorageType() == target) {
+            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.migratestorage.inuse", target.name()));
+            return CommandResult.empty();
+        }
+
+        src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.migratestorage.start", target.name()));
+
+        // Make sure that what is on disk is current before we copy it.
+        plugin.getUserDataManager().saveAll();
+        plugin.getWorldDataManager().saveAll();
+        plugin.getUserDataManager().flushPendingWrites();
+        plugin.getWorldDataManager().flushPendingWrites();
+
+        int[] counts = dataProviders.migrate(target);
+        src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.migratestorage.complete",
+                String.valueOf(counts[0]), String.valueOf(counts[1]), target.name()));
+        return CommandResult.success();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.command.CommandProfiler;
+import io.github.nucleuspowered.nucleus.internal.command.LatencyHistogram;
+import io.github.nucleuspowered.nucleus.internal.command.ReturnMessageException;
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+@Permissions(prefix = "nucleus", suggestedLevel = SuggestedLevel.NONE)
+@NoModifiers
+@NonnullByDefault
+@RegisterCommand(value = "profile", subcommandOf = NucleusCommand.class)
+public class ProfileCommand extends AbstractCommand<CommandSource> {
+
+    private final String actionKey = "action";
+
+    @Override
+    public CommandElement[] getArguments() {
+        return new CommandElement[] {
+            GenericArguments.optional(GenericArguments.onlyOne(GenericArguments.choices(Text.of(actionKey),
+                ImmutableMap.of("start", Action.START, "stop", Action.STOP, "reset", Action.RESET, "dump", Action.DUMP))))
+        };
+    }
+
+    @Override
+    public CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+        MessageProvider mp = plugin.getMessageProvider();
+        Optional<Action> action = args.getOne(actionKey);
+        if (action.isPresent()) {
+            switch (action.get()) {
+                case START:
+                    CommandProfiler.setEnabled(true);
+                    src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.profile.start"));
+                    break;
+                case STOP:
+                    CommandProfiler.setEnabled(false);
+                    src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.profile.stop"));
+                    break;
+                case RESET:
+                    CommandProfiler.reset();
+                    src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.profile.reset"));
+                    break;
+                case DUMP:
+                    try {
+                        Path file = CommandProfiler.dump(plugin.getDataPath().resolve("metrics"));
+                        src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.profile.dump", file.toString()));
+                    } catch (IOException e) {
+                        throw ReturnMessageException.fromKey("command.nucleus.profile.dump.error", e.getMessage());
+                    }
+
+                    break;
+            }
+
+            return CommandResult.success();
+        }
+
+        List<Text> messages = Lists.newArrayList();
+        CommandProfiler.getHistograms().forEach((command, phases) -> {
+            messages.add(mp.getTextMessageWithFormat("command.nucleus.profile.command", "/" + command.replace(".", " ")));
+            phases.forEach((phase, histogram) -> {
+                if (histogram.getCount() > 0) {
+                    messages.add(mp.getTextMessageWithFormat("command.nucleus.profile.entry", phase.name().toLowerCase(),
+                        String.valueOf(histogram.getCount()), toMillis(histogram, 50), toMillis(histogram, 95), toMillis(histogram, 99),
+                        CommandProfiler.toMillis(histogram.getMax())));
+                }
+            });
+        });
+
+        if (messages.isEmpty()) {
+            messages.add(mp.getTextMessageWithFormat("command.nucleus.profile.none"));
+        }
+
+        Util.getPaginationBuilder(src)
+            .title(mp.getTextMessageWithFormat("command.nucleus.profile.title"))
+            .header(mp.getTextMessageWithFormat(CommandProfiler.isEnabled() ? "command.nucleus.profile.enabled" : "command.nucleus.profile.disabled"))
+            .padding(Text.of(TextColors.GREEN, "-"))
+            .contents(messages)
+            .sendTo(src);
+        return CommandResult.success();
+    }
+
+    private static String toMillis(LatencyHistogram histogram, double percentile) {
+        return CommandProfiler.toMillis(histogram.getValueAtPercentile(percentile));
+    }
+
+    private enum Action {
+        START,
+        STOP,
+        RESET,
+        DUMP
+    }
+}
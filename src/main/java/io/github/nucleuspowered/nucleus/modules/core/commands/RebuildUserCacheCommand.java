@@ -4,30 +4,86 @@
  */
 package io.github.nucleuspowered.nucleus.modules.core.commands;
 
-import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
+import com.google.common.collect.ImmutableMap;
+import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
 import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.text.Text;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Permissions(prefix = "nucleus", suggestedLevel = SuggestedLevel.NONE)
-@RunAsync
 @NoModifiers
 @RegisterCommand(value = "rebuildusercache", subcommandOf = NucleusCommand.class)
 public class RebuildUserCacheCommand extends AbstractCommand<CommandSource> {
 
+    private final String actionKey = "action";
+
+    @Override
+    public CommandElement[] getArguments() {
+        return new CommandElement[] {
+            GenericArguments.optional(GenericArguments.onlyOne(GenericArguments.choices(Text.of(actionKey),
+                    ImmutableMap.of("cancel", Action.CANCEL, "resume", Action.RESUME))))
+        };
+    }
+
     @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
-        src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.rebuild.start"));
-        if (plugin.getUserCacheService().fileWalk()) {
-            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.rebuild.end"));
-            return CommandResult.success();
-        } else {
-            src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.nucleus.rebuild.fail"));
+        MessageProvider mp = plugin.getMessageProvider();
+        UserCacheService service = plugin.getUserCacheService();
+        Action action = args.<Action>getOne(actionKey).orElse(Action.START);
+        if (action == Action.CANCEL) {
+            if (service.cancelFileWalk()) {
+                src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.rebuild.cancelling"));
+                return CommandResult.success();
+            }
+
+            src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.rebuild.notrunning"));
             return CommandResult.empty();
         }
+
+        BiConsumer<Integer, Integer> progress = (scanned, total) ->
+                src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.rebuild.progress", String.valueOf(scanned), String.valueOf(total)));
+        Consumer<Boolean> onEnd = completed ->
+                src.sendMessage(mp.getTextMessageWithFormat(completed ? "command.nucleus.rebuild.end" : "command.nucleus.rebuild.cancelled"));
+
+        // The rebuild runs on the user cache service's own thread, so we don't wait for it here.
+        if (action == Action.RESUME) {
+            if (!service.isFileWalkCancelled()) {
+                src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.rebuild.noresume"));
+                return CommandResult.empty();
+            }
+
+            if (!service.resumeFileWalk(progress, onEnd)) {
+                src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.rebuild.fail"));
+                return CommandResult.empty();
+            }
+
+            src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.rebuild.resume"));
+        } else {
+            if (!service.startFileWalk(progress, onEnd)) {
+                src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.rebuild.fail"));
+                return CommandResult.empty();
+            }
+
+            src.sendMessage(mp.getTextMessageWithFormat("command.nucleus.rebuild.start"));
+        }
+
+        return CommandResult.success();
+    }
+
+    private enum Action {
+        START,
+        CANCEL,
+        RESUME
     }
 }
@@ -0,0 +1,33 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.config;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class AsyncCommandConfig {
+
+    @Setting(value = "threads", comment = "config.core.asynccommands.threads")
+    private int threads = 4;
+
+    @Setting(value = "queue-size", comment = "config.core.asynccommands.queuesize")
+    private int queueSize = 50;
+
+    @Setting(value = "max-per-command", comment = "config.core.asynccommands.maxpercommand")
+    private int maxPerCommand = 5;
+
+    public int getThreads() {
+        return Math.max(1, threads);
+    }
+
+    public int getQueueSize() {
+        return Math.max(0, queueSize);
+    }
+
+    public int getMaxPerCommand() {
+        return Math.max(1, maxPerCommand);
+    }
+}
@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.modules.core.config;
 
 import io.github.nucleuspowered.neutrino.annotations.DoNotGenerate;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataStorageType;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
@@ -40,6 +41,15 @@ public class CoreConfig {
     @Setting(value = "console-overrides-exemptions", comment = "config.core.consoleoverrides")
     private boolean consoleOverride = true;
 
+    @Setting(value = "data-storage-type", comment = "config.core.datastoragetype")
+    private DataStorageType dataStorageType = DataStorageType.JSON;
+
+    @Setting(value = "data-file-backups", comment = "config.core.databackups")
+    private int dataFileBackups = 1;
+
+    @Setting(value = "async-commands", comment = "config.core.asynccommands")
+    private AsyncCommandConfig asyncCommandConfig = new AsyncCommandConfig();
+
     @DoNotGenerate
     @Setting(value = "trace-user-creations-level")
     private int traceUserCreations = 0;
@@ -88,6 +98,18 @@ public class CoreConfig {
         return consoleOverride;
     }
 
+    public DataStorageType getDataStorageType() {
+        return dataStorageType == null ? DataStorageType.JSON : dataStorageType;
+    }
+
+    public int getDataFileBackups() {
+        return Math.max(0, dataFileBackups);
+    }
+
+    public AsyncCommandConfig getAsyncCommandConfig() {
+        return asyncCommandConfig;
+    }
+
     /**
      * For debugging. 0 is off, 1 is abnormal players, such as "offline", 2 is everyone.
      * @return The level to debug.
@@ -66,6 +66,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setLastLogin(Instant login) {
         this.login = login.toEpochMilli();
+        markDirty();
     }
 
     public Optional<Instant> getLastLogout() {
@@ -79,6 +80,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
     public void setLastLogout(Location<World> location) {
         this.logout = System.currentTimeMillis();
         this.lastLocation = new LocationNode(location);
+        markDirty();
     }
 
     public Optional<LocationNode> getLogoutLocationSafe() {
@@ -112,10 +114,12 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
     public void sendToLocationOnLogin(@Nonnull Location<World> worldLocation) {
         Preconditions.checkNotNull(worldLocation);
         this.locationOnLogin = new LocationNode(worldLocation);
+        markDirty();
     }
 
     public void removeLocationOnLogin() {
         this.locationOnLogin = null;
+        markDirty();
     }
 
     public Optional<String> getLastIp() {
@@ -124,6 +128,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setLastIp(InetAddress address) {
         this.ipaddress = address.toString();
+        markDirty();
     }
 
     public Optional<String> getLastKnownName() {
@@ -132,6 +137,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setLastKnownName(String lastKnownName) {
         this.lastKnownName = lastKnownName;
+        markDirty();
     }
 
     public boolean isFirstPlay() {
@@ -152,6 +158,7 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setFirstJoin(Instant firstJoin) {
         this.firstJoin = firstJoin.toEpochMilli();
+        markDirty();
     }
 
     public boolean isStartedFirstJoin() {
@@ -160,5 +167,6 @@ public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     public void setStartedFirstJoin(boolean startedFirstJoin) {
         this.startedFirstJoin = startedFirstJoin;
+        markDirty();
     }
 }
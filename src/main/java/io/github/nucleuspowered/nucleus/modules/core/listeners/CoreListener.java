@@ -48,9 +48,20 @@ public class CoreListener extends ListenerBase {
     @Inject private UserDataManager loader;
     @Inject private CoreConfigAdapter cca;
 
+    /* (non-Javadoc)
+     * Authentication happens off the main thread - start reading the player's data now so that we don't have to
+     * do it during login.
+     */
+    @Listener(order = Order.LAST)
+    public void onPlayerAuth(final ClientConnectionEvent.Auth event, @Getter("getProfile") GameProfile profile) {
+        loader.prefetch(profile.getUniqueId());
+    }
+
     @IsCancelled(Tristate.UNDEFINED)
     @Listener(order = Order.FIRST)
     public void onPlayerLoginFirst(final ClientConnectionEvent.Login event, @Getter("getTargetUser") User user) {
+        loader.awaitPrefetch(user.getUniqueId());
+
         // This works here. Not complaining.
         if (Util.isFirstPlay(user)) {
             loader.get(user).ifPresent(qsu -> {
@@ -112,6 +123,7 @@ public class CoreListener extends ListenerBase {
             c.setFirstJoin(player.getJoinData().firstPlayed().get());
             if (this.plugin.isServer()) {
                 c.setLastIp(player.getConnection().getAddress().getAddress());
+                plugin.getUserCacheService().updateCacheForPlayer(qsu);
             }
 
             // We'll do this bit shortly - after the login events have resolved.
@@ -159,7 +171,7 @@ public class CoreListener extends ListenerBase {
                 y.setLastIp(address);
             });
 
-            x.save();
+            this.loader.queueSave(x.getUniqueId());
             plugin.getUserCacheService().updateCacheForPlayer(x);
         } catch (Exception e) {
             if (cca.getNodeOrDefault().isDebugmode()) {
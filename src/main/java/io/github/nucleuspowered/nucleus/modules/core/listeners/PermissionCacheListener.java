@@ -0,0 +1,42 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.listeners;
+
+import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionCache;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+/**
+ * Removes the permissions and options that the {@link PermissionCache} holds for players when they may no longer apply.
+ * The caches of what has been worked out from them, such as display names and chat templates, are told through the
+ * invalidation listeners of the {@link PermissionCache}, so only this listener, and the mute handler when a player's
+ * muted context changes, need to do this.
+ */
+public class PermissionCacheListener extends ListenerBase {
+
+    // Permission plugins load the data of a player as they log in, so nothing from a previous session should be used.
+    @Listener(order = Order.FIRST)
+    public void onPlayerJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        plugin.getPermissionCache().invalidate(player.getUniqueId());
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerQuit(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        plugin.getPermissionCache().invalidate(player.getUniqueId());
+    }
+
+    // The active contexts of a player include their world, so their permissions, options and groups may differ.
+    @Listener(order = Order.POST)
+    public void onPlayerWorldTransfer(MoveEntityEvent.Teleport event, @Getter("getTargetEntity") Player player) {
+        if (!event.getFromTransform().getExtent().getUniqueId().equals(event.getToTransform().getExtent().getUniqueId())) {
+            plugin.getPermissionCache().invalidate(player.getUniqueId());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.listeners;
+
+import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+/**
+ * Adds players to the {@link PlayerNameIndex} as they log in, so that new players and name changes can be found.
+ */
+public class PlayerNameIndexListener extends ListenerBase {
+
+    @Listener(order = Order.FIRST)
+    public void onPlayerJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        plugin.getPlayerNameIndex().setName(player.getUniqueId(), player.getName());
+    }
+}
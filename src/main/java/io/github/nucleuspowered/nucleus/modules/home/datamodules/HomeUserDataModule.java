@@ -74,6 +74,7 @@ public class HomeUserDataModule extends DataModule.ReferenceService<ModularUserS
         }
 
         homeData.put(home, new LocationNode(location, rotation));
+        markDirty();
         return true;
     }
 
@@ -85,6 +86,7 @@ public class HomeUserDataModule extends DataModule.ReferenceService<ModularUserS
         Optional<String> os = Util.getKeyIgnoreCase(homeData, home);
         if (os.isPresent()) {
             homeData.remove(os.get());
+            markDirty();
             return true;
         }
 
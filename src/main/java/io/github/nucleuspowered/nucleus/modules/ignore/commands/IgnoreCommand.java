@@ -15,6 +15,7 @@ import io.github.nucleuspowered.nucleus.internal.docgen.annotations.EssentialsEq
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.ignore.handlers.IgnoreHandler;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
@@ -37,13 +38,15 @@ import javax.inject.Inject;
 public class IgnoreCommand extends AbstractCommand<Player> {
 
     private final UserDataManager loader;
+    private final IgnoreHandler handler;
 
     private final String userKey = "user";
     private final String toggleKey = "toggle";
 
     @Inject
-    public IgnoreCommand(UserDataManager loader) {
+    public IgnoreCommand(UserDataManager loader, IgnoreHandler handler) {
         this.loader = loader;
+        this.handler = handler;
     }
 
     @Override
@@ -74,6 +77,7 @@ public class IgnoreCommand extends AbstractCommand<Player> {
         if (permissions.testSuffix(target, "exempt.chat")) {
             // Make sure they are removed.
             inu.removeFromIgnoreList(target.getUniqueId());
+            handler.unignore(src.getUniqueId(), target.getUniqueId());
             src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.ignore.exempt", target.getName()));
             return CommandResult.empty();
         }
@@ -83,9 +87,11 @@ public class IgnoreCommand extends AbstractCommand<Player> {
 
         if (ignore) {
             inu.addToIgnoreList(target.getUniqueId());
+            handler.ignore(src.getUniqueId(), target.getUniqueId());
             src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.ignore.added", target.getName()));
         } else {
             inu.removeFromIgnoreList(target.getUniqueId());
+            handler.unignore(src.getUniqueId(), target.getUniqueId());
             src.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("command.ignore.remove", target.getName()));
         }
 
@@ -0,0 +1,123 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.ignore.handlers;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps, for each player, the online players that are ignoring them, so that chat can be filtered without reading the
+ * ignore list of every receiver.
+ *
+ * <p>The ignore lists of players are added when they log in and removed when they log out, and are kept up to date
+ * when they are changed with /ignore.</p>
+ */
+public class IgnoreHandler {
+
+    // Ignored player -> online players that ignore them.
+    private final Map<UUID, Set<UUID>> ignoredBy = Maps.newConcurrentMap();
+
+    // Online player -> players that they ignore.
+    private final Map<UUID, Set<UUID>> ignoring = Maps.newConcurrentMap();
+
+    /**
+     * Adds the ignore list of a player that has logged in.
+     *
+     * @param player The {@link UUID} of the player.
+     * @param ignoreList The players that they ignore.
+     */
+    public synchronized void load(UUID player, Collection<UUID> ignoreList) {
+        unload(player);
+        this.ignoring.put(player, Sets.newConcurrentHashSet(ignoreList));
+        ignoreList.forEach(x -> this.ignoredBy.computeIfAbsent(x, k -> Sets.newConcurrentHashSet()).add(player));
+    }
+
+    /**
+     * Removes the ignore list of a player that has logged out.
+     *
+     * @param player The {@link UUID} of the player.
+     */
+    public synchronized void unload(UUID player) {
+        Set<UUID> ignored = this.ignoring.remove(player);
+        if (ignored != null) {
+            ignored.forEach(x -> removeFromIgnoredBy(x, player));
+        }
+    }
+
+    /**
+     * Records that a player has started ignoring another. Does nothing if the player is not online.
+     *
+     * @param player The {@link UUID} of the player doing the ignoring.
+     * @param target The {@link UUID} of the player being ignored.
+     */
+    public synchronized void ignore(UUID player, UUID target) {
+        Set<UUID> ignored = this.ignoring.get(player);
+        if (ignored != null && ignored.add(target)) {
+            this.ignoredBy.computeIfAbsent(target, k -> Sets.newConcurrentHashSet()).add(player);
+        }
+    }
+
+    /**
+     * Records that a player has stopped ignoring another.
+     *
+     * @param player The {@link UUID} of the player doing the ignoring.
+     * @param target The {@link UUID} of the player being ignored.
+     */
+    public synchronized void unignore(UUID player, UUID target) {
+        Set<UUID> ignored = this.ignoring.get(player);
+        if (ignored != null && ignored.remove(target)) {
+            removeFromIgnoredBy(target, player);
+        }
+    }
+
+    /**
+     * Returns whether the ignore list of a player is held here, which is the case while they are online.
+     *
+     * @param player The {@link UUID} of the player.
+     * @return <code>true</code> if their ignore list is held.
+     */
+    public boolean isLoaded(UUID player) {
+        return this.ignoring.containsKey(player);
+    }
+
+    /**
+     * Returns whether an online player is ignoring another player.
+     *
+     * @param player The {@link UUID} of the online player.
+     * @param target The {@link UUID} of the player that might be ignored.
+     * @return <code>true</code> if they are ignoring them.
+     */
+    public boolean isIgnoring(UUID player, UUID target) {
+        return getIgnoredBy(target).contains(player);
+    }
+
+    /**
+     * Gets the online players that are ignoring a player.
+     *
+     * @param target The {@link UUID} of the player.
+     * @return The {@link UUID}s of the online players ignoring them.
+     */
+    public Set<UUID> getIgnoredBy(UUID target) {
+        Set<UUID> players = this.ignoredBy.get(target);
+        return players == null ? ImmutableSet.of() : Collections.unmodifiableSet(players);
+    }
+
+    private void removeFromIgnoredBy(UUID target, UUID player) {
+        Set<UUID> players = this.ignoredBy.get(target);
+        if (players != null) {
+            players.remove(player);
+            if (players.isEmpty()) {
+                this.ignoredBy.remove(target);
+            }
+        }
+    }
+}
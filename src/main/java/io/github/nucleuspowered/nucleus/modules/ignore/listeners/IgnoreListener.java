@@ -4,7 +4,6 @@
  */
 package io.github.nucleuspowered.nucleus.modules.ignore.listeners;
 
-import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.chat.NucleusNoIgnoreChannel;
 import io.github.nucleuspowered.nucleus.api.events.NucleusMailEvent;
@@ -15,18 +14,24 @@ import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.ignore.commands.IgnoreCommand;
 import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.ignore.handlers.IgnoreHandler;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.event.message.MessageChannelEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.text.channel.MutableMessageChannel;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
@@ -34,8 +39,25 @@ public class IgnoreListener extends ListenerBase {
 
     @Inject private UserDataManager loader;
     @Inject private CoreConfigAdapter cca;
+    @Inject private IgnoreHandler handler;
     private CommandPermissionHandler ignoreHandler = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(IgnoreCommand.class);
 
+    @Listener
+    public void onPlayerJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        try {
+            loader.get(player).ifPresent(x -> handler.load(player.getUniqueId(), x.get(IgnoreUserDataModule.class).getIgnoreList()));
+        } catch (Exception e) {
+            if (plugin.isDebugMode()) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onPlayerQuit(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        handler.unload(player.getUniqueId());
+    }
+
     @Listener(order = Order.LATE)
     public void onChat(MessageChannelEvent.Chat event, @Root Player player) {
         if (event.getChannel().orElseGet(event::getOriginalChannel) instanceof NucleusNoIgnoreChannel) {
@@ -52,7 +74,9 @@ public class IgnoreListener extends ListenerBase {
 
     @Listener(order = Order.FIRST)
     public void onMessage(NucleusMessageEvent event, @Root Player player) {
-        if (event.getRecipient() instanceof User) {
+        if (event.getRecipient() instanceof Player && handler.isLoaded(((Player) event.getRecipient()).getUniqueId())) {
+            event.setCancelled(handler.isIgnoring(((Player) event.getRecipient()).getUniqueId(), player.getUniqueId()));
+        } else if (event.getRecipient() instanceof User) {
             try {
                 event.setCancelled(loader.get((User) event.getRecipient()).get()
                         .get(IgnoreUserDataModule.class)
@@ -86,35 +110,19 @@ public class IgnoreListener extends ListenerBase {
      * @return {@link Optional} if unchanged, otherwise a {@link Collection} of {@link MessageReceiver}s to remove
      */
     private Optional<Collection<MessageReceiver>> checkCancels(Collection<MessageReceiver> collection, Player player) {
-        if (ignoreHandler.testSuffix(player, "exempt.chat")) {
+        Set<UUID> ignoredBy = handler.getIgnoredBy(player.getUniqueId());
+        if (ignoredBy.isEmpty()) {
             return Optional.empty();
         }
 
-        List<MessageReceiver> list = Lists.newArrayList(collection);
-        list.removeIf(x -> {
-            try {
-                if (!(x instanceof Player)) {
-                    // Remove if not a player.
-                    return true;
-                }
-
-                if (x.equals(player)) {
-                    // Remove if the same player.
-                    return true;
-                }
-
-                // Don't remove if they are in the list.
-                return !loader.get((Player) x).map(y ->
-                        y.get(IgnoreUserDataModule.class).getIgnoreList().contains(player.getUniqueId())).orElse(false);
-            } catch (Exception e) {
-                if (plugin.isDebugMode()) {
-                    e.printStackTrace();
-                }
+        if (ignoreHandler.testSuffix(player, "exempt.chat")) {
+            return Optional.empty();
+        }
 
-                // Remove them.
-                return true;
-            }
-        });
+        // Remove the players that are ignoring the sender.
+        List<MessageReceiver> list = collection.stream()
+                .filter(x -> x instanceof Player && !x.equals(player) && ignoredBy.contains(((Player) x).getUniqueId()))
+                .collect(Collectors.toList());
 
         // We do this so we don't have to recreate a channel if nothing changes.
         if (list.isEmpty()) {
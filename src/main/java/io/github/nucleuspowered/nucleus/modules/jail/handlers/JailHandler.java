@@ -154,6 +154,7 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
         }
 
         jailUserDataModule.setJailData(data);
+        plugin.getUserCacheService().updateCacheForPlayer(modularUserService);
         if (user.isOnline()) {
             Sponge.getScheduler().createSyncExecutor(plugin).execute(() -> {
                 Player player = user.getPlayer().get();
@@ -198,12 +199,14 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
 
                 // Remove after the teleport for the back data.
                 jailUserDataModule.removeJailData();
+                plugin.getUserCacheService().updateCacheForPlayer(modularUserService);
             });
         } else {
             modularUserService.get(CoreUserDataModule.class).sendToLocationOnLogin(
                     ow.orElseGet(() -> new Location<>(Sponge.getServer().getWorld(Sponge.getServer().getDefaultWorld().get().getUniqueId()).get(),
                             Sponge.getServer().getDefaultWorld().get().getSpawnPosition())));
             jailUserDataModule.removeJailData();
+            plugin.getUserCacheService().updateCacheForPlayer(modularUserService);
         }
 
         Sponge.getEventManager().post(new JailEvent.Unjailed(user, cause));
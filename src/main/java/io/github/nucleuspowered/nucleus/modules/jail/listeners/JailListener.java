@@ -130,6 +130,7 @@ public class JailListener extends ListenerBase.Reloadable {
             if (omd.isPresent()) {
                 JailData md = omd.get();
                 md.nextLoginToTimestamp();
+                qs.markDirty();
 
                 omd = Util.testForEndTimestamp(qs.getJailData(), () -> handler.unjailPlayer(user));
                 if (omd.isPresent()) {
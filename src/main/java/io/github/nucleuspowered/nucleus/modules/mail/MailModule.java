@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.modules.mail;
 
 import io.github.nucleuspowered.nucleus.api.service.NucleusMailService;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.StandardModule;
+import io.github.nucleuspowered.nucleus.modules.mail.data.MailJournal;
 import io.github.nucleuspowered.nucleus.modules.mail.handlers.MailHandler;
 import org.spongepowered.api.Game;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
@@ -22,7 +23,10 @@ public class MailModule extends StandardModule {
     protected void performPreTasks() throws Exception {
         super.performPreTasks();
 
-        MailHandler m = new MailHandler(game, plugin);
+        MailJournal journal = new MailJournal(() -> plugin.getDataPath().resolve("mail"));
+        serviceManager.registerService(MailJournal.class, journal);
+
+        MailHandler m = new MailHandler(game, plugin, journal);
         serviceManager.registerService(MailHandler.class, m);
         game.getServiceManager().setProvider(plugin, NucleusMailService.class, m);
     }
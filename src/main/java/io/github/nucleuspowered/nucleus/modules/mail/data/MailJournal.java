@@ -0,0 +1,274 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.mail.data;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Striped;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Mail for users whose data is not loaded, kept in an append-only file per recipient so that sending mail does not
+ * require the recipient's user file to be loaded.
+ *
+ * <p>Each journal starts with a random ID. The recipient's data records the ID and the position up to which the
+ * journal has been merged into it, so that mail is never merged twice, even if the user data is saved and the server
+ * stops before the journal is compacted. Compacting a journal gives it a new ID.</p>
+ */
+public final class MailJournal {
+
+    private static final int MAGIC = 0x4E4D4A31;
+    private static final int HEADER_SIZE = 4 + 8;
+
+    // length of message, sender msb, sender lsb, date
+    private static final int RECORD_HEADER_SIZE = 4 + 8 + 8 + 8;
+
+    private final Supplier<Path> directory;
+    private final Striped<Lock> locks = Striped.lock(64);
+
+    /**
+     * Creates the journal store.
+     *
+     * @param directory Supplies the directory that the journals are kept in. This is read on every access, as the
+     *                  data directory can change on a client.
+     */
+    public MailJournal(Supplier<Path> directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Adds mail to the end of the recipient's journal.
+     *
+     * @param recipient The recipient.
+     * @param mail The mail.
+     * @throws IOException if the mail could not be written.
+     */
+    public void append(UUID recipient, MailData mail) throws IOException {
+        byte[] message = mail.getMessage().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + message.length);
+        record.putInt(message.length)
+                .putLong(mail.getUuid().getMostSignificantBits())
+                .putLong(mail.getUuid().getLeastSignificantBits())
+                .putLong(mail.getDate().toEpochMilli())
+                .put(message)
+                .flip();
+
+        Path file = getFile(recipient);
+        Lock lock = this.locks.get(recipient);
+        lock.lock();
+        try {
+            // A journal that is shorter than its header was being created when the server stopped, so start it again.
+            if (Files.notExists(file) || Files.size(file) < HEADER_SIZE) {
+                Files.createDirectories(file.getParent());
+                writeNew(file, ThreadLocalRandom.current().nextLong(), record);
+            } else {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    writeFully(channel, record);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the mail in the recipient's journal that has not yet been merged.
+     *
+     * @param recipient The recipient.
+     * @param id The ID of the journal that was last merged, or 0 if none has been.
+     * @param position The position in that journal up to which mail has been merged.
+     * @return The unmerged mail, and the ID and position to record once it has been merged.
+     * @throws IOException if the journal could not be read.
+     */
+    public Entries read(UUID recipient, long id, long position) throws IOException {
+        Path file = getFile(recipient);
+        Lock lock = this.locks.get(recipient);
+        lock.lock();
+        try {
+            if (Files.notExists(file) || Files.size(file) < HEADER_SIZE) {
+                return new Entries(0, 0, ImmutableList.of());
+            }
+
+            return read(file, id, position);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Entries read(Path file, long id, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileId = readId(channel, file);
+            long start = fileId == id ? Math.max(position, HEADER_SIZE) : HEADER_SIZE;
+            ImmutableList.Builder<MailData> mail = ImmutableList.builder();
+            long end = readRecords(channel, start, mail);
+            if (end < channel.size()) {
+                // The server stopped part way through an append. Remove what's left, so later appends can be read.
+                channel.truncate(end);
+            }
+
+            return new Entries(fileId, end, mail.build());
+        }
+    }
+
+    /**
+     * Removes the mail that has been merged from the recipient's journal. This must only be called once the user data
+     * that records the merge has been saved.
+     *
+     * @param recipient The recipient.
+     * @param id The ID of the journal that was merged.
+     * @param position The position up to which the journal was merged.
+     * @throws IOException if the journal could not be compacted.
+     */
+    public void compact(UUID recipient, long id, long position) throws IOException {
+        Path file = getFile(recipient);
+        Lock lock = this.locks.get(recipient);
+        lock.lock();
+        try {
+            if (Files.notExists(file)) {
+                return;
+            }
+
+            ByteBuffer remaining;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (readId(channel, file) != id || position < HEADER_SIZE) {
+                    return;
+                }
+
+                remaining = ByteBuffer.allocate((int) Math.max(0, channel.size() - position));
+                while (remaining.hasRemaining() && channel.read(remaining, position + remaining.position()) >= 0) {
+                    // keep reading
+                }
+
+                remaining.flip();
+            }
+
+            if (!remaining.hasRemaining()) {
+                Files.delete(file);
+                return;
+            }
+
+            // Mail was added after the merge, so keep it in a journal with a new ID.
+            Path tmp = Paths.get(file.toAbsolutePath().toString() + ".tmp");
+            writeNew(tmp, ThreadLocalRandom.current().nextLong(), remaining);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the recipient's journal, if they have one.
+     *
+     * @param recipient The recipient.
+     * @throws IOException if the journal could not be deleted.
+     */
+    public void delete(UUID recipient) throws IOException {
+        Lock lock = this.locks.get(recipient);
+        lock.lock();
+        try {
+            Files.deleteIfExists(getFile(recipient));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Path getFile(UUID recipient) {
+        String u = recipient.toString();
+        return this.directory.get().resolve(u.substring(0, 2) + File.separator + u + ".journal");
+    }
+
+    private static void writeNew(Path file, long id, ByteBuffer records) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putLong(id).flip();
+            writeFully(channel, header);
+            writeFully(channel, records);
+            channel.force(true);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static long readId(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (channel.size() < HEADER_SIZE || channel.read(header, 0) < HEADER_SIZE || header.getInt(0) != MAGIC) {
+            throw new IOException(file.getFileName() + " is not a mail journal.");
+        }
+
+        return header.getLong(4);
+    }
+
+    private static long readRecords(FileChannel channel, long position, ImmutableList.Builder<MailData> mail) throws IOException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        while (position + RECORD_HEADER_SIZE <= size) {
+            header.clear();
+            channel.read(header, position);
+            int length = header.getInt(0);
+            if (length < 0 || position + RECORD_HEADER_SIZE + length > size) {
+                break;
+            }
+
+            ByteBuffer message = ByteBuffer.allocate(length);
+            while (message.hasRemaining() && channel.read(message, position + RECORD_HEADER_SIZE + message.position()) >= 0) {
+                // keep reading
+            }
+
+            mail.add(new MailData(new UUID(header.getLong(4), header.getLong(12)), Instant.ofEpochMilli(header.getLong(20)),
+                    new String(message.array(), StandardCharsets.UTF_8)));
+            position += RECORD_HEADER_SIZE + length;
+        }
+
+        return position;
+    }
+
+    /**
+     * Mail read from a journal.
+     */
+    public static final class Entries {
+
+        private final long id;
+        private final long position;
+        private final List<MailData> mail;
+
+        private Entries(long id, long position, List<MailData> mail) {
+            this.id = id;
+            this.position = position;
+            this.mail = mail;
+        }
+
+        public long getId() {
+            return this.id;
+        }
+
+        public long getPosition() {
+            return this.position;
+        }
+
+        public List<MailData> getMail() {
+            return this.mail;
+        }
+    }
+}
@@ -6,19 +6,40 @@ package io.github.nucleuspowered.nucleus.modules.mail.datamodules;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.nucleusdata.MailMessage;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.modules.mail.data.MailData;
+import io.github.nucleuspowered.nucleus.modules.mail.data.MailJournal;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
-public class MailUserDataModule extends DataModule<ModularUserService> {
+public class MailUserDataModule extends DataModule.ReferenceService<ModularUserService> {
 
     @DataKey("mail")
     private List<MailData> mailDataList = Lists.newArrayList();
 
+    // How much of the mail journal has been merged into the list above.
+    @DataKey("mailJournalId")
+    private long journalId = 0;
+
+    @DataKey("mailJournalPosition")
+    private long journalPosition = 0;
+
+    public MailUserDataModule(ModularUserService modularDataService) {
+        super(modularDataService);
+    }
+
+    @Override protected void migrate() {
+        // Pick up any mail that was sent while this user was not loaded. This is the only time that mail sent to a
+        // loaded user goes to the journal, so it doesn't need to be checked again until the next load.
+        mergeJournal();
+    }
+
     public List<MailData> getMail() {
         return ImmutableList.copyOf(mailDataList);
     }
@@ -29,18 +50,75 @@ public class MailUserDataModule extends DataModule<ModularUserService> {
         }
 
         mailDataList.add(mailData);
+        markDirty();
     }
 
     public boolean removeMail(MailMessage mailData) {
-        return mailDataList.removeIf(x -> x.equals(mailData));
+        if (mailDataList.removeIf(x -> x.equals(mailData))) {
+            markDirty();
+            return true;
+        }
+
+        return false;
     }
 
     public boolean clearMail() {
         if (!mailDataList.isEmpty()) {
             mailDataList.clear();
+            markDirty();
             return true;
         } else {
             return false;
         }
     }
+
+    /**
+     * Adds any mail that was sent to this user while their data was not loaded.
+     *
+     * @return true if any mail was added.
+     */
+    public synchronized boolean mergeJournal() {
+        Optional<MailJournal> journal = getJournal();
+        if (!journal.isPresent()) {
+            return false;
+        }
+
+        try {
+            MailJournal.Entries entries = journal.get().read(getService().getUniqueId(), journalId, journalPosition);
+            if (entries.getMail().isEmpty()) {
+                return false;
+            }
+
+            if (mailDataList == null) {
+                mailDataList = Lists.newArrayList();
+            }
+
+            mailDataList.addAll(entries.getMail());
+            journalId = entries.getId();
+            journalPosition = entries.getPosition();
+            markDirty();
+            return true;
+        } catch (IOException e) {
+            Nucleus.getNucleus().getLogger().error("Could not read the mail journal for " + getService().getUniqueId().toString(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Removes the mail that has been merged from the journal, if this module has been saved since it was merged.
+     */
+    public synchronized void compactJournal() {
+        Optional<MailJournal> journal = getJournal();
+        if (journal.isPresent() && journalPosition > 0 && !isDirty()) {
+            try {
+                journal.get().compact(getService().getUniqueId(), journalId, journalPosition);
+            } catch (IOException e) {
+                Nucleus.getNucleus().getLogger().error("Could not compact the mail journal for " + getService().getUniqueId().toString(), e);
+            }
+        }
+    }
+
+    private static Optional<MailJournal> getJournal() {
+        return Nucleus.getNucleus().getInternalServiceManager().getService(MailJournal.class);
+    }
 }
@@ -9,7 +9,9 @@ import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.nucleusdata.MailMessage;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMailService;
+import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.modules.mail.data.MailData;
+import io.github.nucleuspowered.nucleus.modules.mail.data.MailJournal;
 import io.github.nucleuspowered.nucleus.modules.mail.datamodules.MailUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.mail.events.InternalNucleusMailEvent;
 import org.spongepowered.api.Game;
@@ -17,6 +19,7 @@ import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.text.Text;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
@@ -28,10 +31,12 @@ public class MailHandler implements NucleusMailService {
 
     private final Game game;
     private final NucleusPlugin plugin;
+    private final MailJournal journal;
 
-    public MailHandler(Game game, NucleusPlugin plugin) {
+    public MailHandler(Game game, NucleusPlugin plugin, MailJournal journal) {
         this.game = game;
         this.plugin = plugin;
+        this.journal = journal;
     }
 
     @Override
@@ -63,14 +68,6 @@ public class MailHandler implements NucleusMailService {
 
     @Override
     public void sendMail(User playerFrom, User playerTo, String message) {
-        MailUserDataModule iqsu;
-        try {
-            iqsu = plugin.getUserDataManager().get(playerTo).get().get(MailUserDataModule.class);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return;
-        }
-
         // Message is about to be sent. Send the event out. If canceled, then
         // that's that.
         if (Sponge.getEventManager().post(new InternalNucleusMailEvent(playerFrom, playerTo, message))) {
@@ -79,7 +76,19 @@ public class MailHandler implements NucleusMailService {
         }
 
         MailData md = new MailData(playerFrom == null ? Util.consoleFakeUUID : playerFrom.getUniqueId(), Instant.now(), message);
-        iqsu.addMail(md);
+
+        // If the recipient isn't loaded, don't load their whole file just to add one message.
+        Optional<ModularUserService> recipient = plugin.getUserDataManager().getIfLoaded(playerTo.getUniqueId());
+        if (recipient.isPresent()) {
+            recipient.get().get(MailUserDataModule.class).addMail(md);
+        } else {
+            try {
+                journal.append(playerTo.getUniqueId(), md);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
 
         Text from = playerFrom == null ? Text.of(game.getServer().getConsole().getName()) : plugin.getNameUtil().getName(playerFrom);
         if (playerTo.isOnline()) {
@@ -88,6 +97,24 @@ public class MailHandler implements NucleusMailService {
         }
     }
 
+    /**
+     * Merges any mail sent while the user was not loaded into their data, saves it, then removes that mail from the
+     * journal.
+     *
+     * @param user The user.
+     */
+    public void mergeJournal(User user) {
+        plugin.getUserDataManager().get(user).ifPresent(x -> {
+            MailUserDataModule module = x.get(MailUserDataModule.class);
+            module.mergeJournal();
+
+            // Save first, even if nothing was merged now, as an earlier merge may not have been written yet.
+            if (x.save()) {
+                module.compactJournal();
+            }
+        });
+    }
+
     @Override
     public void sendMailFromConsole(User playerTo, String message) {
         sendMail(null, playerTo, message);
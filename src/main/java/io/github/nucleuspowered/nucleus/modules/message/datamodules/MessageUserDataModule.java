@@ -26,6 +26,7 @@ public class MessageUserDataModule extends DataModule.ReferenceService<ModularUs
 
     public void setSocialSpy(boolean socialSpy) {
         this.socialspy = socialSpy;
+        markDirty();
     }
 
     public boolean isMsgToggle() {
@@ -34,6 +35,7 @@ public class MessageUserDataModule extends DataModule.ReferenceService<ModularUs
 
     public void setMsgToggle(boolean msgToggle) {
         this.msgToggle = msgToggle;
+        markDirty();
     }
 
 }
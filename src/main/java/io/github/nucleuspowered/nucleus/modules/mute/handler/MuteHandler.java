@@ -94,7 +94,11 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
         }
 
         u.get(MuteUserDataModule.class).setMuteData(data);
+        Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(u);
         this.muteContextCache.put(u.getUniqueId(), true);
+
+        // The muted context has changed, so anything worked out from the player's permissions and options may differ.
+        Nucleus.getNucleus().getPermissionCache().invalidate(u.getUniqueId());
         Sponge.getEventManager().post(new MuteEvent.Muted(
                 cause,
                 user,
@@ -116,7 +120,9 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
             Optional<ModularUserService> o = ucl.get(user);
             if (o.isPresent()) {
                 o.get().get(MuteUserDataModule.class).removeMuteData();
+                Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(o.get());
                 muteContextCache.put(user.getUniqueId(), false);
+                Nucleus.getNucleus().getPermissionCache().invalidate(user.getUniqueId());
                 Sponge.getEventManager().post(new MuteEvent.Unmuted(
                         cause,
                         user,
@@ -52,6 +52,7 @@ public class NicknameUserDataModule extends DataModule.ReferenceService<ModularU
     protected void migrate() {
         if (nicknameStore != null && !nicknameStore.isEmpty()) {
             this.nickname = TextSerializers.FORMATTING_CODE.deserialize(nicknameStore);
+            markDirty();
         }
     }
 
@@ -78,6 +79,9 @@ public class NicknameUserDataModule extends DataModule.ReferenceService<ModularU
 
     public void setNickname(Text nickname) {
         this.nickname = nickname;
+        markDirty();
+        Nucleus.getNucleus().getNameUtil().invalidate(getService().getUniqueId());
+        Nucleus.getNucleus().getPlayerNameIndex().setNickname(getService().getUniqueId(), getIndexedNickname(nickname));
 
         getService().getPlayer().ifPresent(x -> {
             Optional<Text> p = getNickPrefix();
@@ -91,9 +95,22 @@ public class NicknameUserDataModule extends DataModule.ReferenceService<ModularU
 
     public void removeNickname() {
         this.nickname = null;
+        markDirty();
+        Nucleus.getNucleus().getNameUtil().invalidate(getService().getUniqueId());
+        Nucleus.getNucleus().getPlayerNameIndex().setNickname(getService().getUniqueId(), null);
         getService().getPlayer().ifPresent(x -> x.remove(Keys.DISPLAY_NAME));
     }
 
+    /**
+     * Gets the nickname as it is typed in commands, without any formatting.
+     *
+     * @param nickname The nickname.
+     * @return The nickname to index.
+     */
+    public static String getIndexedNickname(Text nickname) {
+        return TextSerializers.FORMATTING_CODE.stripCodes(nickname.toPlain());
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected <T> Optional<T> getValue(TypeToken<T> token, String[] path, ConfigurationNode node) {
@@ -26,6 +26,7 @@ public class NicknameListener extends ListenerBase {
     public void onPlayerJoin(ClientConnectionEvent.Join event, @Root Player player) {
         ucl.get(player).ifPresent(x -> {
             Optional<Text> d = x.get(NicknameUserDataModule.class).getNicknameAsText();
+            plugin.getPlayerNameIndex().setNickname(player.getUniqueId(), d.map(NicknameUserDataModule::getIndexedNickname).orElse(null));
             if (d.isPresent()) {
                 player.offer(Keys.DISPLAY_NAME, d.get());
             } else {
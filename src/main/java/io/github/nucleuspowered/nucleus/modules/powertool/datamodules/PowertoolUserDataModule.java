@@ -39,14 +39,17 @@ public class PowertoolUserDataModule extends DataModule<ModularUserService> {
 
     public void setPowertool(ItemType type, List<String> commands) {
         powertools.put(type.getId(), commands);
+        markDirty();
     }
 
     public void clearPowertool(ItemType type) {
         powertools.remove(type.getId());
+        markDirty();
     }
 
     public void clearPowertool(String type) {
         powertools.remove(type);
+        markDirty();
     }
 
     public boolean isPowertoolToggled() {
@@ -55,6 +58,7 @@ public class PowertoolUserDataModule extends DataModule<ModularUserService> {
 
     public void setPowertoolToggle(boolean set) {
         this.powertoolToggle = set;
+        markDirty();
     }
 
 }
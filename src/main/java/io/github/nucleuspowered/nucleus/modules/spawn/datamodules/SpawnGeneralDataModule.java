@@ -40,9 +40,11 @@ public class SpawnGeneralDataModule extends DataModule<ModularGeneralService> {
 
     public void setFirstSpawn(Location<World> location, Vector3d rot) {
         firstspawn = new LocationNode(location, rot);
+        markDirty();
     }
 
     public void removeFirstSpawn() {
         firstspawn = null;
+        markDirty();
     }
 }
@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.modules.staffchat;
 import com.google.common.base.Preconditions;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.api.chat.NucleusChatChannel;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionCache;
 import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
 import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
 import io.github.nucleuspowered.nucleus.modules.staffchat.commands.StaffChatCommand;
@@ -82,7 +83,9 @@ public class StaffChatMessageChannel implements NucleusChatChannel.StaffChat {
     @Override
     @Nonnull
     public Collection<MessageReceiver> getMembers() {
-        List<MessageReceiver> c = Sponge.getServer().getOnlinePlayers().stream().filter(x -> x.hasPermission(basePerm)).collect(Collectors.toList());
+        PermissionCache permissionCache = plugin.getPermissionCache();
+        List<MessageReceiver> c = Sponge.getServer().getOnlinePlayers().stream().filter(x -> permissionCache.hasPermission(x, basePerm))
+                .collect(Collectors.toList());
         c.add(Sponge.getServer().getConsole());
         return c;
     }
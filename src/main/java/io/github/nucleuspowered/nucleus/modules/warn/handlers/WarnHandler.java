@@ -157,6 +157,8 @@ public class WarnHandler implements NucleusWarningService {
                 removeWarning(user, warning);
             }
         }
+
+        userService.get().get(WarnUserDataModule.class).markDirty();
         return true;
     }
 
@@ -34,7 +34,7 @@ public class WorldListener extends ListenerBase implements ListenerBase.Conditio
 		World target = event.getToTransform().getExtent();
 		if (player.getWorld().equals(target)) return;
 
-		if (!player.hasPermission(PermissionRegistry.PERMISSIONS_PREFIX + "worlds." + target.getName().toLowerCase())) {
+		if (!plugin.getPermissionCache().hasPermission(player, PermissionRegistry.PERMISSIONS_PREFIX + "worlds." + target.getName().toLowerCase())) {
 			event.setCancelled(true);
 			if (!this.messageSent.contains(player.getUniqueId())) {
                 player.sendMessage(plugin.getMessageProvider().getTextMessageWithFormat("world.access.denied", target.getName()));
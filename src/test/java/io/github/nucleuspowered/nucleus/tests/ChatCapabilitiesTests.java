@@ -0,0 +1,93 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.modules.chat.util.ChatCapabilities;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Checks that {@link ChatCapabilities#strip(String, long)} removes the same codes as the regular expression that was
+ * applied for each code the player could not use.
+ */
+public class ChatCapabilitiesTests {
+
+    // The bit for each code is its position in this string, as in ChatCapabilities.
+    private static final String CODES = "0123456789abcdefklmnor";
+    private static final long ALL_CODES = (1L << CODES.length()) - 1;
+
+    // Ampersands are over-represented, so that runs of them are common.
+    private static final String CHARACTERS = "&&&&&&&&0123456789abcdefklmnorABCDEFKLMNORgxyzGXYZ \u00e9";
+
+    @Test
+    public void testStripMatchesTheRegexForEachCode() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 50000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(16);
+            for (int j = 0; j < length; j++) {
+                sb.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+            }
+
+            String message = sb.toString();
+            long allowed;
+            switch (i % 4) {
+                case 0:
+                    allowed = 0;
+                    break;
+                case 1:
+                    allowed = ALL_CODES;
+                    break;
+                case 2:
+                    // Everything but one code.
+                    allowed = ALL_CODES & ~(1L << random.nextInt(CODES.length()));
+                    break;
+                default:
+                    allowed = random.nextLong() & ALL_CODES;
+                    break;
+            }
+
+            Assert.assertEquals(message + " with " + Long.toBinaryString(allowed), stripByRegex(message, allowed),
+                    ChatCapabilities.strip(message, allowed));
+        }
+    }
+
+    @Test
+    public void testStripRemovesRunsOfAmpersands() {
+        long allowed = 1L << CODES.indexOf('a');
+        Assert.assertEquals("hello world", ChatCapabilities.strip("hello &&&cworld", allowed));
+        Assert.assertEquals("hello &&aworld", ChatCapabilities.strip("hello &&aworld", allowed));
+        Assert.assertEquals("&&&", ChatCapabilities.strip("&&&", allowed));
+        Assert.assertEquals("x", ChatCapabilities.strip("&Kx&&r", allowed));
+    }
+
+    // How codes were stripped before ChatCapabilities: a permission check and a replacement for each code that was
+    // in the message, in the order of a HashMap keyed on the code.
+    private static String stripByRegex(String message, long allowed) {
+        Map<String, Integer> bits = new HashMap<>();
+        Map<String, Function<String, String>> replacements = new HashMap<>();
+        for (int i = 0; i < CODES.length(); i++) {
+            String key = String.valueOf(CODES.charAt(i));
+            bits.put("&" + key, i);
+            replacements.put("&" + key, s -> s.replaceAll("[&]+[" + key.toLowerCase() + key.toUpperCase() + "]", ""));
+        }
+
+        if (message.contains("&")) {
+            String m = message.toLowerCase();
+            for (Map.Entry<String, Function<String, String>> r : replacements.entrySet()) {
+                if (m.contains(r.getKey()) && (allowed & (1L << bits.get(r.getKey()))) == 0) {
+                    message = r.getValue().apply(message);
+                }
+            }
+        }
+
+        return message;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.dataservices.CooldownService;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CooldownServiceTests extends TestBase {
+
+    @Test
+    public void testExpiredCooldownsAreNotReturned() throws Exception {
+        CooldownService service = new CooldownService(new MemoryDataProvider());
+        UUID uuid = UUID.randomUUID();
+        service.setCooldown(uuid, "test", Instant.now().minusSeconds(1));
+        Assert.assertFalse(service.getCooldownEnd(uuid, "test").isPresent());
+
+        // Setting any cooldown removes the expired one.
+        service.setCooldown(uuid, "test2", Instant.now().plusSeconds(60));
+        Assert.assertEquals(1, service.getCooldownCount());
+    }
+
+    @Test
+    public void testCooldownsAreSavedAndRestored() throws Exception {
+        MemoryDataProvider provider = new MemoryDataProvider();
+        CooldownService service = new CooldownService(provider);
+        UUID uuid = UUID.randomUUID();
+        Instant end = Instant.now().plusSeconds(60);
+        service.setCooldown(uuid, "test", end);
+        service.setCooldown(uuid, "expired", Instant.now().minusSeconds(1));
+        Assert.assertTrue(service.save());
+
+        CooldownService restored = new CooldownService(provider);
+        Assert.assertTrue(restored.load());
+        Assert.assertEquals(1, restored.getCooldownCount());
+        Assert.assertEquals(Optional.of(end.toEpochMilli()), restored.getCooldownEnd(uuid, "test").map(Instant::toEpochMilli));
+        Assert.assertFalse(restored.getCooldownEnd(uuid, "expired").isPresent());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        CooldownService service = new CooldownService(new MemoryDataProvider());
+        List<UUID> uuids = Lists.newArrayList();
+        for (int i = 0; i < 50; i++) {
+            uuids.add(UUID.randomUUID());
+        }
+
+        Set<String> live = Sets.newConcurrentHashSet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = Lists.newArrayList();
+            for (int t = 0; t < 8; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 20000; i++) {
+                        UUID uuid = uuids.get(random.nextInt(uuids.size()));
+                        String command = "command" + random.nextInt(5);
+                        switch (random.nextInt(3)) {
+                            case 0:
+                                service.setCooldown(uuid, command, Instant.now().minus(1, ChronoUnit.MILLIS));
+                                break;
+                            case 1:
+                                service.setCooldown(uuid, "long" + command, Instant.now().plus(1, ChronoUnit.HOURS));
+                                live.add(uuid + "long" + command);
+                                break;
+                            default:
+                                service.getCooldownEnd(uuid, command);
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Every long cooldown is still there, and every expired one is removed by the next set.
+        live.forEach(x -> Assert.assertTrue(service.getCooldownEnd(UUID.fromString(x.substring(0, 36)), x.substring(36)).isPresent()));
+        service.setCooldown(UUID.randomUUID(), "last", Instant.now().plus(1, ChronoUnit.HOURS));
+        Assert.assertEquals(live.size() + 1, service.getCooldownCount());
+    }
+
+    private static class MemoryDataProvider implements DataProvider<Map<String, Map<String, Long>>> {
+
+        private Map<String, Map<String, Long>> data = Maps.newHashMap();
+
+        @Override public boolean has() {
+            return true;
+        }
+
+        @Override public Map<String, Map<String, Long>> load() throws Exception {
+            return this.data;
+        }
+
+        @Override public void save(Map<String, Map<String, Long>> info) throws Exception {
+            this.data = info;
+        }
+
+        @Override public void delete() throws Exception {
+            this.data = Maps.newHashMap();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.modules.ignore.handlers.IgnoreHandler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Checks that the players each player ignores and the players ignoring each player are kept in step by the
+ * {@link IgnoreHandler}.
+ */
+public class IgnoreHandlerTests {
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+
+    @Test
+    public void testLoadAddsToBothMaps() throws Exception {
+        IgnoreHandler handler = new IgnoreHandler();
+        handler.load(this.a, Lists.newArrayList(this.b, this.c));
+
+        Assert.assertTrue(handler.isLoaded(this.a));
+        Assert.assertTrue(handler.isIgnoring(this.a, this.b));
+        Assert.assertEquals(ImmutableSet.of(this.a), handler.getIgnoredBy(this.b));
+        Assert.assertEquals(ImmutableSet.of(this.a), handler.getIgnoredBy(this.c));
+        assertConsistent(handler);
+    }
+
+    @Test
+    public void testIgnoreAndUnignoreUpdateBothMaps() throws Exception {
+        IgnoreHandler handler = new IgnoreHandler();
+        handler.load(this.a, Lists.newArrayList());
+        handler.load(this.b, Lists.newArrayList());
+
+        handler.ignore(this.a, this.c);
+        handler.ignore(this.b, this.c);
+        Assert.assertEquals(ImmutableSet.of(this.a, this.b), handler.getIgnoredBy(this.c));
+        assertConsistent(handler);
+
+        handler.unignore(this.a, this.c);
+        Assert.assertEquals(ImmutableSet.of(this.b), handler.getIgnoredBy(this.c));
+        Assert.assertFalse(handler.isIgnoring(this.a, this.c));
+        assertConsistent(handler);
+
+        handler.unignore(this.b, this.c);
+        Assert.assertTrue(handler.getIgnoredBy(this.c).isEmpty());
+        assertConsistent(handler);
+    }
+
+    @Test
+    public void testIgnoreDoesNothingForAPlayerThatIsNotLoaded() throws Exception {
+        IgnoreHandler handler = new IgnoreHandler();
+        handler.ignore(this.a, this.b);
+
+        Assert.assertFalse(handler.isLoaded(this.a));
+        Assert.assertTrue(handler.getIgnoredBy(this.b).isEmpty());
+        assertConsistent(handler);
+    }
+
+    @Test
+    public void testUnloadRemovesFromBothMaps() throws Exception {
+        IgnoreHandler handler = new IgnoreHandler();
+        handler.load(this.a, Lists.newArrayList(this.c));
+        handler.load(this.b, Lists.newArrayList(this.c));
+
+        handler.unload(this.a);
+        Assert.assertFalse(handler.isLoaded(this.a));
+        Assert.assertEquals(ImmutableSet.of(this.b), handler.getIgnoredBy(this.c));
+        assertConsistent(handler);
+
+        handler.unload(this.b);
+        Assert.assertTrue(handler.getIgnoredBy(this.c).isEmpty());
+        assertConsistent(handler);
+    }
+
+    @Test
+    public void testLoadingAgainReplacesTheOldList() throws Exception {
+        IgnoreHandler handler = new IgnoreHandler();
+        handler.load(this.a, Lists.newArrayList(this.b));
+        handler.load(this.a, Lists.newArrayList(this.c));
+
+        Assert.assertTrue(handler.getIgnoredBy(this.b).isEmpty());
+        Assert.assertEquals(ImmutableSet.of(this.a), handler.getIgnoredBy(this.c));
+        assertConsistent(handler);
+    }
+
+    @Test
+    public void testRandomChangesKeepTheMapsConsistent() throws Exception {
+        List<UUID> players = Lists.newArrayList();
+        for (int i = 0; i < 8; i++) {
+            players.add(UUID.randomUUID());
+        }
+
+        IgnoreHandler handler = new IgnoreHandler();
+        Map<UUID, Set<UUID>> expected = Maps.newHashMap();
+        Random random = new Random(1234);
+        for (int i = 0; i < 5000; i++) {
+            UUID player = players.get(random.nextInt(players.size()));
+            UUID target = players.get(random.nextInt(players.size()));
+            switch (random.nextInt(4)) {
+                case 0:
+                    Set<UUID> list = Sets.newHashSet();
+                    players.stream().filter(x -> random.nextInt(4) == 0).forEach(list::add);
+                    handler.load(player, list);
+                    expected.put(player, list);
+                    break;
+                case 1:
+                    handler.unload(player);
+                    expected.remove(player);
+                    break;
+                case 2:
+                    handler.ignore(player, target);
+                    if (expected.containsKey(player)) {
+                        expected.get(player).add(target);
+                    }
+
+                    break;
+                default:
+                    handler.unignore(player, target);
+                    if (expected.containsKey(player)) {
+                        expected.get(player).remove(target);
+                    }
+
+                    break;
+            }
+
+            for (UUID p : players) {
+                Assert.assertEquals(expected.containsKey(p), handler.isLoaded(p));
+                for (UUID t : players) {
+                    Assert.assertEquals(expected.containsKey(p) && expected.get(p).contains(t), handler.isIgnoring(p, t));
+                }
+            }
+
+            assertConsistent(handler);
+        }
+    }
+
+    // Every entry in one map must be in the other, and the reverse map must not keep empty sets.
+    private static void assertConsistent(IgnoreHandler handler) throws Exception {
+        Map<UUID, Set<UUID>> ignoring = getMap(handler, "ignoring");
+        Map<UUID, Set<UUID>> ignoredBy = getMap(handler, "ignoredBy");
+
+        ignoring.forEach((player, targets) -> targets.forEach(target -> {
+            Assert.assertTrue(ignoredBy.containsKey(target));
+            Assert.assertTrue(ignoredBy.get(target).contains(player));
+        }));
+
+        ignoredBy.forEach((target, players) -> {
+            Assert.assertFalse(players.isEmpty());
+            players.forEach(player -> {
+                Assert.assertTrue(ignoring.containsKey(player));
+                Assert.assertTrue(ignoring.get(player).contains(target));
+            });
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<UUID, Set<UUID>> getMap(IgnoreHandler handler, String name) throws Exception {
+        Field field = IgnoreHandler.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return (Map<UUID, Set<UUID>>) field.get(handler);
+    }
+}
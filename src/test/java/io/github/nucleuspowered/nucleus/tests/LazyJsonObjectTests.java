@@ -0,0 +1,58 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.LazyJsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+public class LazyJsonObjectTests {
+
+    private static final String JSON = "{\n"
+            + "    \"homes\": {\n"
+            + "        \"home\": {\"x\": 1.5, \"s\": \"}],\\\"\"}\n"
+            + "    },\n"
+            + "    \"mail\": [1, 2, {\"m\": \"x,y\"}],\n"
+            + "    \"flag\": true,\n"
+            + "    \"k\\u0065y\": null\n"
+            + "}";
+
+    @Test
+    public void testTopLevelKeysAreIndexed() throws IOException {
+        Assert.assertEquals(Lists.newArrayList("homes", "mail", "flag", "key"), Lists.newArrayList(LazyJsonObject.parse(JSON).keys()));
+    }
+
+    @Test
+    public void testUntouchedObjectIsWrittenVerbatim() throws IOException {
+        Assert.assertEquals(JSON.replace("k\\u0065y", "key"), LazyJsonObject.parse(JSON).write("{}", Collections.emptySet()));
+    }
+
+    @Test
+    public void testMaterialisedKeysAreReplacedAddedAndRemoved() throws IOException {
+        String result = LazyJsonObject.parse(JSON).write("{\n  \"mail\": [],\n  \"new\": 1\n}", Lists.newArrayList("mail", "flag", "new"));
+        Assert.assertEquals("{\n"
+                + "    \"homes\": {\n"
+                + "        \"home\": {\"x\": 1.5, \"s\": \"}],\\\"\"}\n"
+                + "    },\n"
+                + "    \"mail\": [],\n"
+                + "    \"key\": null,\n"
+                + "    \"new\": 1\n"
+                + "}", result);
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedJsonIsRejected() throws IOException {
+        LazyJsonObject.parse("{\"mail\": [1, 2");
+    }
+
+    @Test(expected = IOException.class)
+    public void testNonObjectIsRejected() throws IOException {
+        LazyJsonObject.parse("[1, 2]");
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.modules.mail.data.MailData;
+import io.github.nucleuspowered.nucleus.modules.mail.data.MailJournal;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public class MailJournalTests {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private final UUID recipient = UUID.randomUUID();
+    private final UUID sender = UUID.randomUUID();
+    private MailJournal journal;
+
+    @Before
+    public void setup() {
+        this.journal = new MailJournal(() -> this.folder.getRoot().toPath());
+    }
+
+    @Test
+    public void testAnEmptyJournalHasNoMail() throws IOException {
+        MailJournal.Entries entries = this.journal.read(this.recipient, 0, 0);
+        Assert.assertTrue(entries.getMail().isEmpty());
+    }
+
+    @Test
+    public void testAppendedMailIsReadInOrder() throws IOException {
+        Instant date = Instant.ofEpochMilli(1234567890L);
+        this.journal.append(this.recipient, new MailData(this.sender, date, "first"));
+        this.journal.append(this.recipient, new MailData(this.sender, date, "second \u00e9"));
+
+        List<MailData> mail = this.journal.read(this.recipient, 0, 0).getMail();
+        Assert.assertEquals(2, mail.size());
+        Assert.assertEquals("first", mail.get(0).getMessage());
+        Assert.assertEquals("second \u00e9", mail.get(1).getMessage());
+        Assert.assertEquals(this.sender, mail.get(0).getUuid());
+        Assert.assertEquals(date, mail.get(0).getDate());
+    }
+
+    @Test
+    public void testMergedMailIsNotReadAgain() throws IOException {
+        this.journal.append(this.recipient, new MailData(this.sender, Instant.now(), "first"));
+        MailJournal.Entries merged = this.journal.read(this.recipient, 0, 0);
+        Assert.assertEquals(1, merged.getMail().size());
+
+        Assert.assertTrue(this.journal.read(this.recipient, merged.getId(), merged.getPosition()).getMail().isEmpty());
+
+        this.journal.append(this.recipient, new MailData(this.sender, Instant.now(), "second"));
+        List<MailData> mail = this.journal.read(this.recipient, merged.getId(), merged.getPosition()).getMail();
+        Assert.assertEquals(1, mail.size());
+        Assert.assertEquals("second", mail.get(0).getMessage());
+    }
+
+    @Test
+    public void testCompactingKeepsMailThatWasNotMerged() throws IOException {
+        this.journal.append(this.recipient, new MailData(this.sender, Instant.now(), "first"));
+        MailJournal.Entries merged = this.journal.read(this.recipient, 0, 0);
+        this.journal.append(this.recipient, new MailData(this.sender, Instant.now(), "second"));
+
+        this.journal.compact(this.recipient, merged.getId(), merged.getPosition());
+
+        // The journal has a new ID, so reading from the old merge point starts again from the beginning.
+        List<MailData> mail = this.journal.read(this.recipient, merged.getId(), merged.getPosition()).getMail();
+        Assert.assertEquals(1, mail.size());
+        Assert.assertEquals("second", mail.get(0).getMessage());
+    }
+
+    @Test
+    public void testCompactingEverythingRemovesTheJournal() throws IOException {
+        this.journal.append(this.recipient, new MailData(this.sender, Instant.now(), "first"));
+        MailJournal.Entries merged = this.journal.read(this.recipient, 0, 0);
+
+        this.journal.compact(this.recipient, merged.getId(), merged.getPosition());
+
+        Assert.assertTrue(this.journal.read(this.recipient, 0, 0).getMail().isEmpty());
+    }
+
+    @Test
+    public void testDeletingRemovesAllMail() throws IOException {
+        this.journal.append(this.recipient, new MailData(this.sender, Instant.now(), "first"));
+        this.journal.delete(this.recipient);
+
+        Assert.assertTrue(this.journal.read(this.recipient, 0, 0).getMail().isEmpty());
+
+        // Deleting a journal that doesn't exist is fine, and mail can be added afterwards.
+        this.journal.delete(this.recipient);
+        this.journal.append(this.recipient, new MailData(this.sender, Instant.now(), "second"));
+        Assert.assertEquals(1, this.journal.read(this.recipient, 0, 0).getMail().size());
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.UUID;
+
+public class PlayerNameIndexTests {
+
+    @Test
+    public void testNamesAreMatchedByPrefixIgnoringCase() {
+        PlayerNameIndex index = new PlayerNameIndex();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        index.setName(first, "Test");
+        index.setName(second, "testTest");
+        index.setName(UUID.randomUUID(), "other");
+
+        Assert.assertEquals(Lists.newArrayList(first, second), index.getNameMatches("TES"));
+        Assert.assertEquals(Lists.newArrayList(second), index.getNameMatches("testt"));
+        Assert.assertTrue(index.getNameMatches("blah").isEmpty());
+        Assert.assertEquals(3, index.getNameCount());
+    }
+
+    @Test
+    public void testWhenAPlayerChangesTheirNameTheOldNameNoLongerMatches() {
+        PlayerNameIndex index = new PlayerNameIndex();
+        UUID uuid = UUID.randomUUID();
+        index.setName(uuid, "test");
+        index.setName(uuid, "Other");
+
+        Assert.assertTrue(index.getNameMatches("tes").isEmpty());
+        Assert.assertEquals(1, index.getNameMatches("oth").size());
+        Assert.assertEquals("Other", index.getName(uuid).get());
+        Assert.assertEquals(1, index.getNameCount());
+    }
+
+    @Test
+    public void testPlayersCanShareANickname() {
+        PlayerNameIndex index = new PlayerNameIndex();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        index.setNickname(first, "Nick");
+        index.setNickname(second, "nick");
+
+        Assert.assertEquals(2, index.getExactNicknameMatches("NICK").size());
+
+        index.setNickname(first, "Other");
+        Assert.assertEquals(Lists.newArrayList(second), index.getExactNicknameMatches("nick"));
+        Assert.assertEquals(2, index.getNicknameCount());
+    }
+
+    @Test
+    public void testWhenANicknameIsRemovedItNoLongerMatches() {
+        PlayerNameIndex index = new PlayerNameIndex();
+        UUID uuid = UUID.randomUUID();
+        index.setNickname(uuid, "Nick");
+        Assert.assertEquals(1, index.getExactNicknameMatches("nick").size());
+
+        index.setNickname(uuid, null);
+        Assert.assertTrue(index.getNicknameMatches("n").isEmpty());
+        Assert.assertFalse(index.getNickname(uuid).isPresent());
+        Assert.assertEquals(0, index.getNicknameCount());
+    }
+}
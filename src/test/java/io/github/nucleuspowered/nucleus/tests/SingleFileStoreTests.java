@@ -0,0 +1,167 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.SingleFileStore;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class SingleFileStoreTests {
+
+    // The file header, and the key, length and checksum before each record.
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 24;
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+    private final UUID third = UUID.randomUUID();
+
+    @Test
+    public void testRecordsAreReadBackAfterReopening() throws IOException {
+        Path file = writeThreeRecords();
+        try (SingleFileStore store = open(file)) {
+            assertRecord(store, this.first, "first");
+            assertRecord(store, this.second, "second");
+            assertRecord(store, this.third, "third");
+        }
+    }
+
+    @Test
+    public void testATornRecordAtTheEndIsDiscarded() throws IOException {
+        Path file = writeThreeRecords();
+        long size = Files.size(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            // A header that says a longer record follows, then half of the record.
+            raf.seek(size);
+            raf.writeLong(this.first.getMostSignificantBits());
+            raf.writeLong(this.first.getLeastSignificantBits());
+            raf.writeInt(100);
+            raf.writeInt(0);
+            raf.write(new byte[50]);
+        }
+
+        try (SingleFileStore store = open(file)) {
+            Assert.assertEquals(size, Files.size(file));
+            assertRecord(store, this.first, "first");
+            assertRecord(store, this.third, "third");
+
+            // New records go where the torn one was.
+            store.write(this.first, bytes("updated"));
+        }
+
+        try (SingleFileStore store = open(file)) {
+            assertRecord(store, this.first, "updated");
+        }
+
+        Assert.assertEquals(0, countCorruptCopies(file));
+    }
+
+    @Test
+    public void testACorruptPayloadInTheMiddleOnlyLosesThatRecord() throws IOException {
+        Path file = writeThreeRecords();
+        long size = Files.size(file);
+        corrupt(file, FILE_HEADER_SIZE + RECORD_HEADER_SIZE + "first".length() + RECORD_HEADER_SIZE + 1);
+
+        try (SingleFileStore store = open(file)) {
+            Assert.assertEquals(size, Files.size(file));
+            assertRecord(store, this.first, "first");
+            Assert.assertFalse(store.contains(this.second));
+            assertRecord(store, this.third, "third");
+        }
+
+        Assert.assertEquals(1, countCorruptCopies(file));
+    }
+
+    @Test
+    public void testACorruptLengthInTheMiddleOnlyLosesThatRecord() throws IOException {
+        Path file = writeThreeRecords();
+        corrupt(file, FILE_HEADER_SIZE + RECORD_HEADER_SIZE + "first".length() + 16);
+
+        try (SingleFileStore store = open(file)) {
+            assertRecord(store, this.first, "first");
+            Assert.assertFalse(store.contains(this.second));
+            assertRecord(store, this.third, "third");
+        }
+
+        Assert.assertEquals(1, countCorruptCopies(file));
+    }
+
+    @Test
+    public void testCompactionKeepsTheCurrentRecords() throws IOException {
+        Path file = writeThreeRecords();
+        try (SingleFileStore store = open(file)) {
+            store.write(this.first, bytes("first again"));
+            store.delete(this.second);
+            store.compact();
+
+            assertRecord(store, this.first, "first again");
+            Assert.assertFalse(store.contains(this.second));
+            assertRecord(store, this.third, "third");
+
+            store.write(this.second, bytes("second again"));
+        }
+
+        try (SingleFileStore store = open(file)) {
+            Assert.assertEquals(3, store.size());
+            assertRecord(store, this.first, "first again");
+            assertRecord(store, this.second, "second again");
+            assertRecord(store, this.third, "third");
+        }
+    }
+
+    private Path writeThreeRecords() throws IOException {
+        Path file = this.folder.getRoot().toPath().resolve("store.dat");
+        try (SingleFileStore store = open(file)) {
+            store.write(this.first, bytes("first"));
+            store.write(this.second, bytes("second"));
+            store.write(this.third, bytes("third"));
+        }
+
+        return file;
+    }
+
+    private static SingleFileStore open(Path file) throws IOException {
+        return new SingleFileStore(file, NOPLogger.NOP_LOGGER);
+    }
+
+    private static void corrupt(Path file, long position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(position);
+            int b = raf.read();
+            raf.seek(position);
+            raf.write(b ^ 0x5A);
+        }
+    }
+
+    private static long countCorruptCopies(Path file) throws IOException {
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            return files.filter(x -> x.getFileName().toString().startsWith(file.getFileName() + ".corrupt-")).count();
+        }
+    }
+
+    private static void assertRecord(SingleFileStore store, UUID uuid, String expected) throws IOException {
+        Optional<byte[]> payload = store.read(uuid);
+        Assert.assertTrue(payload.isPresent());
+        Assert.assertEquals(expected, new String(payload.get(), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -9,10 +9,12 @@ import io.github.nucleuspowered.nucleus.NameUtil;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.config.CommandsConfig;
+import io.github.nucleuspowered.nucleus.dataservices.CooldownService;
 import io.github.nucleuspowered.nucleus.dataservices.ItemDataService;
 import io.github.nucleuspowered.nucleus.dataservices.KitService;
 import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
 import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.WorldDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
@@ -20,10 +22,12 @@ import io.github.nucleuspowered.nucleus.internal.EconHelper;
 import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
 import io.github.nucleuspowered.nucleus.internal.MixinConfigProxy;
 import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
 import io.github.nucleuspowered.nucleus.internal.TextFileController;
 import io.github.nucleuspowered.nucleus.internal.docgen.DocGenCache;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.messages.ResourceMessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.PermissionCache;
 import io.github.nucleuspowered.nucleus.internal.qsml.NucleusConfigAdapter;
 import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import io.github.nucleuspowered.nucleus.internal.teleport.NucleusTeleportHandler;
@@ -98,6 +102,8 @@ public abstract class TestBase {
 
         private final MessageProvider mp = new ResourceMessageProvider(ResourceMessageProvider.messagesBundle);
         private final PermissionRegistry permissionRegistry = new PermissionRegistry();
+        private final PermissionCache permissionCache = new PermissionCache();
+        private final PlayerNameIndex playerNameIndex = new PlayerNameIndex();
 
         @Override
         public void saveData() {
@@ -125,6 +131,10 @@ public abstract class TestBase {
             return null;
         }
 
+        @Override public DataProviders getDataProviders() {
+            return null;
+        }
+
         @Override
         public UserDataManager getUserDataManager() {
             return null;
@@ -209,6 +219,16 @@ public abstract class TestBase {
             return null;
         }
 
+        @Override
+        public PermissionCache getPermissionCache() {
+            return permissionCache;
+        }
+
+        @Override
+        public PlayerNameIndex getPlayerNameIndex() {
+            return playerNameIndex;
+        }
+
         public TextParsingUtils getTextParsingUtils() {
             return null;
         }
@@ -269,6 +289,10 @@ public abstract class TestBase {
             return null;
         }
 
+        @Override public CooldownService getCooldownService() {
+            return null;
+        }
+
         @Override public CommandsConfig getCommandsConfig() {
             return null;
         }
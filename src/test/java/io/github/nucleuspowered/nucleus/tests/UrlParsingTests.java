@@ -0,0 +1,132 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.text.LiteralText;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextStyle;
+import org.spongepowered.api.text.format.TextStyles;
+import org.spongepowered.api.text.serializer.TextSerializers;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checks that {@link TextParsingUtils#addUrls(String)} builds the same {@link Text} as the implementation that split
+ * the message on each URL that it found.
+ */
+public class UrlParsingTests extends TestBase {
+
+    private static final String[] PARTS = {
+            "hello", "please", "visit", " ", " ", " ", "  ", ",", ".", ":", "&c", "&r", "&l", "&k&c", "&r&a", "{h}",
+            "http://nucleuspowered.org", "https://google.com", "nucleuspowered.org/docs", "www.example.co.uk/a?b=c",
+            "https://docs.spongepowered.org/stable/en/", "a.b", "test:nucleuspowered.org", "1.2.3.4"
+    };
+
+    private static Pattern urlParser;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        TestBase.testSetup();
+
+        // Keep the text, so that each part of the message can be told apart.
+        Mockito.when(TextSerializers.FORMATTING_CODE.deserialize(Mockito.anyString()))
+                .thenAnswer(x -> Text.of((String) x.getArguments()[0]));
+        Mockito.when(TextSerializers.FORMATTING_CODE.stripCodes(Mockito.anyString())).thenAnswer(x -> x.getArguments()[0]);
+
+        Field parser = TextParsingUtils.class.getDeclaredField("urlParser");
+        parser.setAccessible(true);
+        urlParser = (Pattern) parser.get(null);
+    }
+
+    @Test
+    public void testAddUrlsMatchesSplittingOnEachUrl() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int parts = random.nextInt(12);
+            for (int j = 0; j < parts; j++) {
+                sb.append(PARTS[random.nextInt(PARTS.length)]);
+                if (random.nextBoolean()) {
+                    sb.append(' ');
+                }
+            }
+
+            String message = sb.toString();
+            Assert.assertEquals(message, describe(addUrlsBySplitting(message)), describe(TextParsingUtils.addUrls(message)));
+        }
+    }
+
+    // The Text equality check compares URLs, which resolves their hosts, so compare them as strings.
+    private static List<Object> describe(Text text) {
+        List<Object> result = Lists.newArrayList();
+        result.add(text.getClass());
+        result.add(text instanceof LiteralText ? ((LiteralText) text).getContent() : null);
+        result.add(System.identityHashCode(text.getColor()));
+        result.add(text.getStyle());
+        result.add(text.getClickAction().map(x -> String.valueOf(x.getResult())).orElse(null));
+        result.add(text.getHoverAction().map(x -> x.getResult() instanceof Text ? describe((Text) x.getResult()) : x.getResult()).orElse(null));
+        text.getChildren().forEach(x -> result.add(describe(x)));
+        return result;
+    }
+
+    // How URLs were found before TextParsingUtils#addUrls used a single pass over the message.
+    private static Text addUrlsBySplitting(String message) {
+        if (message == null || message.isEmpty()) {
+            return Text.EMPTY;
+        }
+
+        Matcher m = urlParser.matcher(message);
+        if (!m.find()) {
+            return TextSerializers.FORMATTING_CODE.deserialize(message);
+        }
+
+        List<Text> texts = Lists.newArrayList();
+        String remaining = message;
+        TextParsingUtils.StyleTuple st = TextParsingUtils.EMPTY;
+        do {
+            String[] textArray = remaining.split(urlParser.pattern(), 2);
+            Text first = Text.builder().color(st.colour).style(st.style)
+                    .append(TextSerializers.FORMATTING_CODE.deserialize(textArray[0])).build();
+            texts.add(first);
+            if (textArray.length == 2) {
+                remaining = textArray[1];
+            } else {
+                remaining = null;
+            }
+
+            String colourMatch = m.group("colour");
+            if (colourMatch != null && !colourMatch.isEmpty()) {
+                TextStyle reset = TextStyles.NONE;
+                if (m.group("reset") != null) {
+                    reset = TextStyles.RESET;
+                }
+
+                first = Text.of(reset, TextSerializers.FORMATTING_CODE.deserialize(m.group("colour") + " "));
+            }
+
+            st = TextParsingUtils.getLastColourAndStyle(first, st);
+            String whiteSpace = m.group("first");
+            String url = m.group("url");
+            texts.add(TextParsingUtils.getTextForUrl(url, url, whiteSpace, st, m.group("options")));
+        } while (remaining != null && m.find());
+
+        if (remaining != null) {
+            texts.add(Text.builder().color(st.colour).style(st.style)
+                    .append(TextSerializers.FORMATTING_CODE.deserialize(remaining)).build());
+        }
+
+        return Text.join(texts);
+    }
+}
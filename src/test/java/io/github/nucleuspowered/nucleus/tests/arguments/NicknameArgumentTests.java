@@ -4,8 +4,8 @@
  */
 package io.github.nucleuspowered.nucleus.tests.arguments;
 
-import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.argumentparsers.NicknameArgument;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
 import io.github.nucleuspowered.nucleus.tests.TestBase;
 import org.junit.Assert;
 import org.junit.Test;
@@ -14,12 +14,12 @@ import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.ArgumentParseException;
 import org.spongepowered.api.command.args.CommandArgs;
 import org.spongepowered.api.entity.living.player.User;
-import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.user.UserStorageService;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public class NicknameArgumentTests extends TestBase {
 
@@ -51,31 +51,33 @@ public class NicknameArgumentTests extends TestBase {
     }
 
     private NicknameArgument.UserParser getParser() {
-        // Setup the mock UserStorageService
-        UserStorageService mockUss = getMockUserStorageService();
+        // Setup the mock UserStorageService and the name index
+        PlayerNameIndex index = new PlayerNameIndex();
+        UserStorageService mockUss = getMockUserStorageService(index);
 
         // We're testing the UserParser
-        return new NicknameArgument.UserParser(false, () -> mockUss);
+        return new NicknameArgument.UserParser(false, () -> mockUss, () -> index);
     }
 
-    private UserStorageService getMockUserStorageService() {
-        GameProfile gp1 = Mockito.mock(GameProfile.class);
-        GameProfile gp2 = Mockito.mock(GameProfile.class);
-        Mockito.when(gp1.getName()).thenReturn(Optional.of("test"));
-        Mockito.when(gp2.getName()).thenReturn(Optional.of("testtest"));
+    private UserStorageService getMockUserStorageService(PlayerNameIndex index) {
+        UUID uuid1 = UUID.randomUUID();
+        UUID uuid2 = UUID.randomUUID();
+        index.setName(uuid1, "test");
+        index.setName(uuid2, "testtest");
 
         UserStorageService mockUss = Mockito.mock(UserStorageService.class);
-        Mockito.when(mockUss.getAll()).thenReturn(Lists.newArrayList(gp1, gp2));
 
         User u1 = Mockito.mock(User.class);
-        Mockito.when(u1.getName()).thenAnswer(g -> gp1.getName().get());
+        Mockito.when(u1.getName()).thenReturn("test");
+        Mockito.when(u1.getUniqueId()).thenReturn(uuid1);
         Mockito.when(u1.getPlayer()).thenAnswer(g -> Optional.empty());
         User u2 = Mockito.mock(User.class);
-        Mockito.when(u2.getName()).thenAnswer(g -> gp2.getName().get());
+        Mockito.when(u2.getName()).thenReturn("testtest");
+        Mockito.when(u2.getUniqueId()).thenReturn(uuid2);
         Mockito.when(u2.getPlayer()).thenAnswer(g -> Optional.empty());
 
-        Mockito.when(mockUss.get(gp1)).thenReturn(Optional.of(u1));
-        Mockito.when(mockUss.get(gp2)).thenReturn(Optional.of(u2));
+        Mockito.when(mockUss.get(uuid1)).thenReturn(Optional.of(u1));
+        Mockito.when(mockUss.get(uuid2)).thenReturn(Optional.of(u2));
         return mockUss;
     }
 